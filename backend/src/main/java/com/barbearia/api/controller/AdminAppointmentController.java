@@ -1,23 +1,37 @@
 package com.barbearia.api.controller;
 
 import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.dto.ImportDTO;
 import com.barbearia.application.dto.NotificationDTO;
+import com.barbearia.application.dto.SyncDTO;
+import com.barbearia.application.service.AppointmentImportService;
 import com.barbearia.application.service.AppointmentService;
+import com.barbearia.application.service.BookingEngine;
+import com.barbearia.application.service.CalendarSyncService;
+import com.barbearia.domain.enums.AppointmentStatus;
+import com.barbearia.infrastructure.idempotency.IdempotencyService;
 import com.barbearia.infrastructure.notification.NotificationService;
+import com.barbearia.infrastructure.realtime.AdminCalendarStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -28,7 +42,12 @@ import java.util.UUID;
 public class AdminAppointmentController {
 
     private final AppointmentService appointmentService;
+    private final BookingEngine bookingEngine;
     private final NotificationService notificationService;
+    private final IdempotencyService idempotencyService;
+    private final AdminCalendarStream calendarStream;
+    private final CalendarSyncService calendarSyncService;
+    private final AppointmentImportService appointmentImportService;
 
     @GetMapping
     @Operation(summary = "Buscar agendamentos por período")
@@ -39,6 +58,76 @@ public class AdminAppointmentController {
         return ResponseEntity.ok(appointmentService.getCalendarEvents(startDate, endDate, barberId));
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Pesquisar agendamentos",
+            description = "Filtros opcionais por status, barbeiro, serviço, início do telefone/nome do cliente e período. " +
+                    "Paginado por cursor (máx. 200 por página); repita com nextCursor enquanto hasMore for verdadeiro")
+    public ResponseEntity<AppointmentDTO.SearchPage> search(
+            @RequestParam(required = false) Set<AppointmentStatus> status,
+            @RequestParam(required = false) UUID barberId,
+            @RequestParam(required = false) UUID serviceId,
+            @RequestParam(required = false) String clientPhone,
+            @RequestParam(required = false) String clientName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(appointmentService.search(status, barberId, serviceId, clientPhone, clientName,
+                startDate, endDate, cursor, limit));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Sincronização incremental",
+            description = "Retorna agendamentos e bloqueios alterados e exclusões após o cursor, em ordem. " +
+                    "Sem cursor retorna tudo desde o início; repita com nextCursor enquanto hasMore for verdadeiro")
+    public ResponseEntity<SyncDTO.ChangesPage> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) UUID barberId,
+            @RequestParam(defaultValue = "200") int limit) {
+        return ResponseEntity.ok(calendarSyncService.getChanges(since, barberId, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar mudanças do calendário",
+            description = "Stream SSE com os agendamentos criados, alterados e cancelados após o carregamento inicial. " +
+                    "Ao reconectar, envie Last-Event-ID para receber os eventos perdidos; evento reset indica que o período deve ser recarregado")
+    public SseEmitter streamCalendar(
+            @RequestParam(required = false) UUID barberId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return calendarStream.subscribe(barberId, lastEventId);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Importar agendamentos (CSV)",
+            description = "Carga em lote de agendamentos históricos, sem notificações. Colunas: barbeiro (email ou nome), " +
+                    "servico, cliente, telefone, inicio e opcionais email, fim, status, valor, observacoes. " +
+                    "Use dryRun=true para apenas validar")
+    public ResponseEntity<ImportDTO.Result> importAppointments(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(appointmentImportService.importCsv(input, file.getOriginalFilename(), dryRun,
+                    userDetails.getUsername()));
+        }
+    }
+
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Cancelar ou mover agendamentos em lote",
+            description = "Aplica a ação a todos os agendamentos ativos do barbeiro no período (máx. 500). " +
+                    "CANCEL cancela todos; MOVE desloca em shiftMinutes e/ou passa para targetBarberId, " +
+                    "mantendo como estão os que colidirem com a agenda de destino. Retorna o resultado por agendamento")
+    public ResponseEntity<AppointmentDTO.BulkResult> bulk(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody AppointmentDTO.BulkRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return idempotencyService.execute(idempotencyKey, userDetails.getUsername(),
+                "POST /api/admin/appointments/bulk", request, HttpStatus.OK, AppointmentDTO.BulkResult.class,
+                () -> bookingEngine.bulkUpdate(request, userDetails.getUsername()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar agendamento por ID")
     public ResponseEntity<AppointmentDTO.Response> getById(@PathVariable UUID id) {
@@ -48,43 +137,57 @@ public class AdminAppointmentController {
     @PostMapping
     @Operation(summary = "Criar agendamento manualmente")
     public ResponseEntity<AppointmentDTO.Response> create(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody AppointmentDTO.AdminCreateRequest request,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(appointmentService.createAdmin(request, userDetails.getUsername()));
+        return idempotencyService.execute(idempotencyKey, userDetails.getUsername(),
+                "POST /api/admin/appointments", request, HttpStatus.CREATED, AppointmentDTO.Response.class,
+                () -> bookingEngine.createAdmin(request, userDetails.getUsername()));
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar agendamento")
     public ResponseEntity<AppointmentDTO.Response> update(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable UUID id,
             @Valid @RequestBody AppointmentDTO.UpdateRequest request,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(appointmentService.update(id, request, userDetails.getUsername()));
+        return idempotencyService.execute(idempotencyKey, userDetails.getUsername(),
+                "PUT /api/admin/appointments/" + id, request, HttpStatus.OK, AppointmentDTO.Response.class,
+                () -> bookingEngine.update(id, request, userDetails.getUsername()));
     }
 
     @PostMapping("/{id}/cancel")
     @Operation(summary = "Cancelar agendamento")
     public ResponseEntity<AppointmentDTO.Response> cancel(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable UUID id,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(appointmentService.cancelByAdmin(id, userDetails.getUsername()));
+        return idempotencyService.execute(idempotencyKey, userDetails.getUsername(),
+                "POST /api/admin/appointments/" + id + "/cancel", null, HttpStatus.OK, AppointmentDTO.Response.class,
+                () -> bookingEngine.cancelByAdmin(id, userDetails.getUsername()));
     }
 
     @PostMapping("/{id}/complete")
     @Operation(summary = "Marcar como concluído")
     public ResponseEntity<AppointmentDTO.Response> complete(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable UUID id,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(appointmentService.markAsCompleted(id, userDetails.getUsername()));
+        return idempotencyService.execute(idempotencyKey, userDetails.getUsername(),
+                "POST /api/admin/appointments/" + id + "/complete", null, HttpStatus.OK, AppointmentDTO.Response.class,
+                () -> bookingEngine.markAsCompleted(id, userDetails.getUsername()));
     }
 
     @PostMapping("/{id}/no-show")
     @Operation(summary = "Marcar como no-show")
     public ResponseEntity<AppointmentDTO.Response> noShow(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable UUID id,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(appointmentService.markAsNoShow(id, userDetails.getUsername()));
+        return idempotencyService.execute(idempotencyKey, userDetails.getUsername(),
+                "POST /api/admin/appointments/" + id + "/no-show", null, HttpStatus.OK, AppointmentDTO.Response.class,
+                () -> bookingEngine.markAsNoShow(id, userDetails.getUsername()));
     }
 
     @GetMapping("/{id}/notifications")
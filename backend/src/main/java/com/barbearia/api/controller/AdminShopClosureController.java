@@ -0,0 +1,50 @@
+package com.barbearia.api.controller;
+
+import com.barbearia.application.dto.ShopClosureDTO;
+import com.barbearia.application.service.ShopClosureService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/closures")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'BARBER')")
+@Tag(name = "Fechamentos (Admin)", description = "Feriados e fechamentos da barbearia")
+public class AdminShopClosureController {
+
+    private final ShopClosureService shopClosureService;
+
+    @GetMapping
+    @Operation(summary = "Listar fechamentos por período")
+    public ResponseEntity<List<ShopClosureDTO.Response>> getByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(shopClosureService.findByDateRange(startDate, endDate));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Fechar a barbearia em um período")
+    public ResponseEntity<ShopClosureDTO.Response> create(@Valid @RequestBody ShopClosureDTO.Request request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(shopClosureService.create(request));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Excluir fechamento")
+    public ResponseEntity<Void> delete(@PathVariable UUID id) {
+        shopClosureService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
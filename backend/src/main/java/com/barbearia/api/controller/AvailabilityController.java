@@ -2,12 +2,25 @@ package com.barbearia.api.controller;
 
 import com.barbearia.application.dto.AvailabilityDTO;
 import com.barbearia.application.service.AvailabilityService;
+import com.barbearia.infrastructure.cache.ScheduleVersionRegistry;
+import com.barbearia.infrastructure.realtime.AvailabilityStreamHub;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,26 +32,146 @@ import java.util.UUID;
 @Tag(name = "Disponibilidade", description = "Consulta de horários disponíveis")
 public class AvailabilityController {
 
+    public static final String COMPACT_MEDIA_TYPE = "application/vnd.barbearia.availability-compact+json";
+
     private final AvailabilityService availabilityService;
+    private final ScheduleVersionRegistry scheduleVersions;
+    private final ObjectMapper objectMapper;
+    private final AvailabilityStreamHub availabilityStream;
 
     @GetMapping("/slots")
     @Operation(summary = "Buscar horários disponíveis",
-            description = "Retorna os slots disponíveis para uma data específica")
-    public ResponseEntity<List<AvailabilityDTO.TimeSlot>> getAvailableSlots(
+            description = "Retorna os slots disponíveis para uma data específica. " +
+                    "Use format=compact ou Accept: " + COMPACT_MEDIA_TYPE + " para receber bitmaps por barbeiro")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = AvailabilityDTO.TimeSlot.class))),
+            @Content(mediaType = COMPACT_MEDIA_TYPE,
+                    array = @ArraySchema(schema = @Schema(implementation = AvailabilityDTO.CompactDay.class)))})
+    public ResponseEntity<byte[]> getAvailableSlots(
+            @RequestParam UUID serviceId,
+            @RequestParam(required = false) UUID barberId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        boolean compact = isCompact(format, accept);
+        String etag = scheduleVersions.availabilityTag(barberId, date, date, compact ? "slots-compact" : "slots");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        if (compact) {
+            return compact(availabilityService.getCompactDay(serviceId, barberId, date), etag);
+        }
+        return json(availabilityService.getAvailableSlots(serviceId, barberId, date), etag);
+    }
+
+    @GetMapping("/next")
+    @Operation(summary = "Próximos horários disponíveis",
+            description = "Retorna os próximos horários livres a partir de agora, com qualquer barbeiro ou um específico")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = AvailabilityDTO.TimeSlot.class))))
+    public ResponseEntity<byte[]> getNextAvailableSlots(
             @RequestParam UUID serviceId,
             @RequestParam(required = false) UUID barberId,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(availabilityService.getAvailableSlots(serviceId, barberId, date));
+            @RequestParam(defaultValue = "5") int count,
+            WebRequest webRequest) {
+        String etag = scheduleVersions.availabilityTagFromToday(barberId, "next");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return json(availabilityService.getNextAvailableSlots(serviceId, barberId, count), etag);
+    }
+
+    @GetMapping("/range")
+    @Operation(summary = "Buscar horários de vários dias",
+            description = "Retorna os slots agrupados por dia a partir de startDate (até 14 dias)")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = AvailabilityDTO.DayAvailability.class))),
+            @Content(mediaType = COMPACT_MEDIA_TYPE,
+                    array = @ArraySchema(schema = @Schema(implementation = AvailabilityDTO.CompactDay.class)))})
+    public ResponseEntity<byte[]> getRangeAvailability(
+            @RequestParam UUID serviceId,
+            @RequestParam(required = false) UUID barberId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        boolean compact = isCompact(format, accept);
+        // Cobre os mesmos dias que o serviço devolve depois de trazer o início para hoje
+        LocalDate from = startDate.isBefore(LocalDate.now()) ? LocalDate.now() : startDate;
+        LocalDate to = from.plusDays(Math.min(Math.max(days, 1), AvailabilityService.MAX_RANGE_DAYS) - 1L);
+        String etag = scheduleVersions.availabilityTag(barberId, from, to, compact ? "range-compact" : "range");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        if (compact) {
+            return compact(availabilityService.getCompactAvailability(serviceId, barberId, startDate, days), etag);
+        }
+        return json(availabilityService.getRangeAvailability(serviceId, barberId, startDate, days), etag);
     }
 
     @GetMapping("/month")
     @Operation(summary = "Buscar disponibilidade do mês",
             description = "Retorna quais dias têm horários disponíveis no mês")
-    public ResponseEntity<List<AvailabilityDTO.DayAvailability>> getMonthAvailability(
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = AvailabilityDTO.DayAvailability.class))))
+    public ResponseEntity<byte[]> getMonthAvailability(
             @RequestParam UUID serviceId,
             @RequestParam(required = false) UUID barberId,
             @RequestParam int year,
-            @RequestParam int month) {
-        return ResponseEntity.ok(availabilityService.getMonthAvailability(serviceId, barberId, year, month));
+            @RequestParam int month,
+            WebRequest webRequest) {
+        LocalDate firstDay = LocalDate.of(year, month, 1);
+        String etag = scheduleVersions.availabilityTag(barberId, firstDay,
+                firstDay.plusMonths(1).minusDays(1), "month");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return json(availabilityService.getMonthAvailability(serviceId, barberId, year, month), etag);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar mudanças de disponibilidade",
+            description = "Stream SSE com os intervalos ocupados ou liberados no dia (evento availability). " +
+                    "Evento refresh indica que a agenda inteira deve ser recarregada")
+    public SseEmitter streamAvailability(
+            @RequestParam(required = false) UUID barberId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            HttpServletRequest httpRequest) {
+        // Limite por IP, como nas reservas temporárias
+        return availabilityStream.subscribe(barberId, date != null ? date : LocalDate.now(),
+                httpRequest.getRemoteAddr());
+    }
+
+    private boolean isCompact(String format, String accept) {
+        return "compact".equalsIgnoreCase(format) || (accept != null && accept.contains(COMPACT_MEDIA_TYPE));
+    }
+
+    private ResponseEntity<byte[]> json(Object body, String etag) {
+        return respond(body, MediaType.APPLICATION_JSON, etag);
+    }
+
+    private ResponseEntity<byte[]> compact(List<AvailabilityDTO.CompactDay> days, String etag) {
+        return respond(days, MediaType.parseMediaType(COMPACT_MEDIA_TYPE), etag);
+    }
+
+    // O ETag já foi conferido antes do cálculo; aqui só serializa o corpo com ele
+    private ResponseEntity<byte[]> respond(Object body, MediaType contentType, String etag) {
+        try {
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .contentType(contentType)
+                    .body(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize availability", e);
+        }
     }
 }
@@ -1,9 +1,15 @@
 package com.barbearia.api.controller;
 
 import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.dto.SlotHoldDTO;
+import com.barbearia.application.dto.WaitlistDTO;
 import com.barbearia.application.service.AppointmentService;
+import com.barbearia.application.service.BookingEngine;
+import com.barbearia.application.service.WaitlistService;
+import com.barbearia.infrastructure.idempotency.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,13 +23,55 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final AppointmentService appointmentService;
+    private final BookingEngine bookingEngine;
+    private final IdempotencyService idempotencyService;
+    private final WaitlistService waitlistService;
 
     @PostMapping
     @Operation(summary = "Criar agendamento", description = "Cria um novo agendamento pelo cliente")
     public ResponseEntity<AppointmentDTO.Response> createBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody AppointmentDTO.PublicCreateRequest request) {
+        return idempotencyService.execute(idempotencyKey, "public", "POST /api/booking", request,
+                HttpStatus.CREATED, AppointmentDTO.Response.class,
+                () -> bookingEngine.createPublic(request));
+    }
+
+    @PostMapping("/holds")
+    @Operation(summary = "Reservar horário temporariamente",
+            description = "Segura o horário por alguns minutos enquanto o cliente conclui o agendamento")
+    public ResponseEntity<SlotHoldDTO.Response> holdSlot(@Valid @RequestBody SlotHoldDTO.Request request,
+                                                         HttpServletRequest httpRequest) {
+        // Limite por IP; atrás de proxy depende de server.forward-headers-strategy
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(appointmentService.createPublic(request));
+                .body(appointmentService.holdSlot(request, httpRequest.getRemoteAddr()));
+    }
+
+    @DeleteMapping("/holds/{holdToken}")
+    @Operation(summary = "Liberar reserva temporária")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdToken) {
+        appointmentService.releaseHold(holdToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/waitlist")
+    @Operation(summary = "Entrar na lista de espera",
+            description = "Quando um horário compatível for liberado, o cliente recebe por email uma reserva temporária dele")
+    public ResponseEntity<WaitlistDTO.Response> joinWaitlist(@Valid @RequestBody WaitlistDTO.Request request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(request));
+    }
+
+    @GetMapping("/waitlist/{token}")
+    @Operation(summary = "Consultar inscrição na lista de espera",
+            description = "Retorna a situação da inscrição e a oferta em aberto, se houver")
+    public ResponseEntity<WaitlistDTO.Response> getWaitlistEntry(@PathVariable String token) {
+        return ResponseEntity.ok(waitlistService.findByToken(token));
+    }
+
+    @DeleteMapping("/waitlist/{token}")
+    @Operation(summary = "Sair da lista de espera", description = "Libera também a oferta em aberto, se houver")
+    public ResponseEntity<WaitlistDTO.Response> leaveWaitlist(@PathVariable String token) {
+        return ResponseEntity.ok(waitlistService.leave(token));
     }
 
     @GetMapping("/{token}")
@@ -36,7 +84,7 @@ public class BookingController {
     @PostMapping("/{token}/cancel")
     @Operation(summary = "Cancelar agendamento", description = "Cancela um agendamento pelo cliente")
     public ResponseEntity<AppointmentDTO.PublicResponse> cancelBooking(@PathVariable String token) {
-        return ResponseEntity.ok(appointmentService.cancelByClient(token));
+        return ResponseEntity.ok(bookingEngine.cancelByClient(token));
     }
 
     @PostMapping("/{token}/reschedule")
@@ -44,6 +92,6 @@ public class BookingController {
     public ResponseEntity<AppointmentDTO.PublicResponse> rescheduleBooking(
             @PathVariable String token,
             @Valid @RequestBody AppointmentDTO.RescheduleRequest request) {
-        return ResponseEntity.ok(appointmentService.rescheduleByClient(token, request));
+        return ResponseEntity.ok(bookingEngine.rescheduleByClient(token, request));
     }
 }
@@ -0,0 +1,50 @@
+package com.barbearia.api.controller;
+
+import com.barbearia.application.service.PublicCatalogService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+// Resposta dos catálogos públicos a partir dos bytes já serializados: 304 pelo ETag,
+// ou o corpo em gzip quando o cliente aceita, sem passar pelo Jackson
+final class CatalogResponses {
+
+    private CatalogResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(PublicCatalogService.RenderedCatalog catalog, Duration maxAge,
+                                     WebRequest webRequest) {
+        boolean gzipped = acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = catalog.etag(gzipped);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalog.gzip());
+        }
+        return response.body(catalog.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (tokens[0].trim().equalsIgnoreCase("gzip")) {
+                return tokens.length < 2 || !tokens[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
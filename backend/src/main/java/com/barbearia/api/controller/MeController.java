@@ -4,6 +4,7 @@ import com.barbearia.application.dto.AppointmentDTO;
 import com.barbearia.application.dto.UserDTO;
 import com.barbearia.application.dto.WorkingHoursDTO;
 import com.barbearia.application.service.AppointmentService;
+import com.barbearia.application.service.CalendarFeedService;
 import com.barbearia.application.service.UserService;
 import com.barbearia.application.service.WorkingHoursService;
 import com.barbearia.domain.entity.User;
@@ -16,6 +17,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -29,6 +31,7 @@ public class MeController {
     private final UserService userService;
     private final WorkingHoursService workingHoursService;
     private final AppointmentService appointmentService;
+    private final CalendarFeedService calendarFeedService;
 
     @GetMapping
     @Operation(summary = "Obter perfil", description = "Retorna os dados do usuário logado")
@@ -80,4 +83,19 @@ public class MeController {
         User user = userService.findByEmail(userDetails.getUsername());
         return ResponseEntity.ok(appointmentService.getUpcoming(user.getId()));
     }
+
+    @GetMapping("/calendar-feed")
+    @Operation(summary = "Link da agenda (iCalendar)",
+            description = "Retorna o endereço do feed ICS do barbeiro logado para assinar no celular")
+    public ResponseEntity<UserDTO.CalendarFeedResponse> getCalendarFeed(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = userService.findByEmail(userDetails.getUsername());
+        String token = calendarFeedService.feedToken(user.getId());
+        String url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/public/barbers/{id}/calendar.ics")
+                .queryParam("token", token)
+                .buildAndExpand(user.getId())
+                .toUriString();
+        return ResponseEntity.ok(UserDTO.CalendarFeedResponse.builder().token(token).url(url).build());
+    }
 }
@@ -1,14 +1,21 @@
 package com.barbearia.api.controller;
 
 import com.barbearia.application.dto.UserDTO;
-import com.barbearia.application.service.UserService;
+import com.barbearia.application.service.CalendarFeedService;
+import com.barbearia.application.service.PublicCatalogService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/public/barbers")
@@ -16,11 +23,35 @@ import java.util.List;
 @Tag(name = "Barbeiros (Público)", description = "Listagem pública de barbeiros")
 public class PublicBarberController {
 
-    private final UserService userService;
+    public static final String CALENDAR_MEDIA_TYPE = "text/calendar;charset=UTF-8";
 
-    @GetMapping
+    private final PublicCatalogService publicCatalogService;
+    private final CalendarFeedService calendarFeedService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Listar barbeiros ativos", description = "Retorna todos os barbeiros disponíveis")
-    public ResponseEntity<List<UserDTO.PublicBarberResponse>> listBarbers() {
-        return ResponseEntity.ok(userService.findActiveBarbers());
+    @ApiResponse(responseCode = "200", content = @Content(
+            array = @ArraySchema(schema = @Schema(implementation = UserDTO.PublicBarberResponse.class))))
+    public ResponseEntity<byte[]> listBarbers(WebRequest webRequest) {
+        return CatalogResponses.of(publicCatalogService.getBarbers(), publicCatalogService.maxAge(), webRequest);
+    }
+
+    @GetMapping(value = "/{id}/calendar.ics", produces = CALENDAR_MEDIA_TYPE)
+    @Operation(summary = "Agenda do barbeiro (iCalendar)",
+            description = "Feed ICS para assinatura em aplicativos de calendário. Requer o token de /api/admin/me/calendar-feed")
+    public ResponseEntity<byte[]> getCalendarFeed(
+            @PathVariable UUID id,
+            @RequestParam String token,
+            WebRequest webRequest) {
+        CalendarFeedService.RenderedFeed feed = calendarFeedService.getFeed(id, token);
+        if (webRequest.checkNotModified(feed.etag(), feed.lastModified())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(feed.etag())
+                .lastModified(feed.lastModified())
+                .contentType(MediaType.parseMediaType(CALENDAR_MEDIA_TYPE))
+                .body(feed.body());
     }
 }
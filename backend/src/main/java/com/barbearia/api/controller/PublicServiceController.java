@@ -1,14 +1,18 @@
 package com.barbearia.api.controller;
 
 import com.barbearia.application.dto.ServiceDTO;
-import com.barbearia.application.service.ServiceService;
+import com.barbearia.application.service.PublicCatalogService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/public/services")
@@ -16,11 +20,13 @@ import java.util.List;
 @Tag(name = "Serviços (Público)", description = "Listagem pública de serviços")
 public class PublicServiceController {
 
-    private final ServiceService serviceService;
+    private final PublicCatalogService publicCatalogService;
 
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Listar serviços ativos", description = "Retorna todos os serviços disponíveis para agendamento")
-    public ResponseEntity<List<ServiceDTO.PublicResponse>> listServices() {
-        return ResponseEntity.ok(serviceService.findAllActive());
+    @ApiResponse(responseCode = "200", content = @Content(
+            array = @ArraySchema(schema = @Schema(implementation = ServiceDTO.PublicResponse.class))))
+    public ResponseEntity<byte[]> listServices(WebRequest webRequest) {
+        return CatalogResponses.of(publicCatalogService.getServices(), publicCatalogService.maxAge(), webRequest);
     }
 }
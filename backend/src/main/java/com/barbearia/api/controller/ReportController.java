@@ -1,14 +1,19 @@
 package com.barbearia.api.controller;
 
 import com.barbearia.application.dto.ReportDTO;
+import com.barbearia.application.service.ExportService;
 import com.barbearia.application.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 
@@ -20,6 +25,7 @@ import java.time.LocalDate;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ExportService exportService;
 
     @GetMapping("/dashboard")
     @Operation(summary = "Dashboard", description = "Retorna estatísticas do dashboard")
@@ -34,4 +40,40 @@ public class ReportController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         return ResponseEntity.ok(reportService.getPeriodReport(startDate, endDate));
     }
+
+    @GetMapping("/export/appointments")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportar agendamentos (CSV)",
+            description = "Gera o CSV em streaming, sem limite de linhas. Use gzip=true para receber compactado")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        exportService.validateRange(startDate, endDate);
+        return csv("agendamentos", startDate, endDate, gzip,
+                out -> exportService.writeAppointments(startDate, endDate, gzip, out));
+    }
+
+    @GetMapping("/export/audits")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportar auditoria (CSV)",
+            description = "Gera o CSV do histórico de alterações em streaming. Use gzip=true para receber compactado")
+    public ResponseEntity<StreamingResponseBody> exportAudits(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        exportService.validateRange(startDate, endDate);
+        return csv("auditoria", startDate, endDate, gzip,
+                out -> exportService.writeAudits(startDate, endDate, gzip, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> csv(String name, LocalDate startDate, LocalDate endDate,
+                                                      boolean gzip, StreamingResponseBody body) {
+        String filename = String.format("%s_%s_%s.csv%s", name, startDate, endDate, gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
 }
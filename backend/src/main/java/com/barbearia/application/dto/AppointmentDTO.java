@@ -6,6 +6,7 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public class AppointmentDTO {
@@ -37,6 +38,8 @@ public class AppointmentDTO {
 
         @Size(max = 500, message = "Observações devem ter no máximo 500 caracteres")
         private String notes;
+
+        private String holdToken;
     }
 
     @Data
@@ -150,4 +153,82 @@ public class AppointmentDTO {
         private String barberName;
         private UUID barberId;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CalendarDelta {
+        private long sequence;
+        private String type;
+        private CalendarEvent appointment;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SearchPage {
+        private List<CalendarEvent> items;
+        private String nextCursor;
+        private boolean hasMore;
+    }
+
+    public enum BulkAction {
+        CANCEL, MOVE
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkRequest {
+        @NotNull(message = "Barbeiro é obrigatório")
+        private UUID barberId;
+
+        @NotNull(message = "Início do período é obrigatório")
+        private LocalDateTime from;
+
+        @NotNull(message = "Fim do período é obrigatório")
+        private LocalDateTime to;
+
+        @NotNull(message = "Ação é obrigatória")
+        private BulkAction action;
+
+        @Min(value = -1440, message = "Deslocamento deve ser de no máximo 1440 minutos")
+        @Max(value = 1440, message = "Deslocamento deve ser de no máximo 1440 minutos")
+        private Integer shiftMinutes;
+
+        private UUID targetBarberId;
+
+        @Builder.Default
+        private boolean notifyClients = true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkItemResult {
+        private UUID appointmentId;
+        private String clientName;
+        private LocalDateTime startTime;
+        private LocalDateTime newStartTime;
+        private LocalDateTime newEndTime;
+        private UUID newBarberId;
+        private boolean success;
+        private String reason;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkResult {
+        private BulkAction action;
+        private int total;
+        private int succeeded;
+        private int failed;
+        private List<BulkItemResult> items;
+    }
 }
@@ -51,4 +51,48 @@ public class AvailabilityDTO {
         private int month;
         private List<DayAvailability> days;
     }
+
+    // Formato compacto: um bitmap de disponibilidade por barbeiro em vez de um objeto por slot
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CompactDay {
+        private LocalDate date;
+        private int stepMinutes;
+        private List<CompactBarber> barbers;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CompactBarber {
+        private UUID barberId;
+        private String barberName;
+        private List<CompactInterval> intervals;
+    }
+
+    // Uma grade por intervalo do expediente, começando no início do próprio intervalo
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CompactInterval {
+        private LocalTime start;
+        private int slots;
+        private String bitmap;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChangeNotification {
+        private UUID barberId;
+        private LocalDate date;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private boolean available;
+    }
 }
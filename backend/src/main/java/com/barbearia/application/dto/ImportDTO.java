@@ -0,0 +1,33 @@
+package com.barbearia.application.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+public class ImportDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+        private UUID importId;
+        private boolean dryRun;
+        private int totalRows;
+        private int imported;
+        private int rejected;
+        private long durationMs;
+        private long rowsPerSecond;
+        private List<RejectedRow> rejectedRows;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RejectedRow {
+        private long line;
+        private String reason;
+    }
+}
@@ -0,0 +1,38 @@
+package com.barbearia.application.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class SlotHoldDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Request {
+        @NotNull(message = "Serviço é obrigatório")
+        private UUID serviceId;
+
+        private UUID barberId;
+
+        @NotNull(message = "Horário é obrigatório")
+        private LocalDateTime startTime;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String holdToken;
+        private UUID serviceId;
+        private UUID barberId;
+        private String barberName;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private LocalDateTime expiresAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.barbearia.application.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class SyncDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChangesPage {
+        private List<AppointmentDTO.CalendarEvent> appointments;
+        private List<TimeBlockDTO.Response> timeBlocks;
+        private List<Deletion> deleted;
+        private String nextCursor;
+        private boolean hasMore;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Deletion {
+        private String entityType;
+        private UUID id;
+        private UUID barberId;
+        private LocalDateTime deletedAt;
+    }
+}
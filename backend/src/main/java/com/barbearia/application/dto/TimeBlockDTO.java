@@ -1,8 +1,10 @@
 package com.barbearia.application.dto;
 
+import com.barbearia.domain.enums.RecurrenceFrequency;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -24,6 +26,15 @@ public class TimeBlockDTO {
         @NotBlank(message = "Motivo é obrigatório")
         @Size(max = 255, message = "Motivo deve ter no máximo 255 caracteres")
         private String reason;
+
+        // Opcional: repete o bloqueio a cada recurrenceInterval dias/semanas até recurrenceUntil (inclusive)
+        private RecurrenceFrequency recurrenceFrequency;
+
+        @Min(value = 1, message = "Intervalo de recorrência deve ser de pelo menos 1")
+        @Max(value = 52, message = "Intervalo de recorrência deve ser de no máximo 52")
+        private Integer recurrenceInterval;
+
+        private LocalDate recurrenceUntil;
     }
 
     @Data
@@ -37,5 +48,9 @@ public class TimeBlockDTO {
         private LocalDateTime startTime;
         private LocalDateTime endTime;
         private String reason;
+        private boolean recurring;
+        private RecurrenceFrequency recurrenceFrequency;
+        private Integer recurrenceInterval;
+        private LocalDate recurrenceUntil;
     }
 }
@@ -81,4 +81,13 @@ public class UserDTO {
         private UUID id;
         private String name;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CalendarFeedResponse {
+        private String token;
+        private String url;
+    }
 }
@@ -0,0 +1,79 @@
+package com.barbearia.application.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class WaitlistDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Request {
+        @NotNull(message = "Serviço é obrigatório")
+        private UUID serviceId;
+
+        private UUID barberId;
+
+        @NotNull(message = "Início da janela é obrigatório")
+        private LocalDateTime windowStart;
+
+        @NotNull(message = "Fim da janela é obrigatório")
+        private LocalDateTime windowEnd;
+
+        @NotBlank(message = "Nome é obrigatório")
+        @Size(max = 100, message = "Nome deve ter no máximo 100 caracteres")
+        private String clientName;
+
+        @NotBlank(message = "Telefone é obrigatório")
+        @Size(min = 14, max = 15, message = "Telefone deve ter entre 10 e 11 dígitos")
+        @Pattern(regexp = "^\\(\\d{2}\\) \\d{4,5}-\\d{4}$", message = "Telefone inválido. Use formato: (11) 99999-9999")
+        private String clientPhone;
+
+        @NotBlank(message = "Email é obrigatório para receber ofertas")
+        @Email(message = "Email inválido")
+        private String clientEmail;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private UUID id;
+        private String accessToken;
+        private String status;
+        private UUID serviceId;
+        private String serviceName;
+        private UUID barberId;
+        private String barberName;
+        private LocalDateTime windowStart;
+        private LocalDateTime windowEnd;
+        private String offerHoldToken;
+        private UUID offerBarberId;
+        private LocalDateTime offerStartTime;
+        private LocalDateTime offerExpiresAt;
+        private LocalDateTime createdAt;
+    }
+
+    // Oferta montada dentro da transação do casamento e enviada por email depois do commit
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Offer {
+        private UUID entryId;
+        private String recipient;
+        private String clientName;
+        private UUID serviceId;
+        private String serviceName;
+        private UUID barberId;
+        private String barberName;
+        private LocalDateTime startTime;
+        private LocalDateTime expiresAt;
+        private String holdToken;
+    }
+}
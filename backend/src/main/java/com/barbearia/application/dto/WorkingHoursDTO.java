@@ -1,6 +1,7 @@
 package com.barbearia.application.dto;
 
 import com.barbearia.domain.enums.DayOfWeekEnum;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
@@ -18,15 +19,30 @@ public class WorkingHoursDTO {
         @NotNull(message = "Dia da semana é obrigatório")
         private DayOfWeekEnum dayOfWeek;
 
-        @NotNull(message = "Horário de início é obrigatório")
+        // Obrigatórios quando intervals não é informado
         private LocalTime startTime;
 
-        @NotNull(message = "Horário de término é obrigatório")
         private LocalTime endTime;
 
+        @Valid
+        @Size(max = 8, message = "Máximo de 8 intervalos por dia")
+        private List<Interval> intervals;
+
         private boolean isWorking = true;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Interval {
+        @NotNull(message = "Horário de início é obrigatório")
+        private LocalTime startTime;
+
+        @NotNull(message = "Horário de término é obrigatório")
+        private LocalTime endTime;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -47,6 +63,7 @@ public class WorkingHoursDTO {
         private DayOfWeekEnum dayOfWeek;
         private LocalTime startTime;
         private LocalTime endTime;
+        private List<Interval> intervals;
         private boolean isWorking;
     }
 }
@@ -0,0 +1,33 @@
+package com.barbearia.application.event;
+
+import com.barbearia.application.dto.AppointmentDTO;
+
+// Publicado a cada mudança de agendamento para o calendário administrativo.
+// remote = evento recebido de outra instância (não deve ser repassado de novo).
+public record AppointmentChangedEvent(Type type, AppointmentDTO.CalendarEvent appointment, boolean remote) {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, CANCELLED
+    }
+
+    public static AppointmentChangedEvent of(String auditAction, AppointmentDTO.CalendarEvent appointment) {
+        return new AppointmentChangedEvent(typeOf(auditAction), appointment, false);
+    }
+
+    public AppointmentChangedEvent asRemote() {
+        return new AppointmentChangedEvent(type, appointment, true);
+    }
+
+    private static Type typeOf(String auditAction) {
+        if (auditAction.equals("CREATED")) {
+            return Type.CREATED;
+        }
+        if (auditAction.startsWith("CANCELLED")) {
+            return Type.CANCELLED;
+        }
+        if (auditAction.startsWith("STATUS_CHANGED")) {
+            return Type.STATUS_CHANGED;
+        }
+        return Type.UPDATED;
+    }
+}
@@ -0,0 +1,29 @@
+package com.barbearia.application.event;
+
+import java.util.UUID;
+
+// Publicado a cada escrita em entidades mantidas no cache de segundo nível.
+// id nulo = todas as linhas do tipo; remote = evento recebido de outra instância.
+public record CachedEntityChangedEvent(Type type, UUID id, boolean remote) {
+
+    public enum Type {
+        SERVICE, USER, WORKING_HOURS
+    }
+
+    public static CachedEntityChangedEvent service(UUID id) {
+        return new CachedEntityChangedEvent(Type.SERVICE, id, false);
+    }
+
+    public static CachedEntityChangedEvent user(UUID id) {
+        return new CachedEntityChangedEvent(Type.USER, id, false);
+    }
+
+    // O upsert de expedientes grava via JDBC, fora do Hibernate: descarta a região inteira
+    public static CachedEntityChangedEvent workingHours() {
+        return new CachedEntityChangedEvent(Type.WORKING_HOURS, null, false);
+    }
+
+    public CachedEntityChangedEvent asRemote() {
+        return new CachedEntityChangedEvent(type, id, true);
+    }
+}
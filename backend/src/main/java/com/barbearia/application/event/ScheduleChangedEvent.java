@@ -0,0 +1,48 @@
+package com.barbearia.application.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Publicado a cada escrita que altera a disponibilidade.
+// barberId nulo = todos os barbeiros; from/to nulos = todos os dias do barbeiro.
+// startTime/endTime/occupied descrevem o intervalo afetado quando a mudança é pontual.
+// remote = evento recebido de outra instância (não deve ser repassado de novo).
+public record ScheduleChangedEvent(UUID barberId, LocalDate from, LocalDate to,
+                                   LocalDateTime startTime, LocalDateTime endTime,
+                                   boolean occupied, boolean remote) {
+
+    public static ScheduleChangedEvent occupied(UUID barberId, LocalDateTime startTime, LocalDateTime endTime) {
+        return interval(barberId, startTime, endTime, true);
+    }
+
+    public static ScheduleChangedEvent released(UUID barberId, LocalDateTime startTime, LocalDateTime endTime) {
+        return interval(barberId, startTime, endTime, false);
+    }
+
+    public static ScheduleChangedEvent barber(UUID barberId) {
+        return new ScheduleChangedEvent(barberId, null, null, null, null, false, false);
+    }
+
+    public static ScheduleChangedEvent all() {
+        return new ScheduleChangedEvent(null, null, null, null, null, false, false);
+    }
+
+    private static ScheduleChangedEvent interval(UUID barberId, LocalDateTime startTime, LocalDateTime endTime,
+                                                 boolean occupied) {
+        LocalDate lastDay = endTime.isAfter(startTime) ? endTime.minusNanos(1).toLocalDate() : startTime.toLocalDate();
+        return new ScheduleChangedEvent(barberId, startTime.toLocalDate(), lastDay, startTime, endTime, occupied, false);
+    }
+
+    public ScheduleChangedEvent asRemote() {
+        return new ScheduleChangedEvent(barberId, from, to, startTime, endTime, occupied, true);
+    }
+
+    public boolean allBarbers() {
+        return barberId == null;
+    }
+
+    public boolean allDays() {
+        return from == null;
+    }
+}
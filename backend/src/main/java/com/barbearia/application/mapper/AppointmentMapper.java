@@ -2,6 +2,8 @@ package com.barbearia.application.mapper;
 
 import com.barbearia.application.dto.AppointmentDTO;
 import com.barbearia.domain.entity.Appointment;
+import com.barbearia.domain.projection.AppointmentRow;
+import com.barbearia.domain.projection.CalendarEventRow;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -35,6 +37,28 @@ public class AppointmentMapper {
                 .build();
     }
 
+    public AppointmentDTO.Response toResponse(AppointmentRow row) {
+        return AppointmentDTO.Response.builder()
+                .id(row.id())
+                .barberId(row.barberId())
+                .barberName(row.barberName())
+                .serviceId(row.serviceId())
+                .serviceName(row.serviceName())
+                .serviceDuration(row.serviceDuration())
+                .clientName(row.clientName())
+                .clientPhone(row.clientPhone())
+                .clientEmail(row.clientEmail())
+                .startTime(row.startTime())
+                .endTime(row.endTime())
+                .status(row.status())
+                .priceAtBooking(row.priceAtBooking())
+                .notes(row.notes())
+                .cancellationToken(row.cancellationToken())
+                .createdByAdmin(row.createdByAdmin())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
     public AppointmentDTO.PublicResponse toPublicResponse(Appointment appointment) {
         LocalDateTime now = LocalDateTime.now();
         boolean canModify = appointment.isActive() && appointment.canBeCancelledByClient(now, clientCancelHours);
@@ -67,4 +91,19 @@ public class AppointmentMapper {
                 .barberId(appointment.getBarber().getId())
                 .build();
     }
+
+    public AppointmentDTO.CalendarEvent toCalendarEvent(CalendarEventRow row) {
+        return AppointmentDTO.CalendarEvent.builder()
+                .id(row.id())
+                .title(row.serviceName() + " - " + row.clientName())
+                .start(row.startTime())
+                .end(row.endTime())
+                .status(row.status().name())
+                .clientName(row.clientName())
+                .clientPhone(row.clientPhone())
+                .serviceName(row.serviceName())
+                .barberName(row.barberName())
+                .barberId(row.barberId())
+                .build();
+    }
 }
@@ -0,0 +1,18 @@
+package com.barbearia.application.mapper;
+
+import com.barbearia.application.dto.ShopClosureDTO;
+import com.barbearia.domain.entity.ShopClosure;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ShopClosureMapper {
+
+    public ShopClosureDTO.Response toResponse(ShopClosure closure) {
+        return ShopClosureDTO.Response.builder()
+                .id(closure.getId())
+                .startTime(closure.getStartTime())
+                .endTime(closure.getEndTime())
+                .reason(closure.getReason())
+                .build();
+    }
+}
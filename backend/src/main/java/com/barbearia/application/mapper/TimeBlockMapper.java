@@ -15,6 +15,10 @@ public class TimeBlockMapper {
                 .startTime(timeBlock.getStartTime())
                 .endTime(timeBlock.getEndTime())
                 .reason(timeBlock.getReason())
+                .recurring(timeBlock.isRecurring())
+                .recurrenceFrequency(timeBlock.getRecurrenceFrequency())
+                .recurrenceInterval(timeBlock.getRecurrenceInterval())
+                .recurrenceUntil(timeBlock.getRecurrenceUntil())
                 .build();
     }
 }
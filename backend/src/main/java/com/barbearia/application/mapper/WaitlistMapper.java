@@ -0,0 +1,30 @@
+package com.barbearia.application.mapper;
+
+import com.barbearia.application.dto.WaitlistDTO;
+import com.barbearia.domain.entity.WaitlistEntry;
+import com.barbearia.domain.enums.WaitlistStatus;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WaitlistMapper {
+
+    public WaitlistDTO.Response toResponse(WaitlistEntry entry) {
+        boolean offered = entry.getStatus() == WaitlistStatus.OFFERED;
+        return WaitlistDTO.Response.builder()
+                .id(entry.getId())
+                .accessToken(entry.getAccessToken())
+                .status(entry.getStatus().name())
+                .serviceId(entry.getService().getId())
+                .serviceName(entry.getService().getName())
+                .barberId(entry.getBarber() != null ? entry.getBarber().getId() : null)
+                .barberName(entry.getBarber() != null ? entry.getBarber().getName() : null)
+                .windowStart(entry.getWindowStart())
+                .windowEnd(entry.getWindowEnd())
+                .offerHoldToken(offered ? entry.getOfferHoldToken() : null)
+                .offerBarberId(offered ? entry.getOfferBarberId() : null)
+                .offerStartTime(offered ? entry.getOfferStartTime() : null)
+                .offerExpiresAt(offered ? entry.getOfferExpiresAt() : null)
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+}
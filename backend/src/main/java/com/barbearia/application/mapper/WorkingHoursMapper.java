@@ -14,6 +14,9 @@ public class WorkingHoursMapper {
                 .dayOfWeek(workingHours.getDayOfWeek())
                 .startTime(workingHours.getStartTime())
                 .endTime(workingHours.getEndTime())
+                .intervals(workingHours.getIntervals().stream()
+                        .map(i -> new WorkingHoursDTO.Interval(i.start(), i.end()))
+                        .toList())
                 .isWorking(workingHours.isWorking())
                 .build();
     }
@@ -0,0 +1,420 @@
+package com.barbearia.application.service;
+
+import com.barbearia.application.dto.ImportDTO;
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.domain.entity.AppointmentImport;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.enums.AppointmentStatus;
+import com.barbearia.domain.projection.BusyInterval;
+import com.barbearia.domain.repository.AppointmentImportRepository;
+import com.barbearia.domain.repository.AppointmentRepository;
+import com.barbearia.domain.repository.ServiceRepository;
+import com.barbearia.domain.repository.UserRepository;
+import com.barbearia.infrastructure.csv.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+// Importação em lote de agendamentos históricos (ex.: migração de uma unidade).
+// O CSV é validado registro a registro, conflitos são checados em memória por barbeiro e as linhas
+// aceitas entram via COPY, sem auditoria por agendamento nem notificações.
+// Todas as linhas válidas ficam em memória até o COPY (algumas centenas de bytes cada, na ordem de
+// 100 MB no limite padrão de 200 mil linhas); app.import.max-rows deve acompanhar o heap disponível.
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentImportService {
+
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+    private static final int COPY_CHUNK_BYTES = 64 * 1024;
+    private static final DateTimeFormatter SPACED_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+    // Mesmos status que ocupam horário no agendamento ao vivo: concluídos e faltas não conflitam
+    private static final Set<AppointmentStatus> BUSY_STATUSES =
+            EnumSet.of(AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED);
+
+    private static final String COPY_SQL = "COPY appointments (id, barber_id, service_id, client_name, client_phone, " +
+            "client_email, start_time, end_time, status, price_at_booking, notes, cancellation_token, " +
+            "created_by_admin, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final UserRepository userRepository;
+    private final ServiceRepository serviceRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentImportRepository importRepository;
+    private final BookingEngine bookingEngine;
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.max-rows:200000}")
+    private int maxRows;
+
+    public ImportDTO.Result importCsv(InputStream input, String fileName, boolean dryRun, String performedBy) {
+        long startedAt = System.currentTimeMillis();
+        log.info("Importing appointments from {} by {} (dry run: {})", fileName, performedBy, dryRun);
+
+        Catalog catalog = loadCatalog();
+        List<ImportRow> rows = new ArrayList<>();
+        List<ImportDTO.RejectedRow> rejections = new ArrayList<>();
+        int[] rejected = {0};
+        int totalRows = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 65536)) {
+            CsvReader csv = new CsvReader(reader, detectSeparator(reader));
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new BusinessException("EMPTY_IMPORT", "Arquivo vazio");
+            }
+            Columns columns = Columns.of(header);
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                if (++totalRows > maxRows) {
+                    throw new BusinessException("IMPORT_TOO_LARGE",
+                            String.format("Importação deve ter no máximo %d linhas", maxRows));
+                }
+                try {
+                    rows.add(parse(csv.recordLine(), record, columns, catalog));
+                } catch (BusinessException e) {
+                    reject(rejections, rejected, csv.recordLine(), e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new BusinessException("INVALID_IMPORT_FILE", "Não foi possível ler o CSV: " + e.getMessage());
+        }
+
+        List<ImportRow> accepted = rejectConflicts(rows, rejections, rejected);
+
+        UUID importId = null;
+        if (!dryRun && !accepted.isEmpty()) {
+            importId = persist(accepted, fileName, performedBy, totalRows, rejected[0], startedAt);
+            bookingEngine.reload(accepted.stream().map(ImportRow::barberId).distinct().toList());
+        }
+
+        long durationMs = Math.max(System.currentTimeMillis() - startedAt, 1);
+        log.info("Imported {} of {} appointments from {} in {} ms ({} rejected)",
+                dryRun ? 0 : accepted.size(), totalRows, fileName, durationMs, rejected[0]);
+
+        return ImportDTO.Result.builder()
+                .importId(importId)
+                .dryRun(dryRun)
+                .totalRows(totalRows)
+                .imported(dryRun ? 0 : accepted.size())
+                .rejected(rejected[0])
+                .durationMs(durationMs)
+                .rowsPerSecond(totalRows * 1000L / durationMs)
+                .rejectedRows(rejections)
+                .build();
+    }
+
+    private UUID persist(List<ImportRow> accepted, String fileName, String performedBy, int totalRows,
+                         int rejected, long startedAt) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            copy(accepted);
+
+            AppointmentImport summary = importRepository.save(AppointmentImport.builder()
+                    .fileName(fileName)
+                    .performedBy(performedBy)
+                    .totalRows(totalRows)
+                    .imported(accepted.size())
+                    .rejected(rejected)
+                    .durationMs(System.currentTimeMillis() - startedAt)
+                    .build());
+
+            accepted.stream().map(ImportRow::barberId).distinct()
+                    .forEach(barberId -> eventPublisher.publishEvent(ScheduleChangedEvent.barber(barberId)));
+            return summary.getId();
+        });
+    }
+
+    private void copy(List<ImportRow> accepted) {
+        // Usa a conexão da transação corrente para que o COPY e o resumo sejam confirmados juntos
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        CopyIn copyIn = null;
+        try {
+            // O carimbo é anterior ao commit, que pode demorar bem mais que a janela de segurança da
+            // sincronização; leitores de /changes esperam este lock para não passar o cursor das linhas importadas
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_xact_lock(" + CalendarSyncService.SYNC_LOCK_KEY + ")");
+            }
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            String now = LocalDateTime.now().toString();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_CHUNK_BYTES + 1024);
+
+            for (ImportRow row : accepted) {
+                StringBuilder line = new StringBuilder(256)
+                        .append(UUID.randomUUID()).append(',')
+                        .append(row.barberId()).append(',')
+                        .append(row.serviceId()).append(',')
+                        .append(quote(row.clientName())).append(',')
+                        .append(quote(row.clientPhone())).append(',')
+                        .append(quote(row.clientEmail())).append(',')
+                        .append(row.startTime()).append(',')
+                        .append(row.endTime()).append(',')
+                        .append(row.status().name()).append(',')
+                        .append(row.price().toPlainString()).append(',')
+                        .append(quote(row.notes())).append(',')
+                        .append(UUID.randomUUID()).append(',')
+                        .append("true,").append(now).append(',').append(now).append('\n');
+                buffer.writeBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+
+                if (buffer.size() >= COPY_CHUNK_BYTES) {
+                    copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                    buffer.reset();
+                }
+            }
+            if (buffer.size() > 0) {
+                copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+            }
+            copyIn.endCopy();
+        } catch (SQLException e) {
+            if (copyIn != null && copyIn.isActive()) {
+                try {
+                    copyIn.cancelCopy();
+                } catch (SQLException ignored) {
+                    // a transação será desfeita de qualquer forma
+                }
+            }
+            throw new IllegalStateException("Appointment COPY failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private List<ImportRow> rejectConflicts(List<ImportRow> rows, List<ImportDTO.RejectedRow> rejections,
+                                            int[] rejected) {
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        Map<UUID, List<ImportRow>> busyByBarber = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            if (BUSY_STATUSES.contains(row.status())) {
+                busyByBarber.computeIfAbsent(row.barberId(), id -> new ArrayList<>()).add(row);
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        busyByBarber.forEach((barberId, barberRows) -> {
+            // Ordenação estável: no mesmo início, vence a linha que vem antes no arquivo
+            barberRows.sort(Comparator.comparing(ImportRow::startTime));
+            LocalDateTime to = barberRows.stream().map(ImportRow::endTime).max(Comparator.naturalOrder()).orElseThrow();
+            NavigableMap<LocalDateTime, LocalDateTime> existing =
+                    maxEndByStart(appointmentRepository.findBusyIntervals(barberId, barberRows.get(0).startTime(), to));
+
+            // Linhas aceitas começam no máximo no início da atual, então basta o maior fim entre elas
+            LocalDateTime acceptedMaxEnd = LocalDateTime.MIN;
+            for (ImportRow row : barberRows) {
+                Map.Entry<LocalDateTime, LocalDateTime> stored = existing.lowerEntry(row.endTime());
+                if (stored != null && stored.getValue().isAfter(row.startTime())) {
+                    reject(rejections, rejected, row.line(), "Conflito com agendamento existente do barbeiro");
+                } else if (acceptedMaxEnd.isAfter(row.startTime())) {
+                    reject(rejections, rejected, row.line(), "Conflito com outra linha da importação para o barbeiro");
+                } else {
+                    accepted.add(row);
+                    acceptedMaxEnd = row.endTime();
+                }
+            }
+        });
+        return accepted;
+    }
+
+    // Início -> maior fim entre os intervalos que começam até ele: os existentes podem se sobrepor entre si,
+    // então o vizinho anterior sozinho não basta
+    private NavigableMap<LocalDateTime, LocalDateTime> maxEndByStart(List<BusyInterval> intervals) {
+        NavigableMap<LocalDateTime, LocalDateTime> maxEnd = new TreeMap<>();
+        LocalDateTime running = LocalDateTime.MIN;
+        for (BusyInterval interval : intervals) {
+            if (interval.endTime().isAfter(running)) {
+                running = interval.endTime();
+            }
+            maxEnd.put(interval.startTime(), running);
+        }
+        return maxEnd;
+    }
+
+    private ImportRow parse(long line, List<String> record, Columns columns, Catalog catalog) {
+        String barberRef = columns.required(record, "barbeiro");
+        UUID barberId = catalog.barbersByEmail().getOrDefault(barberRef.toLowerCase(),
+                catalog.barbersByName().get(barberRef.toLowerCase()));
+        if (barberId == null) {
+            throw new BusinessException("UNKNOWN_BARBER", "Barbeiro não encontrado: " + barberRef);
+        }
+
+        String serviceName = columns.required(record, "servico");
+        Service service = catalog.servicesByName().get(serviceName.toLowerCase());
+        if (service == null) {
+            throw new BusinessException("UNKNOWN_SERVICE", "Serviço não encontrado: " + serviceName);
+        }
+
+        String clientName = limit(columns.required(record, "cliente"), 100, "Nome do cliente");
+        String clientPhone = limit(columns.required(record, "telefone"), 20, "Telefone");
+        String clientEmail = limit(columns.optional(record, "email"), 255, "Email");
+        String notes = limit(columns.optional(record, "observacoes"), 500, "Observações");
+
+        LocalDateTime startTime = parseDateTime(columns.required(record, "inicio"));
+        String endValue = columns.optional(record, "fim");
+        LocalDateTime endTime = endValue != null ? parseDateTime(endValue)
+                : startTime.plusMinutes(service.getTotalDurationMinutes());
+        if (!endTime.isAfter(startTime)) {
+            throw new BusinessException("INVALID_TIME_RANGE", "Horário de término deve ser após o início");
+        }
+
+        String statusValue = columns.optional(record, "status");
+        AppointmentStatus status;
+        if (statusValue == null) {
+            status = startTime.isBefore(LocalDateTime.now()) ? AppointmentStatus.COMPLETED : AppointmentStatus.CONFIRMED;
+        } else {
+            try {
+                status = AppointmentStatus.valueOf(statusValue.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("INVALID_STATUS", "Status inválido: " + statusValue);
+            }
+        }
+
+        String priceValue = columns.optional(record, "valor");
+        BigDecimal price;
+        try {
+            price = priceValue != null ? new BigDecimal(priceValue.replace(',', '.')) : service.getPrice();
+        } catch (NumberFormatException e) {
+            throw new BusinessException("INVALID_PRICE", "Valor inválido: " + priceValue);
+        }
+
+        return new ImportRow(line, barberId, service.getId(), clientName, clientPhone, clientEmail,
+                startTime, endTime, status, price, notes);
+    }
+
+    private Catalog loadCatalog() {
+        Map<String, UUID> byEmail = new HashMap<>();
+        Map<String, UUID> byName = new HashMap<>();
+        Set<String> ambiguousNames = new HashSet<>();
+        for (User user : userRepository.findAll()) {
+            if (!user.isBarber()) {
+                continue;
+            }
+            byEmail.put(user.getEmail().toLowerCase(), user.getId());
+            if (byName.putIfAbsent(user.getName().toLowerCase(), user.getId()) != null) {
+                ambiguousNames.add(user.getName().toLowerCase());
+            }
+        }
+        // Nomes repetidos só podem ser referenciados por email
+        ambiguousNames.forEach(byName::remove);
+
+        Map<String, Service> services = new HashMap<>();
+        serviceRepository.findAll().forEach(service -> services.put(service.getName().toLowerCase(), service));
+        return new Catalog(byEmail, byName, services);
+    }
+
+    private char detectSeparator(BufferedReader reader) throws IOException {
+        reader.mark(8192);
+        String firstLine = reader.readLine();
+        reader.reset();
+        if (firstLine == null) {
+            return ',';
+        }
+        return firstLine.chars().filter(c -> c == ';').count() > firstLine.chars().filter(c -> c == ',').count()
+                ? ';' : ',';
+    }
+
+    private LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value, SPACED_DATE_TIME);
+            } catch (DateTimeParseException ignored) {
+                throw new BusinessException("INVALID_DATE_TIME", "Data/hora inválida: " + value);
+            }
+        }
+    }
+
+    private String limit(String value, int max, String field) {
+        if (value != null && value.length() > max) {
+            throw new BusinessException("FIELD_TOO_LONG", String.format("%s deve ter no máximo %d caracteres", field, max));
+        }
+        return value;
+    }
+
+    private String quote(String value) {
+        // No COPY em CSV, campo vazio sem aspas é NULL
+        return value == null ? "" : '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void reject(List<ImportDTO.RejectedRow> rejections, int[] rejected, long line, String reason) {
+        rejected[0]++;
+        if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+            rejections.add(ImportDTO.RejectedRow.builder().line(line).reason(reason).build());
+        }
+    }
+
+    private record ImportRow(long line, UUID barberId, UUID serviceId, String clientName, String clientPhone,
+                             String clientEmail, LocalDateTime startTime, LocalDateTime endTime,
+                             AppointmentStatus status, BigDecimal price, String notes) {
+    }
+
+    private record Catalog(Map<String, UUID> barbersByEmail, Map<String, UUID> barbersByName,
+                           Map<String, Service> servicesByName) {
+    }
+
+    private record Columns(Map<String, Integer> index) {
+
+        static Columns of(List<String> header) {
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                index.putIfAbsent(header.get(i).trim().toLowerCase(), i);
+            }
+            for (String required : List.of("barbeiro", "servico", "cliente", "telefone", "inicio")) {
+                if (!index.containsKey(required)) {
+                    throw new BusinessException("MISSING_COLUMN", "Coluna obrigatória ausente: " + required);
+                }
+            }
+            return new Columns(index);
+        }
+
+        String optional(List<String> record, String column) {
+            Integer i = index.get(column);
+            if (i == null || i >= record.size()) {
+                return null;
+            }
+            String value = record.get(i).trim();
+            // Desfaz o escape anti-fórmula aplicado pela exportação
+            if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+                value = value.substring(1);
+            }
+            return value.isEmpty() ? null : value;
+        }
+
+        String required(List<String> record, String column) {
+            String value = optional(record, column);
+            if (value == null) {
+                throw new BusinessException("MISSING_VALUE", "Campo obrigatório vazio: " + column);
+            }
+            return value;
+        }
+    }
+}
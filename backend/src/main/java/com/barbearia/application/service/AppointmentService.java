@@ -1,6 +1,9 @@
 package com.barbearia.application.service;
 
 import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.dto.SlotHoldDTO;
+import com.barbearia.application.event.AppointmentChangedEvent;
+import com.barbearia.application.event.ScheduleChangedEvent;
 import com.barbearia.application.exception.BusinessException;
 import com.barbearia.application.exception.ConflictException;
 import com.barbearia.application.exception.ResourceNotFoundException;
@@ -9,19 +12,31 @@ import com.barbearia.domain.entity.*;
 import com.barbearia.domain.enums.AppointmentStatus;
 import com.barbearia.domain.enums.DayOfWeekEnum;
 import com.barbearia.domain.enums.NotificationType;
+import com.barbearia.domain.projection.CalendarEventRow;
 import com.barbearia.domain.repository.*;
+import com.barbearia.infrastructure.cache.ShopClosureCalendar;
+import com.barbearia.infrastructure.cache.TimeBlockOccurrenceCache;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
 import com.barbearia.infrastructure.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
@@ -29,14 +44,21 @@ import java.util.UUID;
 @Transactional
 public class AppointmentService {
 
+    public static final int MAX_SEARCH_PAGE_SIZE = 200;
+    public static final int MAX_BULK_APPOINTMENTS = 500;
+
     private final AppointmentRepository appointmentRepository;
     private final ServiceRepository serviceRepository;
     private final UserRepository userRepository;
     private final TimeBlockRepository timeBlockRepository;
+    private final TimeBlockOccurrenceCache occurrenceCache;
     private final WorkingHoursRepository workingHoursRepository;
     private final AppointmentAuditRepository auditRepository;
     private final AppointmentMapper appointmentMapper;
     private final NotificationService notificationService;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final ShopClosureCalendar shopClosureCalendar;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.booking.min-advance-hours:1}")
     private int minAdvanceHours;
@@ -57,23 +79,28 @@ public class AppointmentService {
             throw new BusinessException("SERVICE_INACTIVE", "Serviço não está ativo");
         }
 
+        // Código desconhecido ou vencido é recusado: o cliente precisa saber que o horário mostrado não está mais seguro
+        SlotHold hold = request.getHoldToken() != null
+                ? slotHoldRegistry.find(request.getHoldToken())
+                        .orElseThrow(() -> new BusinessException("HOLD_EXPIRED",
+                                "Reserva temporária expirada ou inexistente"))
+                : null;
+
         User barber;
-        if (request.getBarberId() != null) {
-            barber = userRepository.findById(request.getBarberId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Barbeiro", "id", request.getBarberId()));
+        if (hold != null) {
+            validateHold(hold, request, service);
+            barber = userRepository.findById(hold.getBarberId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Barbeiro", "id", hold.getBarberId()));
         } else {
-            List<User> barbers = userRepository.findAllActiveBarbers();
-            if (barbers.isEmpty()) {
-                throw new BusinessException("NO_BARBER", "Não há barbeiros disponíveis");
-            }
-            barber = findAvailableBarber(barbers, service, request.getStartTime());
+            barber = resolveBarber(request.getBarberId(), service, request.getStartTime());
         }
 
         validateBookingTime(request.getStartTime(), barber.getId(), service);
 
         LocalDateTime endTime = request.getStartTime().plusMinutes(service.getTotalDurationMinutes());
 
-        validateNoConflicts(barber.getId(), request.getStartTime(), endTime, null);
+        validateNoConflicts(barber.getId(), request.getStartTime(), endTime, null,
+                hold != null ? hold.getToken() : null);
 
         Appointment appointment = Appointment.builder()
                 .barber(barber)
@@ -93,12 +120,73 @@ public class AppointmentService {
 
         createAudit(appointment, "CREATED", "client", null);
 
+        if (hold != null) {
+            slotHoldRegistry.releaseOnCommit(hold.getToken());
+        }
+
         notificationService.sendNotification(appointment, NotificationType.CONFIRMATION);
 
         log.info("Public appointment created with id: {}", appointment.getId());
         return appointmentMapper.toResponse(appointment);
     }
 
+    public SlotHoldDTO.Response holdSlot(SlotHoldDTO.Request request, String clientKey) {
+        log.info("Holding slot at {} for service: {}", request.getStartTime(), request.getServiceId());
+
+        Service service = serviceRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", request.getServiceId()));
+
+        if (!service.isActive()) {
+            throw new BusinessException("SERVICE_INACTIVE", "Serviço não está ativo");
+        }
+
+        User barber = resolveBarber(request.getBarberId(), service, request.getStartTime());
+
+        validateBookingTime(request.getStartTime(), barber.getId(), service);
+
+        LocalDateTime endTime = request.getStartTime().plusMinutes(service.getTotalDurationMinutes());
+
+        validateNoConflicts(barber.getId(), request.getStartTime(), endTime, null);
+
+        SlotHold hold = slotHoldRegistry.hold(clientKey, barber.getId(), service.getId(), request.getStartTime(), endTime);
+
+        return SlotHoldDTO.Response.builder()
+                .holdToken(hold.getToken())
+                .serviceId(service.getId())
+                .barberId(barber.getId())
+                .barberName(barber.getName())
+                .startTime(hold.getStartTime())
+                .endTime(hold.getEndTime())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+
+    // Mesma validação de holdSlot com validade própria, sem lançar exceção: quem chama (lista de espera)
+    // testa vários horários na mesma transação e uma recusa não pode marcá-la para rollback
+    public Optional<SlotHold> tryHoldSlot(Service service, UUID barberId, LocalDateTime startTime, Duration ttl) {
+        LocalDateTime endTime = startTime.plusMinutes(service.getTotalDurationMinutes());
+
+        Optional<String> violation = bookingTimeViolation(startTime, endTime, barberId);
+        if (violation.isPresent()) {
+            log.debug("Slot at {} for barber {} cannot be held: {}", startTime, barberId, violation.get());
+            return Optional.empty();
+        }
+
+        try {
+            validateNoConflicts(barberId, startTime, endTime, null);
+
+            return Optional.of(slotHoldRegistry.hold(barberId, service.getId(), startTime, endTime, ttl));
+        } catch (BusinessException e) {
+            log.debug("Slot at {} for barber {} cannot be held: {}", startTime, barberId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void releaseHold(String holdToken) {
+        log.info("Releasing slot hold: {}", holdToken);
+        slotHoldRegistry.release(holdToken);
+    }
+
     public AppointmentDTO.Response createAdmin(AppointmentDTO.AdminCreateRequest request, String adminEmail) {
         log.info("Creating admin appointment by: {}", adminEmail);
 
@@ -250,6 +338,8 @@ public class AppointmentService {
         UUID barberId = request.getNewBarberId() != null ?
                 request.getNewBarberId() : appointment.getBarber().getId();
 
+        Map<String, Object> beforeState = captureState(appointment);
+
         if (request.getNewBarberId() != null && !request.getNewBarberId().equals(appointment.getBarber().getId())) {
             User newBarber = userRepository.findById(request.getNewBarberId())
                     .orElseThrow(() -> new ResourceNotFoundException("Barbeiro", "id", request.getNewBarberId()));
@@ -263,8 +353,6 @@ public class AppointmentService {
 
         validateNoConflicts(barberId, request.getNewStartTime(), newEndTime, appointment.getId());
 
-        Map<String, Object> beforeState = captureState(appointment);
-
         appointment.setStartTime(request.getNewStartTime());
         appointment.setEndTime(newEndTime);
         appointment = appointmentRepository.save(appointment);
@@ -285,6 +373,41 @@ public class AppointmentService {
         return updateStatus(id, AppointmentStatus.NO_SHOW, adminEmail);
     }
 
+    // Cancela ou move de uma vez os agendamentos ativos de um barbeiro no período (ex.: barbeiro doente).
+    // Um único UPDATE por ação, auditorias em lote e notificações enfileiradas; no MOVE, os agendamentos
+    // que colidirem com a agenda de destino ficam como estão e voltam com o motivo no resultado.
+    public AppointmentDTO.BulkResult bulkUpdate(AppointmentDTO.BulkRequest request, String performedBy) {
+        log.info("Bulk {} of barber {} appointments between {} and {} by: {}", request.getAction(),
+                request.getBarberId(), request.getFrom(), request.getTo(), performedBy);
+
+        if (!request.getTo().isAfter(request.getFrom())) {
+            throw new BusinessException("INVALID_DATE_RANGE", "Fim do período deve ser posterior ao início");
+        }
+
+        List<Appointment> appointments = appointmentRepository.findActiveByBarberIdAndDateRange(
+                request.getBarberId(), request.getFrom(), request.getTo());
+
+        if (appointments.size() > MAX_BULK_APPOINTMENTS) {
+            throw new BusinessException("BULK_TOO_LARGE",
+                    String.format("Operação em lote limitada a %d agendamentos; reduza o período", MAX_BULK_APPOINTMENTS));
+        }
+
+        List<AppointmentDTO.BulkItemResult> items = request.getAction() == AppointmentDTO.BulkAction.CANCEL
+                ? bulkCancel(appointments, request.isNotifyClients(), performedBy)
+                : bulkMove(appointments, request, performedBy);
+
+        int succeeded = (int) items.stream().filter(AppointmentDTO.BulkItemResult::isSuccess).count();
+        log.info("Bulk {} finished: {} of {} appointments changed", request.getAction(), succeeded, items.size());
+
+        return AppointmentDTO.BulkResult.builder()
+                .action(request.getAction())
+                .total(items.size())
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .items(items)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public AppointmentDTO.Response findById(UUID id) {
         Appointment appointment = appointmentRepository.findByIdWithDetails(id)
@@ -304,18 +427,60 @@ public class AppointmentService {
         LocalDateTime start = startDate.atStartOfDay();
         LocalDateTime end = endDate.plusDays(1).atStartOfDay();
 
-        List<Appointment> appointments;
+        List<CalendarEventRow> rows;
         if (barberId != null) {
-            appointments = appointmentRepository.findByBarberIdAndDateRange(barberId, start, end);
+            rows = appointmentRepository.findByBarberIdAndDateRange(barberId, start, end);
         } else {
-            appointments = appointmentRepository.findByDateRange(start, end);
+            rows = appointmentRepository.findByDateRange(start, end);
         }
 
-        return appointments.stream()
+        return rows.stream()
                 .map(appointmentMapper::toCalendarEvent)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public AppointmentDTO.SearchPage search(Set<AppointmentStatus> statuses, UUID barberId, UUID serviceId,
+                                            String clientPhone, String clientName,
+                                            LocalDate startDate, LocalDate endDate, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_SEARCH_PAGE_SIZE);
+        LocalDateTime afterStart = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                afterStart = LocalDateTime.parse(raw.substring(0, separator));
+                afterId = UUID.fromString(raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new BusinessException("INVALID_CURSOR", "Cursor de paginação inválido");
+            }
+        }
+
+        AppointmentSearchCriteria criteria = new AppointmentSearchCriteria(statuses, barberId, serviceId,
+                blankToNull(clientPhone), blankToNull(clientName),
+                startDate != null ? startDate.atStartOfDay() : null,
+                endDate != null ? endDate.plusDays(1).atStartOfDay() : null,
+                afterStart, afterId, pageSize + 1);
+
+        List<CalendarEventRow> rows = appointmentRepository.search(criteria);
+        boolean hasMore = rows.size() > pageSize;
+        List<CalendarEventRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            CalendarEventRow last = page.get(page.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((last.startTime() + "|" + last.id()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return AppointmentDTO.SearchPage.builder()
+                .items(page.stream().map(appointmentMapper::toCalendarEvent).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public List<AppointmentDTO.Response> getUpcoming(UUID barberId) {
         LocalDateTime now = LocalDateTime.now();
@@ -324,6 +489,172 @@ public class AppointmentService {
                 .toList();
     }
 
+    private List<AppointmentDTO.BulkItemResult> bulkCancel(List<Appointment> appointments, boolean notifyClients,
+                                                           String performedBy) {
+        if (appointments.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map<String, Object>> beforeStates = appointments.stream().map(this::captureState).toList();
+        int updated = appointmentRepository.bulkUpdateStatus(
+                appointments.stream().map(Appointment::getId).toList(), AppointmentStatus.CANCELLED_BY_ADMIN);
+        if (updated != appointments.size()) {
+            throw new ConflictException("Agendamentos alterados durante a operação, tente novamente");
+        }
+
+        // O UPDATE em lote limpa o contexto de persistência; as entidades abaixo só refletem o novo estado
+        appointments.forEach(a -> a.setStatus(AppointmentStatus.CANCELLED_BY_ADMIN));
+        createAudits(appointments, "CANCELLED_BY_ADMIN", performedBy, beforeStates);
+
+        if (notifyClients) {
+            notificationService.enqueue(appointments, NotificationType.CANCELLATION);
+        }
+
+        return appointments.stream()
+                .map(a -> bulkItem(a, a.getStartTime(), null))
+                .toList();
+    }
+
+    private List<AppointmentDTO.BulkItemResult> bulkMove(List<Appointment> appointments,
+                                                         AppointmentDTO.BulkRequest request, String performedBy) {
+        UUID targetBarberId = request.getTargetBarberId() != null ? request.getTargetBarberId() : request.getBarberId();
+        int shiftMinutes = request.getShiftMinutes() != null ? request.getShiftMinutes() : 0;
+
+        if (shiftMinutes == 0 && targetBarberId.equals(request.getBarberId())) {
+            throw new BusinessException("NOTHING_TO_MOVE", "Informe o deslocamento em minutos ou outro barbeiro");
+        }
+
+        User targetBarber = userRepository.findById(targetBarberId)
+                .orElseThrow(() -> new ResourceNotFoundException("Barbeiro", "id", targetBarberId));
+
+        if (!targetBarber.isBarber()) {
+            throw new BusinessException("NOT_BARBER", "Usuário não é um barbeiro");
+        }
+
+        if (!targetBarber.isActive()) {
+            throw new BusinessException("BARBER_INACTIVE", "Barbeiro de destino não está ativo");
+        }
+
+        if (appointments.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, String> rejected = resolveMoveConflicts(appointments, targetBarberId,
+                targetBarberId.equals(request.getBarberId()), shiftMinutes);
+
+        List<Appointment> accepted = appointments.stream()
+                .filter(a -> !rejected.containsKey(a.getId()))
+                .toList();
+
+        if (!accepted.isEmpty()) {
+            List<Map<String, Object>> beforeStates = accepted.stream().map(this::captureState).toList();
+            int updated = appointmentRepository.bulkMove(accepted.stream().map(Appointment::getId).toList(),
+                    targetBarberId, shiftMinutes);
+            if (updated != accepted.size()) {
+                throw new ConflictException("Agendamentos alterados durante a operação, tente novamente");
+            }
+
+            accepted.forEach(a -> {
+                a.setBarber(targetBarber);
+                a.setStartTime(a.getStartTime().plusMinutes(shiftMinutes));
+                a.setEndTime(a.getEndTime().plusMinutes(shiftMinutes));
+            });
+            createAudits(accepted, "RESCHEDULED", performedBy, beforeStates);
+
+            if (request.isNotifyClients()) {
+                notificationService.enqueue(accepted, NotificationType.RESCHEDULE);
+            }
+        }
+
+        return appointments.stream()
+                .map(a -> rejected.containsKey(a.getId())
+                        ? AppointmentDTO.BulkItemResult.builder()
+                                .appointmentId(a.getId())
+                                .clientName(a.getClientName())
+                                .startTime(a.getStartTime())
+                                .success(false)
+                                .reason(rejected.get(a.getId()))
+                                .build()
+                        : bulkItem(a, a.getStartTime().minusMinutes(shiftMinutes), a.getStartTime()))
+                .toList();
+    }
+
+    // Verifica os novos horários contra a agenda de destino em memória. Se o destino for o próprio barbeiro,
+    // um agendamento recusado continua ocupando o horário original e pode derrubar outro já aceito,
+    // por isso repete até estabilizar.
+    private Map<UUID, String> resolveMoveConflicts(List<Appointment> appointments, UUID targetBarberId,
+                                                   boolean sameBarber, int shiftMinutes) {
+        LocalDateTime windowStart = appointments.get(0).getStartTime().plusMinutes(Math.min(shiftMinutes, 0));
+        LocalDateTime windowEnd = appointments.stream().map(Appointment::getEndTime)
+                .max(LocalDateTime::compareTo).orElseThrow().plusMinutes(Math.max(shiftMinutes, 0));
+        Set<UUID> moving = appointments.stream().map(Appointment::getId).collect(Collectors.toSet());
+
+        List<BusySlot> fixed = new ArrayList<>();
+        appointmentRepository.findOverlappingAppointments(targetBarberId, windowStart, windowEnd).stream()
+                .filter(a -> !moving.contains(a.getId()))
+                .forEach(a -> fixed.add(new BusySlot(a.getStartTime(), a.getEndTime(),
+                        "Já existe um agendamento neste horário")));
+        occurrenceCache.expand(timeBlockRepository.findOverlappingBlocks(targetBarberId, windowStart, windowEnd),
+                        windowStart, windowEnd)
+                .forEach(b -> fixed.add(new BusySlot(b.getStartTime(), b.getEndTime(),
+                        "Horário bloqueado pelo barbeiro")));
+        slotHoldRegistry.findActive(targetBarberId, windowStart, windowEnd)
+                .forEach(h -> fixed.add(new BusySlot(h.getStartTime(), h.getEndTime(),
+                        "Horário reservado temporariamente por outro cliente")));
+        shopClosureCalendar.overlapping(windowStart, windowEnd)
+                .forEach(c -> fixed.add(new BusySlot(c.start(), c.end(), "A barbearia estará fechada neste horário")));
+
+        // Expediente, antecedência, janela de agendamento e fechamentos valem para cada novo horário
+        Map<UUID, String> rejected = new HashMap<>();
+        for (Appointment appointment : appointments) {
+            bookingTimeViolation(appointment.getStartTime().plusMinutes(shiftMinutes),
+                    appointment.getEndTime().plusMinutes(shiftMinutes), targetBarberId)
+                    .ifPresent(reason -> rejected.put(appointment.getId(), reason));
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            List<BusySlot> busy = new ArrayList<>(fixed);
+            if (sameBarber) {
+                appointments.stream()
+                        .filter(a -> rejected.containsKey(a.getId()))
+                        .forEach(a -> busy.add(new BusySlot(a.getStartTime(), a.getEndTime(),
+                                "Conflito com agendamento do lote que não pôde ser movido")));
+            }
+
+            for (Appointment appointment : appointments) {
+                if (rejected.containsKey(appointment.getId())) {
+                    continue;
+                }
+                LocalDateTime start = appointment.getStartTime().plusMinutes(shiftMinutes);
+                LocalDateTime end = appointment.getEndTime().plusMinutes(shiftMinutes);
+
+                Optional<BusySlot> conflict = busy.stream().filter(slot -> slot.overlaps(start, end)).findFirst();
+                if (conflict.isPresent()) {
+                    rejected.put(appointment.getId(), conflict.get().reason());
+                    changed = true;
+                } else {
+                    busy.add(new BusySlot(start, end, "Conflito com outro agendamento do lote"));
+                }
+            }
+        }
+        return rejected;
+    }
+
+    private AppointmentDTO.BulkItemResult bulkItem(Appointment appointment, LocalDateTime originalStart,
+                                                   LocalDateTime newStart) {
+        return AppointmentDTO.BulkItemResult.builder()
+                .appointmentId(appointment.getId())
+                .clientName(appointment.getClientName())
+                .startTime(originalStart)
+                .newStartTime(newStart)
+                .newEndTime(newStart != null ? appointment.getEndTime() : null)
+                .newBarberId(newStart != null ? appointment.getBarber().getId() : null)
+                .success(true)
+                .build();
+    }
+
     private AppointmentDTO.Response updateStatus(UUID id, AppointmentStatus status, String performedBy) {
         Appointment appointment = appointmentRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Agendamento", "id", id));
@@ -337,7 +668,27 @@ public class AppointmentService {
         return appointmentMapper.toResponse(appointment);
     }
 
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
     private void validateBookingTime(LocalDateTime startTime, UUID barberId, Service service) {
+        validateBookingTime(startTime, startTime.plusMinutes(service.getTotalDurationMinutes()), barberId);
+    }
+
+    // Mesmas regras sem exceção, para validar vários horários sem interromper a operação: devolve o motivo da recusa
+    private Optional<String> bookingTimeViolation(LocalDateTime startTime, LocalDateTime endTime, UUID barberId) {
+        try {
+            validateBookingTime(startTime, endTime, barberId);
+            return Optional.empty();
+        } catch (BusinessException e) {
+            return Optional.of(e.getMessage());
+        }
+    }
+
+    private void validateBookingTime(LocalDateTime startTime, LocalDateTime endTime, UUID barberId) {
+        validateShopOpen(startTime, endTime);
+
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime minTime = now.plusHours(minAdvanceHours);
         LocalDate maxDate = now.toLocalDate().plusDays(maxDaysAhead);
@@ -361,15 +712,47 @@ public class AppointmentService {
             throw new BusinessException("NOT_WORKING_DAY", "Barbeiro não trabalha neste dia");
         }
 
-        LocalDateTime endTime = startTime.plusMinutes(service.getTotalDurationMinutes());
-
-        if (startTime.toLocalTime().isBefore(workingHours.getStartTime()) ||
-            endTime.toLocalTime().isAfter(workingHours.getEndTime())) {
+        if (!workingHours.covers(startTime.toLocalTime(), endTime.toLocalTime())) {
             throw new BusinessException("OUTSIDE_WORKING_HOURS", "Horário fora do expediente do barbeiro");
         }
     }
 
+    private void validateHold(SlotHold hold, AppointmentDTO.PublicCreateRequest request, Service service) {
+        boolean matches = hold.getServiceId().equals(service.getId())
+                && hold.getStartTime().equals(request.getStartTime())
+                && (request.getBarberId() == null || hold.getBarberId().equals(request.getBarberId()));
+
+        if (!matches) {
+            throw new BusinessException("HOLD_MISMATCH", "Reserva temporária não corresponde ao horário solicitado");
+        }
+    }
+
+    // Consulta só o calendário em memória: um horário em fechamento é recusado antes de qualquer consulta por barbeiro
+    private void validateShopOpen(LocalDateTime startTime, LocalDateTime endTime) {
+        if (shopClosureCalendar.isClosed(startTime, endTime)) {
+            throw new BusinessException("SHOP_CLOSED", "A barbearia estará fechada neste horário");
+        }
+    }
+
+    private User resolveBarber(UUID barberId, Service service, LocalDateTime startTime) {
+        if (barberId != null) {
+            return userRepository.findById(barberId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Barbeiro", "id", barberId));
+        }
+
+        List<User> barbers = userRepository.findAllActiveBarbers();
+        if (barbers.isEmpty()) {
+            throw new BusinessException("NO_BARBER", "Não há barbeiros disponíveis");
+        }
+        return findAvailableBarber(barbers, service, startTime);
+    }
+
     private void validateNoConflicts(UUID barberId, LocalDateTime start, LocalDateTime end, UUID excludeId) {
+        validateNoConflicts(barberId, start, end, excludeId, null);
+    }
+
+    private void validateNoConflicts(UUID barberId, LocalDateTime start, LocalDateTime end, UUID excludeId,
+                                     String ownHoldToken) {
         List<Appointment> overlapping;
         if (excludeId != null) {
             overlapping = appointmentRepository.findOverlappingAppointmentsExcluding(barberId, start, end, excludeId);
@@ -381,22 +764,41 @@ public class AppointmentService {
             throw new ConflictException("Já existe um agendamento neste horário");
         }
 
-        List<TimeBlock> blocks = timeBlockRepository.findOverlappingBlocks(barberId, start, end);
+        List<TimeBlock> blocks = occurrenceCache.expand(
+                timeBlockRepository.findOverlappingBlocks(barberId, start, end), start, end);
         if (!blocks.isEmpty()) {
             throw new ConflictException("Horário bloqueado pelo barbeiro");
         }
+
+        if (slotHoldRegistry.hasOverlappingHold(barberId, start, end, ownHoldToken)) {
+            throw new ConflictException("Horário reservado temporariamente por outro cliente");
+        }
     }
 
     private User findAvailableBarber(List<User> barbers, Service service, LocalDateTime startTime) {
         LocalDateTime endTime = startTime.plusMinutes(service.getTotalDurationMinutes());
+        validateShopOpen(startTime, endTime);
+
+        DayOfWeekEnum dayOfWeek = DayOfWeekEnum.fromJavaDayOfWeek(startTime.getDayOfWeek());
+        List<UUID> barberIds = barbers.stream().map(User::getId).toList();
+
+        Map<UUID, List<WorkingHours>> workingHours =
+                workingHoursRepository.findGroupedByBarber(barberIds, List.of(dayOfWeek));
+        Map<UUID, List<Appointment>> appointments =
+                appointmentRepository.findOverlappingGroupedByBarber(barberIds, startTime, endTime);
+        Map<UUID, List<TimeBlock>> blocks =
+                occurrenceCache.expand(timeBlockRepository.findOverlappingGroupedByBarber(barberIds, startTime, endTime),
+                        startTime, endTime);
 
         for (User barber : barbers) {
-            try {
-                validateBookingTime(startTime, barber.getId(), service);
-                validateNoConflicts(barber.getId(), startTime, endTime, null);
+            boolean worksThen = workingHours.getOrDefault(barber.getId(), List.of()).stream()
+                    .anyMatch(wh -> wh.covers(startTime.toLocalTime(), endTime.toLocalTime()));
+
+            if (worksThen
+                    && !appointments.containsKey(barber.getId())
+                    && !blocks.containsKey(barber.getId())
+                    && !slotHoldRegistry.hasOverlappingHold(barber.getId(), startTime, endTime, null)) {
                 return barber;
-            } catch (BusinessException e) {
-                // barber not available, try next
             }
         }
 
@@ -415,7 +817,26 @@ public class AppointmentService {
 
     private void createAudit(Appointment appointment, String action, String performedBy,
                              Map<String, Object> beforeState) {
-        AppointmentAudit audit = AppointmentAudit.builder()
+        auditRepository.save(buildAudit(appointment, action, performedBy, beforeState));
+        publishChange(appointment, action, beforeState);
+    }
+
+    private void createAudits(List<Appointment> appointments, String action, String performedBy,
+                              List<Map<String, Object>> beforeStates) {
+        List<AppointmentAudit> audits = new ArrayList<>(appointments.size());
+        for (int i = 0; i < appointments.size(); i++) {
+            audits.add(buildAudit(appointments.get(i), action, performedBy, beforeStates.get(i)));
+        }
+        auditRepository.saveAll(audits);
+
+        for (int i = 0; i < appointments.size(); i++) {
+            publishChange(appointments.get(i), action, beforeStates.get(i));
+        }
+    }
+
+    private AppointmentAudit buildAudit(Appointment appointment, String action, String performedBy,
+                                        Map<String, Object> beforeState) {
+        return AppointmentAudit.builder()
                 .appointment(appointment)
                 .action(action)
                 .performedBy(performedBy)
@@ -423,7 +844,34 @@ public class AppointmentService {
                 .beforeState(beforeState)
                 .afterState(captureState(appointment))
                 .build();
+    }
 
-        auditRepository.save(audit);
+    private void publishChange(Appointment appointment, String action, Map<String, Object> beforeState) {
+        publishScheduleChange(appointment, beforeState);
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(action, appointmentMapper.toCalendarEvent(appointment)));
+    }
+
+    private void publishScheduleChange(Appointment appointment, Map<String, Object> beforeState) {
+        UUID barberId = appointment.getBarber().getId();
+        eventPublisher.publishEvent(appointment.isActive()
+                ? ScheduleChangedEvent.occupied(barberId, appointment.getStartTime(), appointment.getEndTime())
+                : ScheduleChangedEvent.released(barberId, appointment.getStartTime(), appointment.getEndTime()));
+
+        if (beforeState != null) {
+            UUID previousBarberId = UUID.fromString((String) beforeState.get("barberId"));
+            LocalDateTime previousStart = LocalDateTime.parse((String) beforeState.get("startTime"));
+            LocalDateTime previousEnd = LocalDateTime.parse((String) beforeState.get("endTime"));
+
+            if (!previousBarberId.equals(barberId) || !previousStart.equals(appointment.getStartTime())) {
+                eventPublisher.publishEvent(ScheduleChangedEvent.released(previousBarberId, previousStart, previousEnd));
+            }
+        }
+    }
+
+    private record BusySlot(LocalDateTime start, LocalDateTime end, String reason) {
+
+        boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
     }
 }
@@ -3,6 +3,8 @@ package com.barbearia.application.service;
 import com.barbearia.application.dto.AuthDTO;
 import com.barbearia.application.exception.UnauthorizedException;
 import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.UserCredential;
+import com.barbearia.domain.repository.UserCredentialRepository;
 import com.barbearia.domain.repository.UserRepository;
 import com.barbearia.infrastructure.security.JwtService;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserCredentialRepository userCredentialRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
 
@@ -35,7 +38,10 @@ public class AuthService {
             throw new UnauthorizedException("Usuário desativado");
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        String passwordHash = userCredentialRepository.findById(user.getId())
+                .map(UserCredential::getPassword)
+                .orElseThrow(() -> new UnauthorizedException("Credenciais inválidas"));
+        if (!passwordEncoder.matches(request.getPassword(), passwordHash)) {
             log.warn("Invalid password for user: {}", request.getEmail());
             throw new UnauthorizedException("Credenciais inválidas");
         }
@@ -4,20 +4,33 @@ import com.barbearia.application.dto.AvailabilityDTO;
 import com.barbearia.application.exception.ResourceNotFoundException;
 import com.barbearia.domain.entity.Appointment;
 import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.SlotHold;
 import com.barbearia.domain.entity.TimeBlock;
 import com.barbearia.domain.entity.User;
 import com.barbearia.domain.entity.WorkingHours;
 import com.barbearia.domain.enums.DayOfWeekEnum;
 import com.barbearia.domain.repository.*;
+import com.barbearia.infrastructure.cache.ShopClosureCalendar;
+import com.barbearia.infrastructure.cache.TimeBlockOccurrenceCache;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
@@ -25,11 +38,23 @@ import java.util.*;
 @Transactional(readOnly = true)
 public class AvailabilityService {
 
+    private static final int MAX_NEXT_SLOTS = 20;
+    private static final int SCAN_CHUNK_DAYS = 7;
+    public static final int MAX_RANGE_DAYS = 14;
+
+    private static final Comparator<AvailabilityDTO.TimeSlot> SLOT_ORDER =
+            Comparator.comparing(AvailabilityDTO.TimeSlot::getDateTime)
+                    .thenComparing(AvailabilityDTO.TimeSlot::getBarberName);
+
     private final ServiceRepository serviceRepository;
     private final UserRepository userRepository;
     private final AppointmentRepository appointmentRepository;
     private final TimeBlockRepository timeBlockRepository;
+    private final TimeBlockOccurrenceCache occurrenceCache;
     private final WorkingHoursRepository workingHoursRepository;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final ShopClosureCalendar shopClosureCalendar;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${app.booking.min-advance-hours:1}")
     private int minAdvanceHours;
@@ -40,6 +65,30 @@ public class AvailabilityService {
     @Value("${app.booking.slot-duration-minutes:15}")
     private int slotDurationMinutes;
 
+    @Value("${app.availability.parallel.enabled:false}")
+    private boolean parallelEnabled;
+
+    // Cada tarefa usa uma conexão própria: manter abaixo do tamanho do pool
+    @Value("${app.availability.parallel.max-concurrency:4}")
+    private int maxConcurrency;
+
+    private ExecutorService slotExecutor;
+    private Semaphore concurrencyLimit;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void initParallelism() {
+        slotExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        concurrencyLimit = new Semaphore(maxConcurrency);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdownParallelism() {
+        slotExecutor.shutdown();
+    }
+
     public List<AvailabilityDTO.TimeSlot> getAvailableSlots(UUID serviceId, UUID barberId, LocalDate date) {
         log.debug("Getting available slots for service: {}, barber: {}, date: {}", serviceId, barberId, date);
 
@@ -50,37 +99,154 @@ public class AvailabilityService {
         LocalDateTime minDateTime = now.plusHours(minAdvanceHours);
         LocalDate maxDate = now.toLocalDate().plusDays(maxDaysAhead);
 
-        if (date.isBefore(now.toLocalDate()) || date.isAfter(maxDate)) {
+        if (date.isBefore(now.toLocalDate()) || date.isAfter(maxDate) || shopClosureCalendar.isClosedAllDay(date)) {
             return Collections.emptyList();
         }
 
-        List<User> barbers;
-        if (barberId != null) {
-            User barber = userRepository.findById(barberId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Barbeiro", "id", barberId));
-            barbers = List.of(barber);
-        } else {
-            barbers = userRepository.findAllActiveBarbers();
+        List<User> barbers = resolveBarbers(barberId);
+
+        BarberSchedules schedules = loadSchedules(barbers, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+
+        return buildDaySlots(barbers, service, date, minDateTime, schedules);
+    }
+
+    public List<AvailabilityDTO.DayAvailability> getRangeAvailability(UUID serviceId, UUID barberId,
+                                                                      LocalDate startDate, int days) {
+        log.debug("Getting {} days of availability for service: {}, barber: {}, from: {}",
+                days, serviceId, barberId, startDate);
+
+        Service service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", serviceId));
+
+        DateRange range = clampRange(startDate, days);
+        if (range == null) {
+            return Collections.emptyList();
         }
 
-        List<AvailabilityDTO.TimeSlot> allSlots = new ArrayList<>();
+        return getDays(service, resolveBarbers(barberId), range.start(), range.end(), true);
+    }
 
-        for (User barber : barbers) {
-            List<AvailabilityDTO.TimeSlot> barberSlots = getSlotsForBarber(
-                    barber, service, date, minDateTime
-            );
-            allSlots.addAll(barberSlots);
+    public List<AvailabilityDTO.CompactDay> getCompactAvailability(UUID serviceId, UUID barberId,
+                                                                   LocalDate startDate, int days) {
+        Service service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", serviceId));
+
+        DateRange range = clampRange(startDate, days);
+        if (range == null) {
+            return Collections.emptyList();
         }
 
-        allSlots.sort(Comparator.comparing(AvailabilityDTO.TimeSlot::getDateTime)
-                .thenComparing(AvailabilityDTO.TimeSlot::getBarberName));
+        return getCompactDays(service, resolveBarbers(barberId), range.start(), range.end());
+    }
 
-        return allSlots;
+    // Um único dia com os mesmos limites de getAvailableSlots: fora da janela o dia vem sem barbeiros,
+    // em vez de trocar a data pedida por hoje como na consulta de intervalo
+    public List<AvailabilityDTO.CompactDay> getCompactDay(UUID serviceId, UUID barberId, LocalDate date) {
+        Service service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", serviceId));
+
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today) || date.isAfter(today.plusDays(maxDaysAhead))) {
+            return List.of(AvailabilityDTO.CompactDay.builder()
+                    .date(date)
+                    .stepMinutes(slotDurationMinutes)
+                    .barbers(List.of())
+                    .build());
+        }
+
+        return getCompactDays(service, resolveBarbers(barberId), date, date);
+    }
+
+    private List<AvailabilityDTO.CompactDay> getCompactDays(Service service, List<User> barbers,
+                                                            LocalDate startDate, LocalDate endDate) {
+        LocalDateTime minDateTime = LocalDateTime.now().plusHours(minAdvanceHours);
+        BarberSchedules schedules = loadSchedules(barbers, startDate.atStartOfDay(),
+                endDate.plusDays(1).atStartOfDay());
+        Base64.Encoder encoder = Base64.getEncoder();
+
+        List<AvailabilityDTO.CompactDay> result = new ArrayList<>();
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            List<AvailabilityDTO.CompactBarber> barberDays = new ArrayList<>(barbers.size());
+
+            for (User barber : barbers) {
+                List<IntervalGrid> grids = computeBarberDay(barber, service, date, minDateTime, schedules);
+                if (grids.isEmpty()) {
+                    continue;
+                }
+                List<AvailabilityDTO.CompactInterval> intervals = new ArrayList<>(grids.size());
+                for (IntervalGrid grid : grids) {
+                    // bit i do bitmap = slot i (ordem little-endian dentro de cada byte)
+                    byte[] bitmap = Arrays.copyOf(grid.available().toByteArray(), (grid.slotCount() + 7) / 8);
+                    intervals.add(AvailabilityDTO.CompactInterval.builder()
+                            .start(grid.firstSlot().toLocalTime())
+                            .slots(grid.slotCount())
+                            .bitmap(encoder.encodeToString(bitmap))
+                            .build());
+                }
+                barberDays.add(AvailabilityDTO.CompactBarber.builder()
+                        .barberId(barber.getId())
+                        .barberName(barber.getName())
+                        .intervals(intervals)
+                        .build());
+            }
+
+            barberDays.sort(Comparator.comparing(AvailabilityDTO.CompactBarber::getBarberName));
+            result.add(AvailabilityDTO.CompactDay.builder()
+                    .date(date)
+                    .stepMinutes(slotDurationMinutes)
+                    .barbers(barberDays)
+                    .build());
+        }
+
+        return result;
+    }
+
+    public List<AvailabilityDTO.TimeSlot> getNextAvailableSlots(UUID serviceId, UUID barberId, int count) {
+        log.debug("Getting next {} available slots for service: {}, barber: {}", count, serviceId, barberId);
+
+        Service service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", serviceId));
+
+        List<User> barbers = resolveBarbers(barberId);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime minDateTime = now.plusHours(minAdvanceHours);
+        LocalDate maxDate = now.toLocalDate().plusDays(maxDaysAhead);
+        int limit = Math.min(Math.max(count, 1), MAX_NEXT_SLOTS);
+
+        List<AvailabilityDTO.TimeSlot> found = new ArrayList<>(limit);
+
+        // Carrega a agenda em blocos de dias e para assim que encontrar horários suficientes
+        for (LocalDate chunkStart = minDateTime.toLocalDate();
+             !chunkStart.isAfter(maxDate) && found.size() < limit;
+             chunkStart = chunkStart.plusDays(SCAN_CHUNK_DAYS)) {
+
+            LocalDate chunkEnd = chunkStart.plusDays(SCAN_CHUNK_DAYS - 1L);
+            if (chunkEnd.isAfter(maxDate)) {
+                chunkEnd = maxDate;
+            }
+
+            BarberSchedules schedules = loadSchedules(barbers,
+                    chunkStart.atStartOfDay(), chunkEnd.plusDays(1).atStartOfDay());
+
+            for (LocalDate date = chunkStart; !date.isAfter(chunkEnd) && found.size() < limit; date = date.plusDays(1)) {
+                buildDaySlots(barbers, service, date, minDateTime, schedules).stream()
+                        .filter(AvailabilityDTO.TimeSlot::isAvailable)
+                        .limit(limit - found.size())
+                        .forEach(found::add);
+            }
+        }
+
+        return found;
     }
 
     public List<AvailabilityDTO.DayAvailability> getMonthAvailability(UUID serviceId, UUID barberId, int year, int month) {
         log.debug("Getting month availability for service: {}, year: {}, month: {}", serviceId, year, month);
 
+        Service service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", serviceId));
+
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.plusMonths(1).minusDays(1);
         LocalDate today = LocalDate.now();
@@ -92,74 +258,208 @@ public class AvailabilityService {
         if (endDate.isAfter(maxDate)) {
             endDate = maxDate;
         }
+        if (startDate.isAfter(endDate)) {
+            return Collections.emptyList();
+        }
+
+        return getDays(service, resolveBarbers(barberId), startDate, endDate, false);
+    }
+
+    // Carrega a agenda do intervalo inteiro uma vez e gera os slots de todos os dias e barbeiros
+    private List<AvailabilityDTO.DayAvailability> getDays(Service service, List<User> barbers, LocalDate startDate,
+                                                          LocalDate endDate, boolean includeSlots) {
+        LocalDateTime minDateTime = LocalDateTime.now().plusHours(minAdvanceHours);
+        BarberSchedules schedules = loadSchedules(barbers, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
 
         List<AvailabilityDTO.DayAvailability> days = new ArrayList<>();
 
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            List<AvailabilityDTO.TimeSlot> slots = getAvailableSlots(serviceId, barberId, date);
+            List<AvailabilityDTO.TimeSlot> slots = buildDaySlots(barbers, service, date, minDateTime, schedules);
             boolean hasAvailable = slots.stream().anyMatch(AvailabilityDTO.TimeSlot::isAvailable);
 
             days.add(AvailabilityDTO.DayAvailability.builder()
                     .date(date)
                     .hasAvailableSlots(hasAvailable)
-                    .slots(null)
+                    .slots(includeSlots ? slots : null)
                     .build());
         }
 
         return days;
     }
 
-    private List<AvailabilityDTO.TimeSlot> getSlotsForBarber(User barber, Service service,
-                                                              LocalDate date, LocalDateTime minDateTime) {
+    private List<AvailabilityDTO.TimeSlot> buildDaySlots(List<User> barbers, Service service, LocalDate date,
+                                                         LocalDateTime minDateTime, BarberSchedules schedules) {
+        List<AvailabilityDTO.TimeSlot> allSlots = new ArrayList<>();
+
+        for (User barber : barbers) {
+            allSlots.addAll(getSlotsForBarber(barber, service, date, minDateTime, schedules));
+        }
+
+        allSlots.sort(SLOT_ORDER);
+        return allSlots;
+    }
+
+    private List<User> resolveBarbers(UUID barberId) {
+        if (barberId != null) {
+            User barber = userRepository.findById(barberId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Barbeiro", "id", barberId));
+            return List.of(barber);
+        }
+        return userRepository.findAllActiveBarbers();
+    }
+
+    // Uma consulta por tipo de dado para todos os barbeiros, independente do tamanho da equipe
+    private BarberSchedules loadSchedules(List<User> barbers, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        // Dias em que a barbearia está fechada por inteiro nas pontas do intervalo não precisam de consulta
+        LocalDate firstOpen = rangeStart.toLocalDate();
+        LocalDate lastOpen = rangeEnd.minusNanos(1).toLocalDate();
+        while (!firstOpen.isAfter(lastOpen) && shopClosureCalendar.isClosedAllDay(firstOpen)) {
+            firstOpen = firstOpen.plusDays(1);
+        }
+        while (lastOpen.isAfter(firstOpen) && shopClosureCalendar.isClosedAllDay(lastOpen)) {
+            lastOpen = lastOpen.minusDays(1);
+        }
+        if (firstOpen.isAfter(lastOpen)) {
+            return new BarberSchedules(Map.of(), Map.of(), Map.of());
+        }
+
+        LocalDateTime from = firstOpen.atStartOfDay().isAfter(rangeStart) ? firstOpen.atStartOfDay() : rangeStart;
+        LocalDateTime to = lastOpen.plusDays(1).atStartOfDay().isBefore(rangeEnd)
+                ? lastOpen.plusDays(1).atStartOfDay()
+                : rangeEnd;
+
+        Set<UUID> barberIds = new LinkedHashSet<>();
+        barbers.forEach(barber -> barberIds.add(barber.getId()));
+
+        Set<DayOfWeekEnum> daysOfWeek = EnumSet.noneOf(DayOfWeekEnum.class);
+        for (LocalDate date = from.toLocalDate(); date.isBefore(to.toLocalDate()) && daysOfWeek.size() < 7;
+             date = date.plusDays(1)) {
+            daysOfWeek.add(DayOfWeekEnum.fromJavaDayOfWeek(date.getDayOfWeek()));
+        }
+
+        if (!parallelEnabled) {
+            return new BarberSchedules(
+                    workingHoursRepository.findGroupedByBarber(barberIds, daysOfWeek),
+                    appointmentRepository.findOverlappingGroupedByBarber(barberIds, from, to),
+                    occurrenceCache.expand(timeBlockRepository.findOverlappingGroupedByBarber(barberIds, from, to),
+                            from, to));
+        }
+
+        Future<Map<UUID, List<WorkingHours>>> workingHours =
+                submitReadOnly(() -> workingHoursRepository.findGroupedByBarber(barberIds, daysOfWeek));
+        Future<Map<UUID, List<Appointment>>> appointments =
+                submitReadOnly(() -> appointmentRepository.findOverlappingGroupedByBarber(barberIds, from, to));
+        Future<Map<UUID, List<TimeBlock>>> blocks =
+                submitReadOnly(() -> timeBlockRepository.findOverlappingGroupedByBarber(barberIds, from, to));
+
+        List<Future<?>> futures = List.of(workingHours, appointments, blocks);
+        try {
+            return new BarberSchedules(workingHours.get(), appointments.get(),
+                    occurrenceCache.expand(blocks.get(), from, to));
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> Future<T> submitReadOnly(Supplier<T> query) {
+        return slotExecutor.submit(() -> {
+            concurrencyLimit.acquire();
+            try {
+                // A sessão da requisição não é compartilhada entre threads: cada consulta usa sua transação
+                return readOnlyTransaction.execute(status -> query.get());
+            } finally {
+                concurrencyLimit.release();
+            }
+        });
+    }
+
+    private List<AvailabilityDTO.TimeSlot> getSlotsForBarber(User barber, Service service, LocalDate date,
+                                                              LocalDateTime minDateTime, BarberSchedules schedules) {
+        List<AvailabilityDTO.TimeSlot> slots = new ArrayList<>();
+
+        for (IntervalGrid grid : computeBarberDay(barber, service, date, minDateTime, schedules)) {
+            for (int i = 0; i < grid.slotCount(); i++) {
+                LocalDateTime slotTime = grid.firstSlot().plusMinutes((long) i * slotDurationMinutes);
+                slots.add(AvailabilityDTO.TimeSlot.builder()
+                        .dateTime(slotTime)
+                        .time(slotTime.toLocalTime())
+                        .available(grid.available().get(i))
+                        .barberId(barber.getId())
+                        .barberName(barber.getName())
+                        .build());
+            }
+        }
+
+        return slots;
+    }
+
+    // Uma grade por intervalo do expediente, ancorada no início do próprio intervalo
+    private List<IntervalGrid> computeBarberDay(User barber, Service service, LocalDate date,
+                                       LocalDateTime minDateTime, BarberSchedules schedules) {
+        if (shopClosureCalendar.isClosedAllDay(date)) {
+            return Collections.emptyList();
+        }
+
         DayOfWeekEnum dayOfWeek = DayOfWeekEnum.fromJavaDayOfWeek(date.getDayOfWeek());
 
-        Optional<WorkingHours> workingHoursOpt = workingHoursRepository
-                .findByBarberIdAndDayOfWeek(barber.getId(), dayOfWeek);
+        Optional<WorkingHours> workingHoursOpt = schedules.workingHours(barber.getId(), dayOfWeek);
 
         if (workingHoursOpt.isEmpty() || !workingHoursOpt.get().isWorking()) {
             return Collections.emptyList();
         }
 
         WorkingHours workingHours = workingHoursOpt.get();
-        LocalTime startTime = workingHours.getStartTime();
-        LocalTime endTime = workingHours.getEndTime();
+        LocalDateTime dayStart = date.atTime(workingHours.getStartTime());
+        LocalDateTime dayEnd = date.atTime(workingHours.getEndTime());
 
-        LocalDateTime dayStart = date.atTime(startTime);
-        LocalDateTime dayEnd = date.atTime(endTime);
+        List<Appointment> appointments = schedules.appointments(barber.getId());
+        List<TimeBlock> blocks = schedules.blocks(barber.getId());
 
-        List<Appointment> appointments = appointmentRepository.findOverlappingAppointments(
-                barber.getId(), dayStart, dayEnd
-        );
-
-        List<TimeBlock> blocks = timeBlockRepository.findOverlappingBlocks(
-                barber.getId(), dayStart, dayEnd
-        );
+        List<SlotHold> holds = slotHoldRegistry.findActive(barber.getId(), dayStart, dayEnd);
+        List<ShopClosureCalendar.Interval> closures = shopClosureCalendar.overlapping(dayStart, dayEnd);
 
         int serviceDuration = service.getTotalDurationMinutes();
-        List<AvailabilityDTO.TimeSlot> slots = new ArrayList<>();
+        List<IntervalGrid> grids = new ArrayList<>();
 
-        LocalDateTime slotTime = dayStart;
-        while (slotTime.plusMinutes(serviceDuration).isBefore(dayEnd) ||
-               slotTime.plusMinutes(serviceDuration).equals(dayEnd)) {
+        for (WorkingHours.Interval interval : workingHours.getIntervals()) {
+            LocalDateTime intervalStart = date.atTime(interval.start());
+            LocalDateTime intervalEnd = date.atTime(interval.end());
+            BitSet available = new BitSet();
+            int slotCount = 0;
 
-            LocalDateTime slotEnd = slotTime.plusMinutes(serviceDuration);
+            LocalDateTime slotTime = intervalStart;
+            while (!slotTime.plusMinutes(serviceDuration).isAfter(intervalEnd)) {
 
-            boolean isAvailable = !slotTime.isBefore(minDateTime)
-                    && !hasOverlap(slotTime, slotEnd, appointments)
-                    && !hasBlockOverlap(slotTime, slotEnd, blocks);
+                LocalDateTime slotEnd = slotTime.plusMinutes(serviceDuration);
 
-            slots.add(AvailabilityDTO.TimeSlot.builder()
-                    .dateTime(slotTime)
-                    .time(slotTime.toLocalTime())
-                    .available(isAvailable)
-                    .barberId(barber.getId())
-                    .barberName(barber.getName())
-                    .build());
+                boolean isAvailable = !slotTime.isBefore(minDateTime)
+                        && !hasOverlap(slotTime, slotEnd, appointments)
+                        && !hasBlockOverlap(slotTime, slotEnd, blocks)
+                        && !hasHoldOverlap(slotTime, slotEnd, holds)
+                        && !hasClosureOverlap(slotTime, slotEnd, closures);
+
+                if (isAvailable) {
+                    available.set(slotCount);
+                }
+                slotCount++;
 
-            slotTime = slotTime.plusMinutes(slotDurationMinutes);
+                slotTime = slotTime.plusMinutes(slotDurationMinutes);
+            }
+
+            if (slotCount > 0) {
+                grids.add(new IntervalGrid(intervalStart, slotCount, available));
+            }
         }
 
-        return slots;
+        return grids;
     }
 
     private boolean hasOverlap(LocalDateTime start, LocalDateTime end, List<Appointment> appointments) {
@@ -169,4 +469,50 @@ public class AvailabilityService {
     private boolean hasBlockOverlap(LocalDateTime start, LocalDateTime end, List<TimeBlock> blocks) {
         return blocks.stream().anyMatch(block -> block.overlaps(start, end));
     }
+
+    // Começa no máximo hoje e conta os dias a partir daí, sem passar da janela de agendamento; nulo se vazio
+    private DateRange clampRange(LocalDate startDate, int days) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = startDate.isBefore(today) ? today : startDate;
+        LocalDate end = start.plusDays(Math.min(Math.max(days, 1), MAX_RANGE_DAYS) - 1L);
+        LocalDate maxDate = today.plusDays(maxDaysAhead);
+        if (end.isAfter(maxDate)) {
+            end = maxDate;
+        }
+        return start.isAfter(end) ? null : new DateRange(start, end);
+    }
+
+    private boolean hasHoldOverlap(LocalDateTime start, LocalDateTime end, List<SlotHold> holds) {
+        return holds.stream().anyMatch(hold -> hold.overlaps(start, end));
+    }
+
+    private boolean hasClosureOverlap(LocalDateTime start, LocalDateTime end,
+                                      List<ShopClosureCalendar.Interval> closures) {
+        return closures.stream().anyMatch(closure -> closure.overlaps(start, end));
+    }
+
+    private record BarberSchedules(Map<UUID, List<WorkingHours>> workingHours,
+                                   Map<UUID, List<Appointment>> appointments,
+                                   Map<UUID, List<TimeBlock>> blocks) {
+
+        Optional<WorkingHours> workingHours(UUID barberId, DayOfWeekEnum dayOfWeek) {
+            return workingHours.getOrDefault(barberId, List.of()).stream()
+                    .filter(wh -> wh.getDayOfWeek() == dayOfWeek)
+                    .findFirst();
+        }
+
+        List<Appointment> appointments(UUID barberId) {
+            return appointments.getOrDefault(barberId, List.of());
+        }
+
+        List<TimeBlock> blocks(UUID barberId) {
+            return blocks.getOrDefault(barberId, List.of());
+        }
+    }
+
+    private record IntervalGrid(LocalDateTime firstSlot, int slotCount, BitSet available) {
+    }
+
+    private record DateRange(LocalDate start, LocalDate end) {
+    }
 }
@@ -0,0 +1,636 @@
+package com.barbearia.application.service;
+
+import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.event.AppointmentChangedEvent;
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.exception.ConflictException;
+import com.barbearia.application.exception.ResourceNotFoundException;
+import com.barbearia.domain.entity.Appointment;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.SlotHold;
+import com.barbearia.domain.entity.TimeBlock;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.enums.AppointmentStatus;
+import com.barbearia.domain.repository.AppointmentRepository;
+import com.barbearia.domain.repository.ServiceRepository;
+import com.barbearia.domain.repository.TimeBlockRepository;
+import com.barbearia.domain.repository.UserRepository;
+import com.barbearia.infrastructure.cache.ShopClosureCalendar;
+import com.barbearia.infrastructure.cache.TimeBlockOccurrenceCache;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Modo opcional em que cada barbeiro tem uma fila própria (single writer): os comandos de escrita
+// são validados contra a agenda em memória (agendamentos, bloqueios e fechamentos) e só então persistidos
+// pelo AppointmentService, que continua validando no banco. A fila serializa só os comandos desta instância;
+// escritas de outras instâncias e dos caminhos administrativos chegam pelos eventos de mudança depois do commit.
+// Com o modo desligado, os comandos são repassados diretamente ao AppointmentService.
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingEngine {
+
+    private static final long MAX_APPOINTMENT_HOURS = 24;
+    // Recusas que só dizem respeito ao barbeiro tentado; qualquer outro erro encerra a busca
+    private static final Set<String> BARBER_UNAVAILABLE_CODES =
+            Set.of("NO_AVAILABILITY", "NOT_WORKING_DAY", "OUTSIDE_WORKING_HOURS");
+    private static final Set<String> ACTIVE_STATUSES =
+            Set.of(AppointmentStatus.SCHEDULED.name(), AppointmentStatus.CONFIRMED.name());
+
+    private final AppointmentService appointmentService;
+    private final AppointmentRepository appointmentRepository;
+    private final ServiceRepository serviceRepository;
+    private final UserRepository userRepository;
+    private final TimeBlockRepository timeBlockRepository;
+    private final TimeBlockOccurrenceCache occurrenceCache;
+    private final ShopClosureCalendar shopClosureCalendar;
+    private final SlotHoldRegistry slotHoldRegistry;
+
+    @Value("${app.booking.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.engine.command-timeout-ms:10000}")
+    private long commandTimeoutMs;
+
+    @Value("${app.booking.max-days-ahead:30}")
+    private int maxDaysAhead;
+
+    private final Map<UUID, BarberSchedule> schedules = new ConcurrentHashMap<>();
+    private final ExecutorService mailboxExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime from = horizonStart();
+        LocalDateTime to = horizonEnd();
+        List<Appointment> active = appointmentRepository.findActiveByDateRange(from, to);
+
+        Map<UUID, List<Appointment>> byBarber = new HashMap<>();
+        for (Appointment appointment : active) {
+            byBarber.computeIfAbsent(appointment.getBarber().getId(), id -> new ArrayList<>()).add(appointment);
+        }
+        List<UUID> barberIds = userRepository.findAllActiveBarbers().stream().map(User::getId).toList();
+        Map<UUID, List<TimeBlock>> blocks = occurrenceCache.expand(
+                timeBlockRepository.findOverlappingGroupedByBarber(barberIds, from, to), from, to);
+
+        Set<UUID> loaded = new HashSet<>(byBarber.keySet());
+        loaded.addAll(blocks.keySet());
+        for (UUID barberId : loaded) {
+            BarberSchedule schedule = scheduleFor(barberId);
+            List<Appointment> appointments = byBarber.getOrDefault(barberId, List.of());
+            List<TimeBlock> barberBlocks = blocks.getOrDefault(barberId, List.of());
+            schedule.submit(() -> {
+                schedule.replace(appointments, barberBlocks);
+                return null;
+            });
+        }
+
+        log.info("Booking engine rehydrated {} active appointments for {} barbers", active.size(), loaded.size());
+    }
+
+    // Recarrega do banco a agenda em memória de barbeiros alterados fora do motor (ex.: importação em lote).
+    // A leitura roda dentro da fila para não sobrescrever um comando confirmado depois dela.
+    public void reload(Collection<UUID> barberIds) {
+        if (!enabled) {
+            return;
+        }
+
+        for (UUID barberId : barberIds) {
+            BarberSchedule schedule = scheduleFor(barberId);
+            schedule.submit(() -> {
+                LocalDateTime from = horizonStart();
+                LocalDateTime to = horizonEnd();
+                schedule.replace(appointmentRepository.findOverlappingAppointments(barberId, from, to),
+                        loadBlocks(barberId, from, to));
+                return null;
+            });
+        }
+    }
+
+    // Agendamentos gravados por outra instância, pelo lote ou pela importação: o evento já traz o estado final
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        AppointmentDTO.CalendarEvent appointment = event.appointment();
+        BarberSchedule target = scheduleFor(appointment.getBarberId());
+        target.submit(() -> {
+            if (ACTIVE_STATUSES.contains(appointment.getStatus())) {
+                target.put(appointment.getId(), appointment.getStart(), appointment.getEnd());
+            } else {
+                target.remove(appointment.getId());
+            }
+            return null;
+        });
+
+        // Só uma edição troca o barbeiro; as outras agendas retiram o agendamento se ainda o tiverem
+        if (event.type() == AppointmentChangedEvent.Type.UPDATED) {
+            schedules.forEach((barberId, schedule) -> {
+                if (!barberId.equals(appointment.getBarberId())) {
+                    schedule.submit(() -> {
+                        schedule.remove(appointment.getId());
+                        return null;
+                    });
+                }
+            });
+        }
+    }
+
+    // Bloqueios não têm evento próprio: qualquer mudança pontual do barbeiro relê os bloqueios do horizonte,
+    // e mudanças sem intervalo (horários, bloqueio recorrente, importação) releem a agenda inteira.
+    // Fechamentos (barberId nulo) já são mantidos pelo ShopClosureCalendar.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        if (!enabled || event.allBarbers()) {
+            return;
+        }
+
+        if (event.allDays()) {
+            reload(List.of(event.barberId()));
+            return;
+        }
+
+        BarberSchedule schedule = scheduleFor(event.barberId());
+        schedule.submit(() -> {
+            schedule.replaceBlocks(loadBlocks(event.barberId(), horizonStart(), horizonEnd()));
+            return null;
+        });
+    }
+
+    // Intervalos que terminaram antes de hoje nunca mais conflitam com um comando
+    @Scheduled(cron = "${app.booking.engine.prune-cron:0 15 3 * * *}")
+    public void prune() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        schedules.values().forEach(schedule -> schedule.submit(() -> {
+            schedule.pruneBefore(today);
+            return null;
+        }));
+    }
+
+    private List<TimeBlock> loadBlocks(UUID barberId, LocalDateTime from, LocalDateTime to) {
+        return occurrenceCache.expand(timeBlockRepository.findOverlappingBlocks(barberId, from, to), from, to);
+    }
+
+    private LocalDateTime horizonStart() {
+        return LocalDateTime.now().minusHours(MAX_APPOINTMENT_HOURS);
+    }
+
+    private LocalDateTime horizonEnd() {
+        return LocalDateTime.now().plusDays(maxDaysAhead + 1L);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        mailboxExecutor.shutdown();
+    }
+
+    public AppointmentDTO.Response createPublic(AppointmentDTO.PublicCreateRequest request) {
+        if (!enabled) {
+            return appointmentService.createPublic(request);
+        }
+
+        UUID barberId = request.getBarberId();
+        if (request.getHoldToken() != null) {
+            barberId = slotHoldRegistry.find(request.getHoldToken())
+                    .map(SlotHold::getBarberId)
+                    .orElseThrow(() -> new BusinessException("HOLD_EXPIRED",
+                            "Reserva temporária expirada ou inexistente"));
+        }
+
+        Service service = serviceRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", request.getServiceId()));
+        LocalDateTime endTime = request.getStartTime().plusMinutes(service.getTotalDurationMinutes());
+
+        if (barberId != null) {
+            return submitCreate(barberId, request.getStartTime(), endTime,
+                    () -> appointmentService.createPublic(request));
+        }
+
+        for (User barber : userRepository.findAllActiveBarbers()) {
+            AppointmentDTO.PublicCreateRequest candidate = copyWithBarber(request, barber.getId());
+            try {
+                return submitCreate(barber.getId(), request.getStartTime(), endTime,
+                        () -> appointmentService.createPublic(candidate));
+            } catch (ConflictException e) {
+                // barber not available, try next
+            } catch (BusinessException e) {
+                if (!BARBER_UNAVAILABLE_CODES.contains(e.getCode())) {
+                    throw e;
+                }
+            }
+        }
+
+        throw new BusinessException("NO_AVAILABILITY", "Nenhum barbeiro disponível neste horário");
+    }
+
+    public AppointmentDTO.Response createAdmin(AppointmentDTO.AdminCreateRequest request, String adminEmail) {
+        if (!enabled) {
+            return appointmentService.createAdmin(request, adminEmail);
+        }
+
+        Service service = serviceRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", request.getServiceId()));
+        LocalDateTime endTime = request.getStartTime().plusMinutes(service.getTotalDurationMinutes());
+
+        return submitCreate(request.getBarberId(), request.getStartTime(), endTime,
+                () -> appointmentService.createAdmin(request, adminEmail));
+    }
+
+    public AppointmentDTO.Response update(UUID id, AppointmentDTO.UpdateRequest request, String performedBy) {
+        if (!enabled) {
+            return appointmentService.update(id, request, performedBy);
+        }
+
+        Appointment current = findAppointment(id);
+        UUID targetBarberId = request.getBarberId() != null ? request.getBarberId() : current.getBarber().getId();
+
+        return submitChange(current, targetBarberId, schedule -> {
+            if (request.getStartTime() != null) {
+                LocalDateTime newEnd = request.getStartTime()
+                        .plus(java.time.Duration.between(current.getStartTime(), current.getEndTime()));
+                checkFree(schedule, request.getStartTime(), newEnd, id);
+            }
+        }, () -> appointmentService.update(id, request, performedBy));
+    }
+
+    public AppointmentDTO.PublicResponse rescheduleByClient(String cancellationToken,
+                                                             AppointmentDTO.RescheduleRequest request) {
+        if (!enabled) {
+            return appointmentService.rescheduleByClient(cancellationToken, request);
+        }
+
+        Appointment current = appointmentRepository.findByCancellationToken(cancellationToken)
+                .orElseThrow(() -> new ResourceNotFoundException("Agendamento", "token", cancellationToken));
+        UUID targetBarberId = request.getNewBarberId() != null
+                ? request.getNewBarberId() : current.getBarber().getId();
+        LocalDateTime newEnd = request.getNewStartTime()
+                .plus(java.time.Duration.between(current.getStartTime(), current.getEndTime()));
+
+        return submitChange(current, targetBarberId,
+                schedule -> checkFree(schedule, request.getNewStartTime(), newEnd, current.getId()),
+                () -> appointmentService.rescheduleByClient(cancellationToken, request));
+    }
+
+    public AppointmentDTO.PublicResponse cancelByClient(String cancellationToken) {
+        if (!enabled) {
+            return appointmentService.cancelByClient(cancellationToken);
+        }
+
+        Appointment current = appointmentRepository.findByCancellationToken(cancellationToken)
+                .orElseThrow(() -> new ResourceNotFoundException("Agendamento", "token", cancellationToken));
+
+        return submitChange(current, current.getBarber().getId(), schedule -> { },
+                () -> appointmentService.cancelByClient(cancellationToken));
+    }
+
+    public AppointmentDTO.Response cancelByAdmin(UUID id, String adminEmail) {
+        if (!enabled) {
+            return appointmentService.cancelByAdmin(id, adminEmail);
+        }
+
+        Appointment current = findAppointment(id);
+        return submitChange(current, current.getBarber().getId(), schedule -> { },
+                () -> appointmentService.cancelByAdmin(id, adminEmail));
+    }
+
+    public AppointmentDTO.Response markAsCompleted(UUID id, String adminEmail) {
+        if (!enabled) {
+            return appointmentService.markAsCompleted(id, adminEmail);
+        }
+
+        Appointment current = findAppointment(id);
+        return submitChange(current, current.getBarber().getId(), schedule -> { },
+                () -> appointmentService.markAsCompleted(id, adminEmail));
+    }
+
+    public AppointmentDTO.Response markAsNoShow(UUID id, String adminEmail) {
+        if (!enabled) {
+            return appointmentService.markAsNoShow(id, adminEmail);
+        }
+
+        Appointment current = findAppointment(id);
+        return submitChange(current, current.getBarber().getId(), schedule -> { },
+                () -> appointmentService.markAsNoShow(id, adminEmail));
+    }
+
+    public AppointmentDTO.BulkResult bulkUpdate(AppointmentDTO.BulkRequest request, String performedBy) {
+        if (!enabled) {
+            return appointmentService.bulkUpdate(request, performedBy);
+        }
+
+        UUID sourceBarberId = request.getBarberId();
+        UUID targetBarberId = request.getAction() == AppointmentDTO.BulkAction.MOVE && request.getTargetBarberId() != null
+                ? request.getTargetBarberId() : sourceBarberId;
+        BarberSchedule target = scheduleFor(targetBarberId);
+
+        AppointmentDTO.BulkResult result = await(target.submit(() -> {
+            AppointmentDTO.BulkResult response = appointmentService.bulkUpdate(request, performedBy);
+            for (AppointmentDTO.BulkItemResult item : response.getItems()) {
+                if (!item.isSuccess()) {
+                    continue;
+                }
+                if (item.getNewStartTime() == null) {
+                    target.remove(item.getAppointmentId());
+                } else {
+                    target.put(item.getAppointmentId(), item.getNewStartTime(), item.getNewEndTime());
+                }
+            }
+            return response;
+        }));
+
+        if (!sourceBarberId.equals(targetBarberId)) {
+            BarberSchedule source = scheduleFor(sourceBarberId);
+            source.submit(() -> {
+                result.getItems().stream()
+                        .filter(AppointmentDTO.BulkItemResult::isSuccess)
+                        .forEach(item -> source.remove(item.getAppointmentId()));
+                return null;
+            });
+        }
+
+        return result;
+    }
+
+    private AppointmentDTO.Response submitCreate(UUID barberId, LocalDateTime start, LocalDateTime end,
+                                                 Supplier<AppointmentDTO.Response> persist) {
+        BarberSchedule schedule = scheduleFor(barberId);
+        return await(schedule.submit(() -> {
+            checkFree(schedule, start, end, null);
+            AppointmentDTO.Response response = persist.get();
+            schedule.put(response.getId(), response.getStartTime(), response.getEndTime());
+            return response;
+        }));
+    }
+
+    private <T> T submitChange(Appointment current, UUID targetBarberId,
+                               java.util.function.Consumer<BarberSchedule> precheck, Supplier<T> persist) {
+        UUID appointmentId = current.getId();
+        UUID sourceBarberId = current.getBarber().getId();
+        BarberSchedule target = scheduleFor(targetBarberId);
+
+        T result = await(target.submit(() -> {
+            precheck.accept(target);
+            T response = persist.get();
+            refresh(target, appointmentId, targetBarberId);
+            return response;
+        }));
+
+        if (!sourceBarberId.equals(targetBarberId)) {
+            BarberSchedule source = scheduleFor(sourceBarberId);
+            source.submit(() -> {
+                source.remove(appointmentId);
+                return null;
+            });
+        }
+
+        return result;
+    }
+
+    private void checkFree(BarberSchedule schedule, LocalDateTime start, LocalDateTime end, UUID excludeId) {
+        if (shopClosureCalendar.isClosed(start, end)) {
+            throw new BusinessException("SHOP_CLOSED", "A barbearia estará fechada neste horário");
+        }
+        schedule.checkFree(start, end, excludeId);
+    }
+
+    private void refresh(BarberSchedule schedule, UUID appointmentId, UUID barberId) {
+        schedule.remove(appointmentId);
+        appointmentRepository.findById(appointmentId)
+                .filter(Appointment::isActive)
+                .filter(a -> a.getBarber().getId().equals(barberId))
+                .ifPresent(schedule::put);
+    }
+
+    private Appointment findAppointment(UUID id) {
+        return appointmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Agendamento", "id", id));
+    }
+
+    private BarberSchedule scheduleFor(UUID barberId) {
+        return schedules.computeIfAbsent(barberId, id -> new BarberSchedule(mailboxExecutor));
+    }
+
+    private <T> T await(Command<T> command) {
+        try {
+            return command.get(commandTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Só desiste se o comando ainda não começou; se já está rodando, o resultado dele é a resposta
+            if (command.withdraw()) {
+                throw new BusinessException("BOOKING_TIMEOUT", "Agenda ocupada, tente novamente em instantes");
+            }
+            return join(command);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T join(Command<T> command) {
+        try {
+            return command.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private AppointmentDTO.PublicCreateRequest copyWithBarber(AppointmentDTO.PublicCreateRequest request,
+                                                              UUID barberId) {
+        return AppointmentDTO.PublicCreateRequest.builder()
+                .serviceId(request.getServiceId())
+                .barberId(barberId)
+                .startTime(request.getStartTime())
+                .clientName(request.getClientName())
+                .clientPhone(request.getClientPhone())
+                .clientEmail(request.getClientEmail())
+                .notes(request.getNotes())
+                .holdToken(request.getHoldToken())
+                .build();
+    }
+
+    // Resultado de um comando na fila. Quem espera e a fila disputam o início: ou a fila começa a executar,
+    // ou quem espera retira o comando, nunca os dois.
+    static final class Command<T> extends CompletableFuture<T> {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        boolean start() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        boolean withdraw() {
+            return claimed.compareAndSet(false, true) && cancel(false);
+        }
+    }
+
+    // Agenda em memória de um barbeiro. Só é lida e alterada dentro da própria fila.
+    static final class BarberSchedule {
+
+        private final Executor executor;
+        private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private final NavigableMap<LocalDateTime, Map<UUID, LocalDateTime>> byStart = new TreeMap<>();
+        private final Map<UUID, LocalDateTime> startById = new HashMap<>();
+        // Bloqueios do horizonte já expandidos e fundidos: início -> fim, sem sobreposição entre entradas
+        private NavigableMap<LocalDateTime, LocalDateTime> blocks = new TreeMap<>();
+
+        BarberSchedule(Executor executor) {
+            this.executor = executor;
+        }
+
+        <T> Command<T> submit(Callable<T> action) {
+            Command<T> command = new Command<>();
+            mailbox.add(() -> {
+                // Comando retirado por timeout: quem o enviou já respondeu com erro
+                if (!command.start()) {
+                    return;
+                }
+                try {
+                    command.complete(action.call());
+                } catch (Throwable t) {
+                    command.completeExceptionally(t);
+                }
+            });
+            scheduleDrain();
+            return command;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable command;
+                while ((command = mailbox.poll()) != null) {
+                    command.run();
+                }
+            } finally {
+                draining.set(false);
+                if (!mailbox.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        void checkFree(LocalDateTime start, LocalDateTime end, UUID excludeId) {
+            var candidates = byStart.subMap(start.minusHours(MAX_APPOINTMENT_HOURS), true, end, false);
+            for (var slot : candidates.values()) {
+                for (var entry : slot.entrySet()) {
+                    if (!entry.getKey().equals(excludeId) && entry.getValue().isAfter(start)) {
+                        throw new ConflictException("Já existe um agendamento neste horário");
+                    }
+                }
+            }
+
+            Map.Entry<LocalDateTime, LocalDateTime> block = blocks.lowerEntry(end);
+            if (block != null && block.getValue().isAfter(start)) {
+                throw new ConflictException("Horário bloqueado pelo barbeiro");
+            }
+        }
+
+        void replace(List<Appointment> appointments, List<TimeBlock> timeBlocks) {
+            byStart.clear();
+            startById.clear();
+            appointments.stream().filter(Appointment::isActive).forEach(this::put);
+            replaceBlocks(timeBlocks);
+        }
+
+        void replaceBlocks(List<TimeBlock> timeBlocks) {
+            List<TimeBlock> sorted = new ArrayList<>(timeBlocks);
+            sorted.sort(Comparator.comparing(TimeBlock::getStartTime));
+
+            NavigableMap<LocalDateTime, LocalDateTime> merged = new TreeMap<>();
+            Map.Entry<LocalDateTime, LocalDateTime> last = null;
+            for (TimeBlock block : sorted) {
+                if (last != null && !block.getStartTime().isAfter(last.getValue())) {
+                    if (block.getEndTime().isAfter(last.getValue())) {
+                        merged.put(last.getKey(), block.getEndTime());
+                    }
+                } else {
+                    merged.put(block.getStartTime(), block.getEndTime());
+                }
+                last = merged.lastEntry();
+            }
+            blocks = merged;
+        }
+
+        void pruneBefore(LocalDateTime cutoff) {
+            var past = byStart.headMap(cutoff, false).entrySet().iterator();
+            while (past.hasNext()) {
+                Map<UUID, LocalDateTime> slot = past.next().getValue();
+                slot.entrySet().removeIf(entry -> {
+                    boolean ended = !entry.getValue().isAfter(cutoff);
+                    if (ended) {
+                        startById.remove(entry.getKey());
+                    }
+                    return ended;
+                });
+                if (slot.isEmpty()) {
+                    past.remove();
+                }
+            }
+            blocks.headMap(cutoff, false).values().removeIf(end -> !end.isAfter(cutoff));
+        }
+
+        void put(Appointment appointment) {
+            put(appointment.getId(), appointment.getStartTime(), appointment.getEndTime());
+        }
+
+        void put(UUID id, LocalDateTime start, LocalDateTime end) {
+            remove(id);
+            byStart.computeIfAbsent(start, s -> new HashMap<>()).put(id, end);
+            startById.put(id, start);
+        }
+
+        void remove(UUID id) {
+            LocalDateTime start = startById.remove(id);
+            if (start != null) {
+                Map<UUID, LocalDateTime> slot = byStart.get(start);
+                slot.remove(id);
+                if (slot.isEmpty()) {
+                    byStart.remove(start);
+                }
+            }
+        }
+    }
+}
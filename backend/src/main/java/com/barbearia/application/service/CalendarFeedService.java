@@ -0,0 +1,201 @@
+package com.barbearia.application.service;
+
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.exception.ResourceNotFoundException;
+import com.barbearia.domain.entity.Appointment;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.repository.AppointmentRepository;
+import com.barbearia.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Feed iCalendar por barbeiro. O arquivo renderizado fica em cache até a próxima mudança na agenda
+// do barbeiro (ou a virada do dia, que desloca a janela); o ETag é o hash do conteúdo, então é o
+// mesmo em todas as instâncias e aplicativos que consultam a cada 15 minutos recebem 304.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarFeedService {
+
+    private static final DateTimeFormatter ICS_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_LENGTH = 75;
+
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+
+    @Value("${app.calendar-feed.secret:${app.jwt.secret}}")
+    private String feedSecret;
+
+    @Value("${app.calendar-feed.past-days:30}")
+    private int pastDays;
+
+    @Value("${app.booking.max-days-ahead:30}")
+    private int maxDaysAhead;
+
+    @Value("${app.business.name:Barbearia}")
+    private String businessName;
+
+    private final Map<UUID, RenderedFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public String feedToken(UUID barberId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(feedSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal(("calendar-feed:" + barberId).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign calendar feed token", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public RenderedFeed getFeed(UUID barberId, String token) {
+        if (token == null || !MessageDigest.isEqual(feedToken(barberId).getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResourceNotFoundException("Agenda", "id", barberId);
+        }
+
+        LocalDate today = LocalDate.now();
+        RenderedFeed cached = feeds.get(barberId);
+        if (cached != null && cached.renderedFor().equals(today)) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
+        RenderedFeed rendered = render(barberId, today);
+        // Não guarda um resultado que pode ter sido invalidado durante a renderização
+        if (invalidations.get() == generation) {
+            feeds.put(barberId, rendered);
+        }
+        return rendered;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        invalidations.incrementAndGet();
+        if (event.allBarbers()) {
+            feeds.clear();
+        } else {
+            feeds.remove(event.barberId());
+        }
+    }
+
+    private RenderedFeed render(UUID barberId, LocalDate today) {
+        User barber = userRepository.findById(barberId)
+                .orElseThrow(() -> new ResourceNotFoundException("Barbeiro", "id", barberId));
+        if (!barber.isBarber()) {
+            throw new BusinessException("NOT_BARBER", "Usuário não é um barbeiro");
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        // O feed só é renderizado de novo após uma invalidação ou virada do dia, então o momento da renderização
+        // nunca anda para trás; o maior updated_at recuaria quando o último agendamento alterado é cancelado
+        long renderedAt = System.currentTimeMillis();
+
+        try (Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+             Stream<Appointment> appointments = appointmentRepository.streamByBarberIdAndDateRange(barberId,
+                     today.minusDays(pastDays).atStartOfDay(), today.plusDays(maxDaysAhead + 1L).atStartOfDay())) {
+            line(writer, "BEGIN:VCALENDAR");
+            line(writer, "VERSION:2.0");
+            line(writer, "PRODID:-//" + escape(businessName) + "//Agenda//PT-BR");
+            line(writer, "CALSCALE:GREGORIAN");
+            line(writer, "METHOD:PUBLISH");
+            line(writer, "X-WR-CALNAME:" + escape(businessName + " - " + barber.getName()));
+
+            for (Appointment appointment : (Iterable<Appointment>) appointments::iterator) {
+                writeEvent(writer, appointment);
+            }
+
+            line(writer, "END:VCALENDAR");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] body = buffer.toByteArray();
+        log.debug("Rendered calendar feed for barber {} ({} bytes)", barberId, body.length);
+        return new RenderedFeed(body, etag(body), renderedAt, today);
+    }
+
+    private void writeEvent(Writer writer, Appointment appointment) throws IOException {
+        line(writer, "BEGIN:VEVENT");
+        line(writer, "UID:" + appointment.getId() + "@barbearia");
+        line(writer, "DTSTAMP:" + utc(appointment.getUpdatedAt() != null ? appointment.getUpdatedAt() : appointment.getStartTime()));
+        line(writer, "DTSTART:" + utc(appointment.getStartTime()));
+        line(writer, "DTEND:" + utc(appointment.getEndTime()));
+        line(writer, "SUMMARY:" + escape(appointment.getService().getName() + " - " + appointment.getClientName()));
+
+        StringBuilder description = new StringBuilder("Telefone: ").append(appointment.getClientPhone());
+        if (appointment.getNotes() != null && !appointment.getNotes().isBlank()) {
+            description.append('\n').append(appointment.getNotes());
+        }
+        line(writer, "DESCRIPTION:" + escape(description.toString()));
+        line(writer, "STATUS:CONFIRMED");
+        line(writer, "END:VEVENT");
+    }
+
+    // RFC 5545: linhas terminam em CRLF e são dobradas a cada 75 caracteres
+    private void line(Writer writer, String content) throws IOException {
+        int start = 0;
+        while (content.length() - start > MAX_LINE_LENGTH) {
+            writer.write(content, start, MAX_LINE_LENGTH);
+            writer.write("\r\n ");
+            start += MAX_LINE_LENGTH;
+        }
+        writer.write(content, start, content.length() - start);
+        writer.write("\r\n");
+    }
+
+    private String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r", "")
+                .replace("\n", "\\n");
+    }
+
+    private String utc(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(ICS_UTC);
+    }
+
+    private String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not hash calendar feed", e);
+        }
+    }
+
+    public record RenderedFeed(byte[] body, String etag, long lastModified, LocalDate renderedFor) {
+    }
+}
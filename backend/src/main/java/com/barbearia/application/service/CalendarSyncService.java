@@ -0,0 +1,175 @@
+package com.barbearia.application.service;
+
+import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.dto.SyncDTO;
+import com.barbearia.application.dto.TimeBlockDTO;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.mapper.AppointmentMapper;
+import com.barbearia.application.mapper.TimeBlockMapper;
+import com.barbearia.domain.entity.Appointment;
+import com.barbearia.domain.entity.SyncTombstone;
+import com.barbearia.domain.entity.SyncTombstonePurge;
+import com.barbearia.domain.entity.TimeBlock;
+import com.barbearia.domain.repository.AppointmentRepository;
+import com.barbearia.domain.repository.SyncTombstonePurgeRepository;
+import com.barbearia.domain.repository.SyncTombstoneRepository;
+import com.barbearia.domain.repository.TimeBlockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+// Sincronização incremental por cursor (updated_at, id) sobre agendamentos, bloqueios e exclusões.
+// updated_at vem do início da transação, então linhas de transações ainda abertas podem aparecer
+// com carimbo anterior ao cursor; a janela de segurança (safety-lag) só entrega o que já está estável.
+// Ela não cobre transações mais longas que o próprio atraso: a importação em lote carimba todas as linhas
+// antes do COPY e só confirma bem depois, por isso segura SYNC_LOCK_KEY e a leitura espera o commit dela.
+// Outras escritas longas em agendamentos ou bloqueios precisam do mesmo lock.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class CalendarSyncService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final long SYNC_LOCK_KEY = 0x73796e63L;
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    // Mesma ordem do PostgreSQL para uuid (bytes sem sinal), diferente de UUID.compareTo
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+    private static final Comparator<Change> CHANGE_ORDER = Comparator.comparing(Change::updatedAt)
+            .thenComparing(Change::id, UUID_ORDER);
+
+    private final AppointmentRepository appointmentRepository;
+    private final TimeBlockRepository timeBlockRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final SyncTombstonePurgeRepository purgeRepository;
+    private final AppointmentMapper appointmentMapper;
+    private final TimeBlockMapper timeBlockMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.sync.safety-lag-seconds:5}")
+    private long safetyLagSeconds;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    public SyncDTO.ChangesPage getChanges(String cursor, UUID barberId, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Cursor since = cursor == null || cursor.isBlank() ? Cursor.START : Cursor.decode(cursor);
+        // Compartilhado entre leitores; só espera enquanto uma importação em lote estiver aberta
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock_shared(" + SYNC_LOCK_KEY + ")");
+        LocalDateTime now = LocalDateTime.now();
+
+        // Só expira quando uma exclusão igual ou posterior ao cursor já foi apagada; um cliente sem mudanças
+        // há mais tempo que a retenção continua válido enquanto nada depois dele tiver sido limpo
+        if (since != Cursor.START && purgeRepository.findLatestPurgedThrough()
+                .filter(purgedThrough -> !since.updatedAt().isAfter(purgedThrough)).isPresent()) {
+            throw new BusinessException("SYNC_CURSOR_EXPIRED",
+                    "Cursor expirado, recarregue o calendário completo");
+        }
+
+        LocalDateTime horizon = now.minusSeconds(safetyLagSeconds);
+        // Cada fonte já vem ordenada; pedir pageSize + 1 de cada basta para montar a página e saber se há mais
+        Pageable fetch = PageRequest.of(0, pageSize + 1);
+
+        List<Change> changes = new ArrayList<>();
+        for (Appointment a : appointmentRepository.findChangedAfter(since.updatedAt(), since.id(), horizon, barberId, fetch)) {
+            changes.add(new Change(a.getUpdatedAt(), a.getId(), appointmentMapper.toCalendarEvent(a)));
+        }
+        for (TimeBlock tb : timeBlockRepository.findChangedAfter(since.updatedAt(), since.id(), horizon, barberId, fetch)) {
+            changes.add(new Change(tb.getUpdatedAt(), tb.getId(), timeBlockMapper.toResponse(tb)));
+        }
+        for (SyncTombstone t : tombstoneRepository.findChangedAfter(since.updatedAt(), since.id(), horizon, barberId, fetch)) {
+            changes.add(new Change(t.getDeletedAt(), t.getId(), SyncDTO.Deletion.builder()
+                    .entityType(t.getEntityType())
+                    .id(t.getEntityId())
+                    .barberId(t.getBarberId())
+                    .deletedAt(t.getDeletedAt())
+                    .build()));
+        }
+        changes.sort(CHANGE_ORDER);
+
+        boolean hasMore = changes.size() > pageSize;
+        List<Change> page = hasMore ? changes.subList(0, pageSize) : changes;
+
+        List<AppointmentDTO.CalendarEvent> appointments = new ArrayList<>();
+        List<TimeBlockDTO.Response> timeBlocks = new ArrayList<>();
+        List<SyncDTO.Deletion> deleted = new ArrayList<>();
+        for (Change change : page) {
+            switch (change.payload()) {
+                case AppointmentDTO.CalendarEvent event -> appointments.add(event);
+                case TimeBlockDTO.Response block -> timeBlocks.add(block);
+                case SyncDTO.Deletion deletion -> deleted.add(deletion);
+                default -> throw new IllegalStateException("Unexpected change payload");
+            }
+        }
+
+        Change last = page.isEmpty() ? null : page.get(page.size() - 1);
+        Cursor next = last == null ? since : new Cursor(last.updatedAt(), last.id());
+
+        return SyncDTO.ChangesPage.builder()
+                .appointments(appointments)
+                .timeBlocks(timeBlocks)
+                .deleted(deleted)
+                .nextCursor(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Scheduled(cron = "${app.sync.tombstone-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime before = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        LocalDateTime purgedThrough = tombstoneRepository.findNewestDeletedAtBefore(before).orElse(null);
+        if (purgedThrough == null) {
+            return;
+        }
+
+        int deleted = tombstoneRepository.deleteOlderThan(before);
+        purgeRepository.save(SyncTombstonePurge.builder()
+                .purgedThrough(purgedThrough)
+                .deleted(deleted)
+                .build());
+        log.info("Purged {} sync tombstones through {}", deleted, purgedThrough);
+    }
+
+    private record Change(LocalDateTime updatedAt, UUID id, Object payload) {
+    }
+
+    private record Cursor(LocalDateTime updatedAt, UUID id) {
+
+        static final Cursor START = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), MIN_ID);
+
+        String encode() {
+            String raw = updatedAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BusinessException("INVALID_SYNC_CURSOR", "Cursor de sincronização inválido");
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.barbearia.application.service;
+
+import com.barbearia.application.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+// Exportações em CSV lidas por cursor JDBC (fetch size) e escritas linha a linha na resposta.
+// Nenhuma entidade é carregada, então a memória fica constante independente do período.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    public static final int MAX_EXPORT_DAYS = 732;
+
+    private static final String APPOINTMENTS_SQL = """
+            SELECT a.id, a.start_time, a.end_time, a.status, b.name AS barber_name, s.name AS service_name,
+                   a.client_name, a.client_phone, a.client_email, a.price_at_booking, a.created_by_admin, a.created_at
+            FROM appointments a
+            JOIN users b ON b.id = a.barber_id
+            JOIN services s ON s.id = a.service_id
+            WHERE a.start_time >= ? AND a.start_time < ?
+            ORDER BY a.start_time, a.id
+            """;
+
+    private static final String AUDITS_SQL = """
+            SELECT au.id, au.appointment_id, au.action, au.performed_by, au.performed_at,
+                   au.before_state::text AS before_state, au.after_state::text AS after_state
+            FROM appointment_audits au
+            WHERE au.performed_at >= ? AND au.performed_at < ?
+            ORDER BY au.performed_at, au.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public void writeAppointments(LocalDate startDate, LocalDate endDate, boolean gzip, OutputStream out) {
+        export(APPOINTMENTS_SQL, startDate, endDate, gzip, out,
+                new String[]{"id", "inicio", "fim", "status", "barbeiro", "servico", "cliente", "telefone",
+                        "email", "valor", "criado_pelo_admin", "criado_em"},
+                rs -> new Object[]{rs.getObject("id"), rs.getTimestamp("start_time"), rs.getTimestamp("end_time"),
+                        rs.getString("status"), rs.getString("barber_name"), rs.getString("service_name"),
+                        rs.getString("client_name"), rs.getString("client_phone"), rs.getString("client_email"),
+                        rs.getBigDecimal("price_at_booking"), rs.getBoolean("created_by_admin"),
+                        rs.getTimestamp("created_at")});
+    }
+
+    public void writeAudits(LocalDate startDate, LocalDate endDate, boolean gzip, OutputStream out) {
+        export(AUDITS_SQL, startDate, endDate, gzip, out,
+                new String[]{"id", "agendamento_id", "acao", "executado_por", "executado_em",
+                        "estado_anterior", "estado_posterior"},
+                rs -> new Object[]{rs.getObject("id"), rs.getObject("appointment_id"), rs.getString("action"),
+                        rs.getString("performed_by"), rs.getTimestamp("performed_at"),
+                        rs.getString("before_state"), rs.getString("after_state")});
+    }
+
+    public void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessException("INVALID_DATE_RANGE", "Data final deve ser posterior à data inicial");
+        }
+        if (startDate.plusDays(MAX_EXPORT_DAYS).isBefore(endDate)) {
+            throw new BusinessException("EXPORT_RANGE_TOO_LARGE",
+                    String.format("Período de exportação deve ter no máximo %d dias", MAX_EXPORT_DAYS));
+        }
+    }
+
+    private void export(String sql, LocalDate startDate, LocalDate endDate, boolean gzip, OutputStream out,
+                        String[] header, RowMapper rowMapper) {
+        long startedAt = System.currentTimeMillis();
+        long[] rows = {0};
+
+        try {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 16384);
+            // BOM para o Excel reconhecer UTF-8
+            writer.write('\uFEFF');
+            writeRow(writer, header);
+
+            // O driver do PostgreSQL só usa cursor (fetch size) dentro de uma transação
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setTimestamp(1, Timestamp.valueOf(startDate.atStartOfDay()));
+                statement.setTimestamp(2, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writeRow(writer, rowMapper.map(rs));
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Exported {} rows from {} to {} in {} ms", rows[0], startDate, endDate,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    private void writeRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Timestamp timestamp ? timestamp.toLocalDateTime().toString() : value.toString();
+        // Evita que o Excel interprete o conteúdo como fórmula
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    @FunctionalInterface
+    private interface RowMapper {
+        Object[] map(ResultSet rs) throws SQLException;
+    }
+}
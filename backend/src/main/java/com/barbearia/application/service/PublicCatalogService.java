@@ -0,0 +1,127 @@
+package com.barbearia.application.service;
+
+import com.barbearia.application.event.CachedEntityChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Listas públicas de serviços e barbeiros já serializadas em JSON (e em gzip) até a próxima escrita
+// nesses cadastros, inclusive em outras instâncias. O ETag é o hash do conteúdo, igual em todos os nós.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PublicCatalogService {
+
+    private final ServiceService serviceService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.public-catalog.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    private final Catalog services = new Catalog();
+    private final Catalog barbers = new Catalog();
+
+    public Duration maxAge() {
+        return Duration.ofSeconds(maxAgeSeconds);
+    }
+
+    public RenderedCatalog getServices() {
+        return services.get(() -> render("services", serviceService.findAllActive()));
+    }
+
+    public RenderedCatalog getBarbers() {
+        return barbers.get(() -> render("barbers", userService.findActiveBarbers()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCachedEntityChanged(CachedEntityChangedEvent event) {
+        switch (event.type()) {
+            case SERVICE -> services.invalidate();
+            case USER -> barbers.invalidate();
+            default -> {
+            }
+        }
+    }
+
+    private RenderedCatalog render(String name, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = gzip(json);
+            log.debug("Rendered public {} catalog ({} bytes, {} gzipped)", name, json.length, gzip.length);
+            return new RenderedCatalog(json, gzip, etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize public catalog", e);
+        }
+    }
+
+    private byte[] gzip(byte[] content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not hash public catalog", e);
+        }
+    }
+
+    private static class Catalog {
+
+        private final AtomicReference<RenderedCatalog> rendered = new AtomicReference<>();
+        private final AtomicLong invalidations = new AtomicLong();
+
+        RenderedCatalog get(Supplier<RenderedCatalog> renderer) {
+            RenderedCatalog cached = rendered.get();
+            if (cached != null) {
+                return cached;
+            }
+
+            long generation = invalidations.get();
+            RenderedCatalog fresh = renderer.get();
+            // Não guarda um resultado que pode ter sido invalidado durante a renderização
+            if (invalidations.get() == generation) {
+                rendered.compareAndSet(null, fresh);
+            }
+            return fresh;
+        }
+
+        void invalidate() {
+            invalidations.incrementAndGet();
+            rendered.set(null);
+        }
+    }
+
+    // Cada representação tem seu próprio ETag forte
+    public record RenderedCatalog(byte[] json, byte[] gzip, String hash) {
+
+        public String etag(boolean gzipped) {
+            return "\"" + hash + (gzipped ? "-gzip" : "") + "\"";
+        }
+    }
+}
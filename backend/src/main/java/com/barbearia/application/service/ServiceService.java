@@ -1,6 +1,8 @@
 package com.barbearia.application.service;
 
 import com.barbearia.application.dto.ServiceDTO;
+import com.barbearia.application.event.CachedEntityChangedEvent;
+import com.barbearia.application.event.ScheduleChangedEvent;
 import com.barbearia.application.exception.BusinessException;
 import com.barbearia.application.exception.ResourceNotFoundException;
 import com.barbearia.application.mapper.ServiceMapper;
@@ -8,6 +10,7 @@ import com.barbearia.domain.entity.Service;
 import com.barbearia.domain.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -21,6 +24,7 @@ public class ServiceService {
 
     private final ServiceRepository serviceRepository;
     private final ServiceMapper serviceMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ServiceDTO.Response create(ServiceDTO.Request request) {
         log.info("Creating service: {}", request.getName());
@@ -32,6 +36,7 @@ public class ServiceService {
         Service service = serviceMapper.toEntity(request);
         service = serviceRepository.save(service);
 
+        eventPublisher.publishEvent(CachedEntityChangedEvent.service(service.getId()));
         log.info("Service created with id: {}", service.getId());
         return serviceMapper.toResponse(service);
     }
@@ -49,6 +54,8 @@ public class ServiceService {
         serviceMapper.updateEntity(service, request);
         service = serviceRepository.save(service);
 
+        eventPublisher.publishEvent(ScheduleChangedEvent.all());
+        eventPublisher.publishEvent(CachedEntityChangedEvent.service(id));
         log.info("Service updated: {}", id);
         return serviceMapper.toResponse(service);
     }
@@ -88,6 +95,7 @@ public class ServiceService {
             serviceRepository.delete(service);
             log.info("Service deleted: {}", id);
         }
+        eventPublisher.publishEvent(CachedEntityChangedEvent.service(id));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,82 @@
+package com.barbearia.application.service;
+
+import com.barbearia.application.dto.ShopClosureDTO;
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.exception.ResourceNotFoundException;
+import com.barbearia.application.mapper.ShopClosureMapper;
+import com.barbearia.domain.entity.ShopClosure;
+import com.barbearia.domain.repository.AppointmentRepository;
+import com.barbearia.domain.repository.ShopClosureRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ShopClosureService {
+
+    private final ShopClosureRepository shopClosureRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ShopClosureMapper shopClosureMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ShopClosureDTO.Response create(ShopClosureDTO.Request request) {
+        log.info("Creating shop closure from {} to {}", request.getStartTime(), request.getEndTime());
+
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            throw new BusinessException("INVALID_TIME_RANGE",
+                    "Horário de início deve ser anterior ao horário de término");
+        }
+
+        if (request.getEndTime().isBefore(LocalDateTime.now())) {
+            throw new BusinessException("PAST_TIME", "Não é possível criar fechamento no passado");
+        }
+
+        long affected = appointmentRepository.countActiveOverlapping(request.getStartTime(), request.getEndTime());
+        if (affected > 0) {
+            throw new BusinessException("OVERLAPPING_APPOINTMENT", String.format(
+                    "Existem %d agendamento(s) neste período. Cancele-os ou remarque-os primeiro.", affected));
+        }
+
+        ShopClosure closure = ShopClosure.builder()
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .reason(request.getReason())
+                .build();
+
+        closure = shopClosureRepository.save(closure);
+        eventPublisher.publishEvent(ScheduleChangedEvent.all());
+        log.info("Shop closure created with id: {}", closure.getId());
+
+        return shopClosureMapper.toResponse(closure);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ShopClosureDTO.Response> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        return shopClosureRepository.findOverlapping(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())
+                .stream()
+                .map(shopClosureMapper::toResponse)
+                .toList();
+    }
+
+    public void delete(UUID id) {
+        log.info("Deleting shop closure: {}", id);
+
+        ShopClosure closure = shopClosureRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Fechamento", "id", id));
+
+        shopClosureRepository.delete(closure);
+        eventPublisher.publishEvent(ScheduleChangedEvent.all());
+        log.info("Shop closure deleted: {}", id);
+    }
+}
@@ -1,22 +1,27 @@
 package com.barbearia.application.service;
 
 import com.barbearia.application.dto.TimeBlockDTO;
+import com.barbearia.application.event.ScheduleChangedEvent;
 import com.barbearia.application.exception.BusinessException;
 import com.barbearia.application.exception.ResourceNotFoundException;
 import com.barbearia.application.mapper.TimeBlockMapper;
 import com.barbearia.domain.entity.TimeBlock;
 import com.barbearia.domain.entity.User;
+import com.barbearia.domain.enums.RecurrenceFrequency;
 import com.barbearia.domain.repository.AppointmentRepository;
 import com.barbearia.domain.repository.TimeBlockRepository;
 import com.barbearia.domain.repository.UserRepository;
+import com.barbearia.infrastructure.cache.TimeBlockOccurrenceCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,6 +35,11 @@ public class TimeBlockService {
     private final UserRepository userRepository;
     private final AppointmentRepository appointmentRepository;
     private final TimeBlockMapper timeBlockMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TimeBlockOccurrenceCache occurrenceCache;
+
+    @Value("${app.booking.max-days-ahead:30}")
+    private int maxDaysAhead;
 
     public TimeBlockDTO.Response create(TimeBlockDTO.Request request) {
         log.info("Creating time block for barber: {}", request.getBarberId());
@@ -43,29 +53,52 @@ public class TimeBlockService {
 
         validateTimeBlock(request);
 
-        var overlappingBlocks = timeBlockRepository.findOverlappingBlocks(
-                request.getBarberId(), request.getStartTime(), request.getEndTime());
-
-        if (!overlappingBlocks.isEmpty()) {
-            throw new BusinessException("OVERLAPPING_BLOCK", "Já existe um bloqueio neste período");
-        }
-
-        var overlappingAppointments = appointmentRepository.findOverlappingAppointments(
-                request.getBarberId(), request.getStartTime(), request.getEndTime());
-
-        if (!overlappingAppointments.isEmpty()) {
-            throw new BusinessException("OVERLAPPING_APPOINTMENT",
-                    "Existem agendamentos neste período. Cancele-os primeiro.");
-        }
-
+        boolean recurring = request.getRecurrenceFrequency() != null;
         TimeBlock timeBlock = TimeBlock.builder()
                 .barber(barber)
                 .startTime(request.getStartTime())
                 .endTime(request.getEndTime())
                 .reason(request.getReason())
+                .isRecurring(recurring)
+                .recurrenceFrequency(request.getRecurrenceFrequency())
+                .recurrenceInterval(recurring
+                        ? (request.getRecurrenceInterval() != null ? request.getRecurrenceInterval() : 1)
+                        : null)
+                .recurrenceUntil(recurring ? request.getRecurrenceUntil() : null)
                 .build();
 
+        // Regras recorrentes são verificadas ocorrência a ocorrência até o fim do horizonte de agendamento
+        LocalDateTime checkUntil = request.getEndTime();
+        if (recurring) {
+            LocalDateTime horizonEnd = LocalDate.now().plusDays(maxDaysAhead + 1L).atStartOfDay();
+            checkUntil = timeBlock.getRecurrenceUntil() != null
+                    ? min(timeBlock.getRecurrenceUntil().plusDays(1).atStartOfDay(), horizonEnd)
+                    : horizonEnd;
+            checkUntil = checkUntil.isAfter(request.getEndTime()) ? checkUntil : request.getEndTime();
+        }
+
+        List<TimeBlock> existingBlocks = occurrenceCache.expand(timeBlockRepository.findOverlappingBlocks(
+                request.getBarberId(), request.getStartTime(), checkUntil), request.getStartTime(), checkUntil);
+        var existingAppointments = appointmentRepository.findOverlappingAppointments(
+                request.getBarberId(), request.getStartTime(), checkUntil);
+
+        for (LocalDateTime start : timeBlock.occurrenceStarts(request.getStartTime(), checkUntil)) {
+            LocalDateTime end = start.plus(Duration.between(request.getStartTime(), request.getEndTime()));
+
+            if (existingBlocks.stream().anyMatch(b -> b.overlaps(start, end))) {
+                throw new BusinessException("OVERLAPPING_BLOCK", "Já existe um bloqueio neste período");
+            }
+
+            if (existingAppointments.stream().anyMatch(a -> a.overlaps(start, end))) {
+                throw new BusinessException("OVERLAPPING_APPOINTMENT",
+                        "Existem agendamentos neste período. Cancele-os primeiro.");
+            }
+        }
+
         timeBlock = timeBlockRepository.save(timeBlock);
+        eventPublisher.publishEvent(recurring
+                ? ScheduleChangedEvent.barber(barber.getId())
+                : ScheduleChangedEvent.occupied(barber.getId(), timeBlock.getStartTime(), timeBlock.getEndTime()));
         log.info("Time block created with id: {}", timeBlock.getId());
 
         return timeBlockMapper.toResponse(timeBlock);
@@ -90,14 +123,15 @@ public class TimeBlockService {
         LocalDateTime start = startDate.atStartOfDay();
         LocalDateTime end = endDate.plusDays(1).atStartOfDay();
 
-        return timeBlockRepository.findByDateRange(start, end).stream()
+        return occurrenceCache.expand(timeBlockRepository.findByDateRange(start, end), start, end).stream()
+                .filter(block -> !block.getStartTime().isBefore(start))
                 .map(timeBlockMapper::toResponse)
                 .toList();
     }
 
     @Transactional(readOnly = true)
     public List<TimeBlock> findOverlappingBlocks(UUID barberId, LocalDateTime start, LocalDateTime end) {
-        return timeBlockRepository.findOverlappingBlocks(barberId, start, end);
+        return occurrenceCache.expand(timeBlockRepository.findOverlappingBlocks(barberId, start, end), start, end);
     }
 
     public void delete(UUID id) {
@@ -107,6 +141,10 @@ public class TimeBlockService {
                 .orElseThrow(() -> new ResourceNotFoundException("Bloqueio", "id", id));
 
         timeBlockRepository.delete(timeBlock);
+        UUID barberId = timeBlock.getBarber().getId();
+        eventPublisher.publishEvent(timeBlock.isRecurring()
+                ? ScheduleChangedEvent.barber(barberId)
+                : ScheduleChangedEvent.released(barberId, timeBlock.getStartTime(), timeBlock.getEndTime()));
         log.info("Time block deleted: {}", id);
     }
 
@@ -119,5 +157,26 @@ public class TimeBlockService {
         if (request.getStartTime().isBefore(LocalDateTime.now())) {
             throw new BusinessException("PAST_TIME", "Não é possível criar bloqueio no passado");
         }
+
+        if (request.getRecurrenceFrequency() == null) {
+            return;
+        }
+
+        if (request.getRecurrenceUntil() != null
+                && request.getRecurrenceUntil().isBefore(request.getStartTime().toLocalDate())) {
+            throw new BusinessException("INVALID_RECURRENCE",
+                    "Data final da recorrência deve ser igual ou posterior ao início do bloqueio");
+        }
+
+        int interval = request.getRecurrenceInterval() != null ? request.getRecurrenceInterval() : 1;
+        long stepDays = (long) interval * (request.getRecurrenceFrequency() == RecurrenceFrequency.WEEKLY ? 7 : 1);
+        if (Duration.between(request.getStartTime(), request.getEndTime()).compareTo(Duration.ofDays(stepDays)) > 0) {
+            throw new BusinessException("INVALID_RECURRENCE",
+                    "Bloqueio recorrente não pode ser mais longo que o intervalo entre ocorrências");
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
     }
 }
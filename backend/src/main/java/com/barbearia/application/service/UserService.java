@@ -1,14 +1,19 @@
 package com.barbearia.application.service;
 
 import com.barbearia.application.dto.UserDTO;
+import com.barbearia.application.event.CachedEntityChangedEvent;
+import com.barbearia.application.event.ScheduleChangedEvent;
 import com.barbearia.application.exception.BusinessException;
 import com.barbearia.application.exception.ResourceNotFoundException;
 import com.barbearia.application.mapper.UserMapper;
 import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.UserCredential;
 import com.barbearia.domain.enums.UserRole;
+import com.barbearia.domain.repository.UserCredentialRepository;
 import com.barbearia.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,8 +28,10 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserCredentialRepository userCredentialRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserDTO.Response create(UserDTO.CreateRequest request) {
         log.info("Creating user: {}", request.getEmail());
@@ -36,13 +43,14 @@ public class UserService {
         User user = User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
                 .phone(request.getPhone())
                 .role(request.getRole())
                 .active(true)
                 .build();
 
         user = userRepository.save(user);
+        saveCredential(user, request.getPassword());
+        eventPublisher.publishEvent(CachedEntityChangedEvent.user(user.getId()));
         log.info("User created with id: {}", user.getId());
 
         return userMapper.toResponse(user);
@@ -63,6 +71,10 @@ public class UserService {
         }
 
         user = userRepository.save(user);
+        if (user.isBarber()) {
+            eventPublisher.publishEvent(ScheduleChangedEvent.all());
+        }
+        eventPublisher.publishEvent(CachedEntityChangedEvent.user(id));
         log.info("User updated: {}", id);
 
         return userMapper.toResponse(user);
@@ -71,15 +83,16 @@ public class UserService {
     public void changePassword(UUID id, UserDTO.ChangePasswordRequest request) {
         log.info("Changing password for user: {}", id);
 
-        User user = userRepository.findById(id)
+        UserCredential credential = userCredentialRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
 
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordEncoder.matches(request.getCurrentPassword(), credential.getPassword())) {
             throw new BusinessException("INVALID_PASSWORD", "Senha atual incorreta");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        // Credenciais não ficam no cache de segundo nível: não há entrada de User a descartar
+        credential.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        userCredentialRepository.save(credential);
         log.info("Password changed for user: {}", id);
     }
 
@@ -117,6 +130,10 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
 
+        if (user.isBarber()) {
+            eventPublisher.publishEvent(ScheduleChangedEvent.all());
+        }
+
         if (!user.getAppointments().isEmpty()) {
             user.setActive(false);
             userRepository.save(user);
@@ -125,6 +142,7 @@ public class UserService {
             userRepository.delete(user);
             log.info("User deleted: {}", id);
         }
+        eventPublisher.publishEvent(CachedEntityChangedEvent.user(id));
     }
 
     @Transactional(readOnly = true)
@@ -149,11 +167,20 @@ public class UserService {
         User admin = User.builder()
                 .name(name)
                 .email(email)
-                .password(passwordEncoder.encode(password))
                 .role(UserRole.ADMIN)
                 .active(true)
                 .build();
 
-        return userRepository.save(admin);
+        admin = userRepository.save(admin);
+        saveCredential(admin, password);
+        eventPublisher.publishEvent(CachedEntityChangedEvent.user(admin.getId()));
+        return admin;
+    }
+
+    private void saveCredential(User user, String rawPassword) {
+        userCredentialRepository.save(UserCredential.builder()
+                .userId(user.getId())
+                .password(passwordEncoder.encode(rawPassword))
+                .build());
     }
 }
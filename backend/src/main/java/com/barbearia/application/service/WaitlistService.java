@@ -0,0 +1,296 @@
+package com.barbearia.application.service;
+
+import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.dto.WaitlistDTO;
+import com.barbearia.application.event.AppointmentChangedEvent;
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.exception.ResourceNotFoundException;
+import com.barbearia.application.mapper.WaitlistMapper;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.SlotHold;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.WaitlistEntry;
+import com.barbearia.domain.enums.WaitlistStatus;
+import com.barbearia.domain.repository.ServiceRepository;
+import com.barbearia.domain.repository.UserRepository;
+import com.barbearia.domain.repository.WaitlistEntryRepository;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
+import com.barbearia.infrastructure.notification.NotificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Lista de espera orientada a eventos: cada intervalo liberado (cancelamento, remarcação, reserva temporária
+// expirada) é casado com as entradas que o aceitam, por ordem de chegada. O candidato recebe o horário
+// segurado por uma reserva temporária e um email com o código para concluir o agendamento.
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WaitlistService {
+
+    private static final int MAX_CANDIDATES = 20;
+    private static final Duration MIN_OFFER_TTL = Duration.ofMinutes(5);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ServiceRepository serviceRepository;
+    private final UserRepository userRepository;
+    private final AppointmentService appointmentService;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final NotificationService notificationService;
+    private final WaitlistMapper waitlistMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.booking.min-advance-hours:1}")
+    private int minAdvanceHours;
+
+    @Value("${app.booking.max-days-ahead:30}")
+    private int maxDaysAhead;
+
+    @Value("${app.booking.slot-duration-minutes:15}")
+    private int slotDurationMinutes;
+
+    @Value("${app.waitlist.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.waitlist.offer-minutes:30}")
+    private int offerMinutes;
+
+    private ExecutorService matchers;
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    void initMatchers() {
+        matchers = Executors.newVirtualThreadPerTaskExecutor();
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdownMatchers() {
+        matchers.shutdown();
+    }
+
+    public WaitlistDTO.Response join(WaitlistDTO.Request request) {
+        log.info("Adding {} to waitlist for service: {}", request.getClientName(), request.getServiceId());
+
+        if (!enabled) {
+            throw new BusinessException("WAITLIST_DISABLED", "Lista de espera não está disponível");
+        }
+
+        Service service = serviceRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "id", request.getServiceId()));
+
+        if (!service.isActive()) {
+            throw new BusinessException("SERVICE_INACTIVE", "Serviço não está ativo");
+        }
+
+        User barber = null;
+        if (request.getBarberId() != null) {
+            barber = userRepository.findById(request.getBarberId())
+                    .filter(u -> u.isActive() && u.isBarber())
+                    .orElseThrow(() -> new ResourceNotFoundException("Barbeiro", "id", request.getBarberId()));
+        }
+
+        validateWindow(request.getWindowStart(), request.getWindowEnd(), service);
+
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .service(service)
+                .barber(barber)
+                .clientName(request.getClientName())
+                .clientPhone(request.getClientPhone())
+                .clientEmail(request.getClientEmail())
+                .windowStart(request.getWindowStart())
+                .windowEnd(request.getWindowEnd())
+                .build();
+
+        entry = waitlistEntryRepository.save(entry);
+        log.info("Waitlist entry created with id: {}", entry.getId());
+
+        return waitlistMapper.toResponse(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistDTO.Response findByToken(String token) {
+        return waitlistMapper.toResponse(findEntry(token));
+    }
+
+    public WaitlistDTO.Response leave(String token) {
+        WaitlistEntry entry = findEntry(token);
+        log.info("Removing waitlist entry: {}", entry.getId());
+
+        if (!entry.isOpen()) {
+            throw new BusinessException("WAITLIST_CLOSED", "Esta inscrição na lista de espera já foi encerrada");
+        }
+
+        // A reserva liberada volta a ser casada com o próximo da fila depois do commit
+        if (entry.getStatus() == WaitlistStatus.OFFERED) {
+            slotHoldRegistry.release(entry.getOfferHoldToken());
+        }
+
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        return waitlistMapper.toResponse(waitlistEntryRepository.save(entry));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        // Eventos remotos são casados pela instância que liberou o horário
+        if (!enabled || event.remote() || event.occupied() || event.startTime() == null) {
+            return;
+        }
+        matchers.submit(() -> match(event.barberId(), event.startTime(), event.endTime()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (!enabled || event.remote() || event.type() != AppointmentChangedEvent.Type.CREATED) {
+            return;
+        }
+        // O horário ofertado só pode ser agendado com o código da reserva, então barbeiro + início identificam a oferta
+        AppointmentDTO.CalendarEvent appointment = event.appointment();
+        matchers.submit(() -> transaction.executeWithoutResult(status ->
+                waitlistEntryRepository.markBooked(appointment.getBarberId(), appointment.getStart())));
+    }
+
+    @Scheduled(fixedRateString = "${app.waitlist.expire-interval-ms:60000}")
+    public void expireStale() {
+        int expired = waitlistEntryRepository.expireStale(LocalDateTime.now());
+        if (expired > 0) {
+            log.info("Expired {} waitlist entries", expired);
+        }
+    }
+
+    void match(UUID barberId, LocalDateTime startTime, LocalDateTime endTime) {
+        List<WaitlistDTO.Offer> offers = new ArrayList<>();
+        try {
+            transaction.executeWithoutResult(status -> offer(barberId, startTime, endTime, offers));
+        } catch (Exception e) {
+            // Reservas criadas numa transação desfeita não podem continuar segurando o horário
+            offers.forEach(offer -> slotHoldRegistry.release(offer.getHoldToken()));
+            log.error("Waitlist matching failed for barber {} at {}: {}", barberId, startTime, e.getMessage());
+            return;
+        }
+        offers.forEach(notificationService::sendWaitlistOffer);
+    }
+
+    private void offer(UUID barberId, LocalDateTime startTime, LocalDateTime endTime,
+                       List<WaitlistDTO.Offer> offers) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!endTime.isAfter(now.plusHours(minAdvanceHours))) {
+            return;
+        }
+
+        List<WaitlistEntry> candidates = waitlistEntryRepository.lockWaiting(barberId, startTime, endTime, MAX_CANDIDATES);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        User barber = userRepository.findById(barberId).orElse(null);
+        if (barber == null || !barber.isActive()) {
+            return;
+        }
+
+        // Um intervalo longo pode atender mais de um cliente; cada reserva criada tira seu trecho dos seguintes
+        for (WaitlistEntry entry : candidates) {
+            findHold(entry, barberId, startTime, endTime, now).ifPresent(hold -> {
+                entry.markOffered(hold.getToken(), barberId, hold.getStartTime(), hold.getExpiresAt());
+                offers.add(toOffer(entry, barber, hold));
+            });
+        }
+
+        if (!offers.isEmpty()) {
+            log.info("Offered slot of barber {} at {} to {} waitlist entries", barberId, startTime, offers.size());
+        }
+    }
+
+    // Percorre a grade a partir do início liberado, dentro da janela do cliente
+    private Optional<SlotHold> findHold(WaitlistEntry entry, UUID barberId, LocalDateTime startTime,
+                                        LocalDateTime endTime, LocalDateTime now) {
+        Service service = entry.getService();
+        if (!service.isActive()) {
+            return Optional.empty();
+        }
+
+        LocalDateTime to = endTime.isBefore(entry.getWindowEnd()) ? endTime : entry.getWindowEnd();
+        for (LocalDateTime slot = startTime; slot.isBefore(to); slot = slot.plusMinutes(slotDurationMinutes)) {
+            if (slot.isBefore(entry.getWindowStart())) {
+                continue;
+            }
+            if (slot.plusMinutes(service.getTotalDurationMinutes()).isAfter(entry.getWindowEnd())) {
+                break;
+            }
+
+            Duration ttl = offerTtl(slot, now);
+            if (ttl.compareTo(MIN_OFFER_TTL) < 0) {
+                continue;
+            }
+
+            Optional<SlotHold> hold = appointmentService.tryHoldSlot(service, barberId, slot, ttl);
+            if (hold.isPresent()) {
+                return hold;
+            }
+        }
+        return Optional.empty();
+    }
+
+    // A oferta vence antes da antecedência mínima, senão o cliente não conseguiria mais agendar com ela
+    private Duration offerTtl(LocalDateTime slot, LocalDateTime now) {
+        Duration untilDeadline = Duration.between(now, slot.minusHours(minAdvanceHours));
+        Duration configured = Duration.ofMinutes(offerMinutes);
+        return untilDeadline.compareTo(configured) < 0 ? untilDeadline : configured;
+    }
+
+    private WaitlistDTO.Offer toOffer(WaitlistEntry entry, User barber, SlotHold hold) {
+        return WaitlistDTO.Offer.builder()
+                .entryId(entry.getId())
+                .recipient(entry.getClientEmail())
+                .clientName(entry.getClientName())
+                .serviceId(entry.getService().getId())
+                .serviceName(entry.getService().getName())
+                .barberId(barber.getId())
+                .barberName(barber.getName())
+                .startTime(hold.getStartTime())
+                .expiresAt(hold.getExpiresAt())
+                .holdToken(hold.getToken())
+                .build();
+    }
+
+    private void validateWindow(LocalDateTime windowStart, LocalDateTime windowEnd, Service service) {
+        if (!windowStart.isBefore(windowEnd)) {
+            throw new BusinessException("INVALID_TIME_RANGE",
+                    "Início da janela deve ser anterior ao fim");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (windowEnd.isBefore(now.plusHours(minAdvanceHours).plusMinutes(service.getTotalDurationMinutes()))) {
+            throw new BusinessException("PAST_TIME", "Janela de espera já encerrada");
+        }
+
+        if (windowStart.toLocalDate().isAfter(now.toLocalDate().plusDays(maxDaysAhead))) {
+            throw new BusinessException("MAX_DAYS_AHEAD",
+                    String.format("Agendamento permitido até %d dias no futuro", maxDaysAhead));
+        }
+    }
+
+    private WaitlistEntry findEntry(String token) {
+        return waitlistEntryRepository.findByAccessToken(token)
+                .orElseThrow(() -> new ResourceNotFoundException("Lista de espera", "token", token));
+    }
+}
@@ -1,6 +1,8 @@
 package com.barbearia.application.service;
 
 import com.barbearia.application.dto.WorkingHoursDTO;
+import com.barbearia.application.event.CachedEntityChangedEvent;
+import com.barbearia.application.event.ScheduleChangedEvent;
 import com.barbearia.application.exception.BusinessException;
 import com.barbearia.application.exception.ResourceNotFoundException;
 import com.barbearia.application.mapper.WorkingHoursMapper;
@@ -11,12 +13,19 @@ import com.barbearia.domain.repository.UserRepository;
 import com.barbearia.domain.repository.WorkingHoursRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -28,6 +37,7 @@ public class WorkingHoursService {
     private final WorkingHoursRepository workingHoursRepository;
     private final UserRepository userRepository;
     private final WorkingHoursMapper workingHoursMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<WorkingHoursDTO.Response> setWorkingHours(UUID barberId, WorkingHoursDTO.BulkRequest request) {
         log.info("Setting working hours for barber: {}", barberId);
@@ -39,32 +49,38 @@ public class WorkingHoursService {
             throw new BusinessException("NOT_BARBER", "Usuário não é um barbeiro");
         }
 
+        Set<DayOfWeekEnum> days = EnumSet.noneOf(DayOfWeekEnum.class);
+        List<WorkingHours> week = new ArrayList<>(request.getWorkingHours().size());
         for (WorkingHoursDTO.Request wh : request.getWorkingHours()) {
-            validateWorkingHours(wh);
-
-            Optional<WorkingHours> existing = workingHoursRepository
-                    .findByBarberIdAndDayOfWeek(barberId, wh.getDayOfWeek());
-
-            if (existing.isPresent()) {
-                WorkingHours workingHours = existing.get();
-                workingHours.setStartTime(wh.getStartTime());
-                workingHours.setEndTime(wh.getEndTime());
-                workingHours.setWorking(wh.isWorking());
-                workingHoursRepository.save(workingHours);
-            } else {
-                WorkingHours workingHours = WorkingHours.builder()
-                        .barber(barber)
-                        .dayOfWeek(wh.getDayOfWeek())
-                        .startTime(wh.getStartTime())
-                        .endTime(wh.getEndTime())
-                        .isWorking(wh.isWorking())
-                        .build();
-                workingHoursRepository.save(workingHours);
+            List<WorkingHours.Interval> intervals = toIntervals(wh);
+
+            if (!days.add(wh.getDayOfWeek())) {
+                throw new BusinessException("DUPLICATE_DAY",
+                        String.format("Dia da semana repetido: %s", wh.getDayOfWeek()));
             }
+
+            WorkingHours workingHours = WorkingHours.builder()
+                    .barber(barber)
+                    .dayOfWeek(wh.getDayOfWeek())
+                    .isWorking(wh.isWorking())
+                    .build();
+            workingHours.setIntervals(intervals);
+            week.add(workingHours);
         }
 
+        List<WorkingHours> saved = workingHoursRepository.upsertAll(week);
+
+        eventPublisher.publishEvent(ScheduleChangedEvent.barber(barberId));
+        eventPublisher.publishEvent(CachedEntityChangedEvent.workingHours());
         log.info("Working hours set for barber: {}", barberId);
-        return findByBarberId(barberId);
+
+        // O upsert devolve só os dias enviados; os demais vêm da leitura, para responder com a semana inteira
+        Map<DayOfWeekEnum, WorkingHours> fullWeek = new EnumMap<>(DayOfWeekEnum.class);
+        workingHoursRepository.findByBarberId(barberId).forEach(wh -> fullWeek.put(wh.getDayOfWeek(), wh));
+        saved.forEach(wh -> fullWeek.put(wh.getDayOfWeek(), wh));
+        return fullWeek.values().stream()
+                .map(workingHoursMapper::toResponse)
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -85,27 +101,53 @@ public class WorkingHoursService {
         LocalTime defaultStart = LocalTime.of(9, 0);
         LocalTime defaultEnd = LocalTime.of(18, 0);
 
+        List<WorkingHours> week = new ArrayList<>(DayOfWeekEnum.values().length);
         for (DayOfWeekEnum day : DayOfWeekEnum.values()) {
-            boolean isWorkingDay = day != DayOfWeekEnum.SUNDAY;
-
-            WorkingHours workingHours = WorkingHours.builder()
+            week.add(WorkingHours.builder()
                     .barber(barber)
                     .dayOfWeek(day)
                     .startTime(defaultStart)
                     .endTime(defaultEnd)
-                    .isWorking(isWorkingDay)
-                    .build();
-
-            workingHoursRepository.save(workingHours);
+                    .isWorking(day != DayOfWeekEnum.SUNDAY)
+                    .build());
         }
 
+        workingHoursRepository.upsertAll(week);
+
+        eventPublisher.publishEvent(ScheduleChangedEvent.barber(barber.getId()));
+        eventPublisher.publishEvent(CachedEntityChangedEvent.workingHours());
         log.info("Default working hours created for barber: {}", barber.getId());
     }
 
-    private void validateWorkingHours(WorkingHoursDTO.Request request) {
-        if (request.isWorking() && !request.getStartTime().isBefore(request.getEndTime())) {
-            throw new BusinessException("INVALID_TIME_RANGE",
-                    "Horário de início deve ser anterior ao horário de término");
+    private List<WorkingHours.Interval> toIntervals(WorkingHoursDTO.Request request) {
+        List<WorkingHours.Interval> intervals;
+        if (request.getIntervals() != null && !request.getIntervals().isEmpty()) {
+            intervals = request.getIntervals().stream()
+                    .map(i -> new WorkingHours.Interval(i.getStartTime(), i.getEndTime()))
+                    .sorted(Comparator.comparing(WorkingHours.Interval::start))
+                    .toList();
+        } else if (request.getStartTime() != null && request.getEndTime() != null) {
+            intervals = List.of(new WorkingHours.Interval(request.getStartTime(), request.getEndTime()));
+        } else {
+            throw new BusinessException("INVALID_TIME_RANGE", "Horário de início e de término são obrigatórios");
+        }
+
+        if (!request.isWorking()) {
+            return intervals;
+        }
+
+        LocalTime previousEnd = null;
+        for (WorkingHours.Interval interval : intervals) {
+            if (!interval.start().isBefore(interval.end())) {
+                throw new BusinessException("INVALID_TIME_RANGE",
+                        "Horário de início deve ser anterior ao horário de término");
+            }
+            if (previousEnd != null && interval.start().isBefore(previousEnd)) {
+                throw new BusinessException("OVERLAPPING_INTERVALS",
+                        String.format("Intervalos de %s se sobrepõem", request.getDayOfWeek()));
+            }
+            previousEnd = interval.end();
         }
+        return intervals;
     }
 }
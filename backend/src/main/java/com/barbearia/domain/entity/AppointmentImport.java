@@ -0,0 +1,44 @@
+package com.barbearia.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Auditoria resumida de uma importação em lote (uma linha por arquivo, não por agendamento)
+@Entity
+@Table(name = "appointment_imports")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AppointmentImport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "performed_by", nullable = false)
+    private String performedBy;
+
+    @Column(name = "performed_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime performedAt = LocalDateTime.now();
+
+    @Column(name = "total_rows", nullable = false)
+    private int totalRows;
+
+    @Column(nullable = false)
+    private int imported;
+
+    @Column(nullable = false)
+    private int rejected;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+}
@@ -0,0 +1,56 @@
+package com.barbearia.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "slot_holds", indexes = {
+    @Index(name = "idx_slot_holds_barber_start", columnList = "barber_id, start_time"),
+    @Index(name = "idx_slot_holds_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_slot_holds_client_key", columnList = "client_key")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotHold {
+
+    @Id
+    @Column(name = "id")
+    private String token;
+
+    @Column(name = "barber_id", nullable = false)
+    private UUID barberId;
+
+    @Column(name = "service_id", nullable = false)
+    private UUID serviceId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    // IP de quem pediu a reserva pública; nulo nas reservas criadas pelo sistema (lista de espera)
+    @Column(name = "client_key", length = 64)
+    private String clientKey;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startTime.isBefore(end) && endTime.isAfter(start);
+    }
+}
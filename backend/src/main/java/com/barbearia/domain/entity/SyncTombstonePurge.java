@@ -0,0 +1,32 @@
+package com.barbearia.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Uma linha por limpeza de exclusões; purgedThrough é a exclusão mais recente que foi apagada
+@Entity
+@Table(name = "sync_tombstone_purges")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTombstonePurge {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "purged_through", nullable = false)
+    private LocalDateTime purgedThrough;
+
+    @Column(nullable = false)
+    private int deleted;
+
+    @Column(name = "performed_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime performedAt = LocalDateTime.now();
+}
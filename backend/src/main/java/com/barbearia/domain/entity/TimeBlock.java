@@ -1,9 +1,15 @@
 package com.barbearia.domain.entity;
 
+import com.barbearia.domain.enums.RecurrenceFrequency;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "time_blocks")
@@ -31,7 +37,61 @@ public class TimeBlock extends BaseEntity {
     @Builder.Default
     private boolean isRecurring = false;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency", length = 10)
+    private RecurrenceFrequency recurrenceFrequency;
+
+    @Column(name = "recurrence_interval")
+    private Integer recurrenceInterval;
+
+    @Column(name = "recurrence_until")
+    private LocalDate recurrenceUntil;
+
     public boolean overlaps(LocalDateTime start, LocalDateTime end) {
         return startTime.isBefore(end) && endTime.isAfter(start);
     }
+
+    // Inícios das ocorrências que cruzam [from, to). Pula direto para a primeira ocorrência da janela,
+    // então o custo depende só de quantas caem nela, não de há quanto tempo a regra existe.
+    public List<LocalDateTime> occurrenceStarts(LocalDateTime from, LocalDateTime to) {
+        if (!isRecurring) {
+            return overlaps(from, to) ? List.of(startTime) : List.of();
+        }
+
+        Duration length = Duration.between(startTime, endTime);
+        long stepDays = (long) (recurrenceInterval != null ? recurrenceInterval : 1)
+                * (recurrenceFrequency == RecurrenceFrequency.WEEKLY ? 7 : 1);
+        long daysToWindow = ChronoUnit.DAYS.between(startTime.toLocalDate(), from.minus(length).toLocalDate());
+        long index = Math.max(0, Math.floorDiv(daysToWindow, stepDays));
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (LocalDateTime start = startTime.plusDays(index * stepDays); start.isBefore(to);
+             start = start.plusDays(stepDays)) {
+            if (recurrenceUntil != null && start.toLocalDate().isAfter(recurrenceUntil)) {
+                break;
+            }
+            if (start.plus(length).isAfter(from)) {
+                starts.add(start);
+            }
+        }
+        return starts;
+    }
+
+    // Cópia não persistida representando uma ocorrência; mantém o id da regra
+    public TimeBlock occurrenceAt(LocalDateTime start) {
+        TimeBlock occurrence = TimeBlock.builder()
+                .barber(barber)
+                .startTime(start)
+                .endTime(start.plus(Duration.between(startTime, endTime)))
+                .reason(reason)
+                .isRecurring(isRecurring)
+                .recurrenceFrequency(recurrenceFrequency)
+                .recurrenceInterval(recurrenceInterval)
+                .recurrenceUntil(recurrenceUntil)
+                .build();
+        occurrence.setId(getId());
+        occurrence.setCreatedAt(getCreatedAt());
+        occurrence.setUpdatedAt(getUpdatedAt());
+        return occurrence;
+    }
 }
@@ -0,0 +1,81 @@
+package com.barbearia.domain.entity;
+
+import com.barbearia.domain.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "waitlist_entries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    // Nulo = qualquer barbeiro
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barber_id")
+    private User barber;
+
+    @Column(name = "client_name", nullable = false, length = 100)
+    private String clientName;
+
+    @Column(name = "client_phone", nullable = false, length = 20)
+    private String clientPhone;
+
+    @Column(name = "client_email", nullable = false)
+    private String clientEmail;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    private LocalDateTime windowEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    @Column(name = "access_token", nullable = false, unique = true)
+    private String accessToken;
+
+    @Column(name = "offer_hold_token")
+    private String offerHoldToken;
+
+    @Column(name = "offer_barber_id")
+    private UUID offerBarberId;
+
+    @Column(name = "offer_start_time")
+    private LocalDateTime offerStartTime;
+
+    @Column(name = "offer_expires_at")
+    private LocalDateTime offerExpiresAt;
+
+    @PrePersist
+    public void generateAccessToken() {
+        if (this.accessToken == null) {
+            this.accessToken = UUID.randomUUID().toString();
+        }
+    }
+
+    public void markOffered(String holdToken, UUID barberId, LocalDateTime startTime, LocalDateTime expiresAt) {
+        this.status = WaitlistStatus.OFFERED;
+        this.offerHoldToken = holdToken;
+        this.offerBarberId = barberId;
+        this.offerStartTime = startTime;
+        this.offerExpiresAt = expiresAt;
+    }
+
+    public boolean isOpen() {
+        return status == WaitlistStatus.WAITING || status == WaitlistStatus.OFFERED;
+    }
+}
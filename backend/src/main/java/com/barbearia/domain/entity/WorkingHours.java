@@ -3,10 +3,19 @@ package com.barbearia.domain.entity;
 import com.barbearia.domain.enums.DayOfWeekEnum;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "working-hours")
 @Table(name = "working_hours", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"barber_id", "day_of_week"})
 })
@@ -35,10 +44,55 @@ public class WorkingHours extends BaseEntity {
     @Builder.Default
     private boolean isWorking = true;
 
+    // Pares [início, fim] em minutos do dia; null quando o expediente é um único intervalo
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "intervals", columnDefinition = "integer[]")
+    private int[] intervalMinutes;
+
+    public List<Interval> getIntervals() {
+        if (intervalMinutes == null || intervalMinutes.length == 0) {
+            return List.of(new Interval(startTime, endTime));
+        }
+        List<Interval> intervals = new ArrayList<>(intervalMinutes.length / 2);
+        for (int i = 0; i + 1 < intervalMinutes.length; i += 2) {
+            intervals.add(new Interval(LocalTime.ofSecondOfDay(intervalMinutes[i] * 60L),
+                    LocalTime.ofSecondOfDay(intervalMinutes[i + 1] * 60L)));
+        }
+        return intervals;
+    }
+
+    public void setIntervals(List<Interval> intervals) {
+        List<Interval> sorted = intervals.stream().sorted(Comparator.comparing(Interval::start)).toList();
+        this.startTime = sorted.get(0).start();
+        this.endTime = sorted.get(sorted.size() - 1).end();
+
+        if (sorted.size() == 1) {
+            this.intervalMinutes = null;
+            return;
+        }
+        int[] minutes = new int[sorted.size() * 2];
+        for (int i = 0; i < sorted.size(); i++) {
+            minutes[2 * i] = sorted.get(i).start().toSecondOfDay() / 60;
+            minutes[2 * i + 1] = sorted.get(i).end().toSecondOfDay() / 60;
+        }
+        this.intervalMinutes = minutes;
+    }
+
     public boolean isWithinWorkingHours(LocalTime time) {
         if (!isWorking) {
             return false;
         }
-        return !time.isBefore(startTime) && time.isBefore(endTime);
+        return getIntervals().stream().anyMatch(i -> !time.isBefore(i.start()) && time.isBefore(i.end()));
+    }
+
+    // O período precisa caber inteiro em um dos intervalos; pausas entre eles nunca recebem agendamento
+    public boolean covers(LocalTime start, LocalTime end) {
+        if (!isWorking) {
+            return false;
+        }
+        return getIntervals().stream().anyMatch(i -> !start.isBefore(i.start()) && !end.isAfter(i.end()));
+    }
+
+    public record Interval(LocalTime start, LocalTime end) {
     }
 }
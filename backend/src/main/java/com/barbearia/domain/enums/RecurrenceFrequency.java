@@ -0,0 +1,6 @@
+package com.barbearia.domain.enums;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY
+}
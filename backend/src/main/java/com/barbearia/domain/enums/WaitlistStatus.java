@@ -0,0 +1,9 @@
+package com.barbearia.domain.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    OFFERED,
+    BOOKED,
+    EXPIRED,
+    CANCELLED
+}
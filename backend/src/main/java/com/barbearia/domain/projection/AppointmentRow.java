@@ -0,0 +1,14 @@
+package com.barbearia.domain.projection;
+
+import com.barbearia.domain.enums.AppointmentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record AppointmentRow(UUID id, UUID barberId, String barberName, UUID serviceId, String serviceName,
+                             Integer serviceDuration, String clientName, String clientPhone, String clientEmail,
+                             LocalDateTime startTime, LocalDateTime endTime, AppointmentStatus status,
+                             BigDecimal priceAtBooking, String notes, String cancellationToken,
+                             boolean createdByAdmin, LocalDateTime createdAt) {
+}
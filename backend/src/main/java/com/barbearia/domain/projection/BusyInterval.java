@@ -0,0 +1,7 @@
+package com.barbearia.domain.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BusyInterval(UUID barberId, LocalDateTime startTime, LocalDateTime endTime) {
+}
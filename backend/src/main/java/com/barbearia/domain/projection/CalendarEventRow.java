@@ -0,0 +1,12 @@
+package com.barbearia.domain.projection;
+
+import com.barbearia.domain.enums.AppointmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Só as colunas exibidas no calendário; carregada via "SELECT new", sem entidades gerenciadas
+public record CalendarEventRow(UUID id, LocalDateTime startTime, LocalDateTime endTime, AppointmentStatus status,
+                               String clientName, String clientPhone, String serviceName,
+                               UUID barberId, String barberName) {
+}
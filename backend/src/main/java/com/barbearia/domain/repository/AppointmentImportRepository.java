@@ -0,0 +1,11 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.AppointmentImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface AppointmentImportRepository extends JpaRepository<AppointmentImport, UUID> {
+}
@@ -2,17 +2,34 @@ package com.barbearia.domain.repository;
 
 import com.barbearia.domain.entity.Appointment;
 import com.barbearia.domain.enums.AppointmentStatus;
+import com.barbearia.domain.projection.AppointmentRow;
+import com.barbearia.domain.projection.BusyInterval;
+import com.barbearia.domain.projection.CalendarEventRow;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, UUID> {
+public interface AppointmentRepository extends JpaRepository<Appointment, UUID>, AppointmentSearchRepository {
+
+    String CALENDAR_COLUMNS = "a.id, a.startTime, a.endTime, a.status, a.clientName, a.clientPhone, " +
+            "s.name, b.id, b.name";
 
     Optional<Appointment> findByCancellationToken(String cancellationToken);
 
@@ -28,16 +45,53 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
     List<Appointment> findOverlappingAppointmentsExcluding(UUID barberId, LocalDateTime startTime,
                                                            LocalDateTime endTime, UUID excludeId);
 
+    @Query("SELECT a FROM Appointment a WHERE a.barber.id IN :barberIds " +
+           "AND a.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND a.startTime < :endTime AND a.endTime > :startTime")
+    List<Appointment> findOverlappingAppointmentsByBarbers(Collection<UUID> barberIds, LocalDateTime startTime,
+                                                           LocalDateTime endTime);
+
+    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND a.startTime < :endTime AND a.endTime > :startTime")
+    long countActiveOverlapping(LocalDateTime startTime, LocalDateTime endTime);
+
+    // Mesmos status que ocupam horário no agendamento ao vivo
+    @Query("SELECT new com.barbearia.domain.projection.BusyInterval(a.barber.id, a.startTime, a.endTime) " +
+           "FROM Appointment a WHERE a.barber.id = :barberId " +
+           "AND a.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND a.startTime < :endTime AND a.endTime > :startTime " +
+           "ORDER BY a.startTime")
+    List<BusyInterval> findBusyIntervals(UUID barberId, LocalDateTime startTime, LocalDateTime endTime);
+
+    default Map<UUID, List<Appointment>> findOverlappingGroupedByBarber(Collection<UUID> barberIds,
+                                                                        LocalDateTime startTime, LocalDateTime endTime) {
+        if (barberIds.isEmpty()) {
+            return Map.of();
+        }
+        return findOverlappingAppointmentsByBarbers(barberIds, startTime, endTime).stream()
+                .collect(Collectors.groupingBy(a -> a.getBarber().getId()));
+    }
+
+    @Query("SELECT new com.barbearia.domain.projection.CalendarEventRow(" + CALENDAR_COLUMNS + ") " +
+           "FROM Appointment a JOIN a.service s JOIN a.barber b " +
+           "WHERE b.id = :barberId " +
+           "AND a.startTime >= :startDate AND a.startTime < :endDate " +
+           "ORDER BY a.startTime")
+    List<CalendarEventRow> findByBarberIdAndDateRange(UUID barberId, LocalDateTime startDate, LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
     @Query("SELECT a FROM Appointment a JOIN FETCH a.service JOIN FETCH a.barber " +
            "WHERE a.barber.id = :barberId " +
+           "AND a.status IN ('SCHEDULED', 'CONFIRMED', 'COMPLETED') " +
            "AND a.startTime >= :startDate AND a.startTime < :endDate " +
            "ORDER BY a.startTime")
-    List<Appointment> findByBarberIdAndDateRange(UUID barberId, LocalDateTime startDate, LocalDateTime endDate);
+    Stream<Appointment> streamByBarberIdAndDateRange(UUID barberId, LocalDateTime startDate, LocalDateTime endDate);
 
-    @Query("SELECT a FROM Appointment a JOIN FETCH a.service JOIN FETCH a.barber " +
+    @Query("SELECT new com.barbearia.domain.projection.CalendarEventRow(" + CALENDAR_COLUMNS + ") " +
+           "FROM Appointment a JOIN a.service s JOIN a.barber b " +
            "WHERE a.startTime >= :startDate AND a.startTime < :endDate " +
            "ORDER BY a.startTime")
-    List<Appointment> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    List<CalendarEventRow> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
 
     @Query("SELECT a FROM Appointment a JOIN FETCH a.service JOIN FETCH a.barber " +
            "WHERE a.status IN ('SCHEDULED', 'CONFIRMED') " +
@@ -48,9 +102,34 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
     @Query("SELECT a FROM Appointment a JOIN FETCH a.service JOIN FETCH a.barber " +
            "WHERE a.barber.id = :barberId " +
            "AND a.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND a.startTime >= :startDate AND a.startTime < :endDate " +
+           "ORDER BY a.startTime")
+    List<Appointment> findActiveByBarberIdAndDateRange(UUID barberId, LocalDateTime startDate, LocalDateTime endDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = :status " +
+           "WHERE a.id IN :ids AND a.status IN ('SCHEDULED', 'CONFIRMED')")
+    int bulkUpdateStatus(Collection<UUID> ids, AppointmentStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "appointments"))
+    @Query(value = "UPDATE appointments SET barber_id = :barberId, " +
+                   "start_time = start_time + make_interval(mins => :shiftMinutes), " +
+                   "end_time = end_time + make_interval(mins => :shiftMinutes) " +
+                   "WHERE id IN (:ids) AND status IN ('SCHEDULED', 'CONFIRMED')",
+           nativeQuery = true)
+    int bulkMove(Collection<UUID> ids, UUID barberId, int shiftMinutes);
+
+    @Query("SELECT new com.barbearia.domain.projection.AppointmentRow(" +
+           "a.id, b.id, b.name, s.id, s.name, s.durationMinutes, a.clientName, a.clientPhone, a.clientEmail, " +
+           "a.startTime, a.endTime, a.status, a.priceAtBooking, a.notes, a.cancellationToken, " +
+           "a.createdByAdmin, a.createdAt) " +
+           "FROM Appointment a JOIN a.service s JOIN a.barber b " +
+           "WHERE b.id = :barberId " +
+           "AND a.status IN ('SCHEDULED', 'CONFIRMED') " +
            "AND a.startTime >= :now " +
            "ORDER BY a.startTime")
-    List<Appointment> findUpcomingByBarberId(UUID barberId, LocalDateTime now);
+    List<AppointmentRow> findUpcomingByBarberId(UUID barberId, LocalDateTime now);
 
     @Query("SELECT a FROM Appointment a " +
            "WHERE a.status IN ('SCHEDULED', 'CONFIRMED') " +
@@ -71,4 +150,12 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
     Optional<Appointment> findByIdWithDetails(UUID id);
 
     List<Appointment> findByClientPhone(String clientPhone);
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.service JOIN FETCH a.barber " +
+           "WHERE (a.updatedAt > :since OR (a.updatedAt = :since AND a.id > :sinceId)) " +
+           "AND a.updatedAt < :horizon " +
+           "AND (:barberId IS NULL OR a.barber.id = :barberId) " +
+           "ORDER BY a.updatedAt, a.id")
+    List<Appointment> findChangedAfter(LocalDateTime since, UUID sinceId, LocalDateTime horizon, UUID barberId,
+                                       Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.enums.AppointmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+// Filtros opcionais (nulo = sem filtro). afterStart/afterId é a posição do cursor (start_time, id).
+public record AppointmentSearchCriteria(Set<AppointmentStatus> statuses, UUID barberId, UUID serviceId,
+                                        String clientPhonePrefix, String clientNamePrefix,
+                                        LocalDateTime from, LocalDateTime to,
+                                        LocalDateTime afterStart, UUID afterId, int limit) {
+}
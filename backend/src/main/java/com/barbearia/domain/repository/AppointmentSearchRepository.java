@@ -0,0 +1,10 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.projection.CalendarEventRow;
+
+import java.util.List;
+
+public interface AppointmentSearchRepository {
+
+    List<CalendarEventRow> search(AppointmentSearchCriteria criteria);
+}
@@ -0,0 +1,78 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.Appointment;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.projection.CalendarEventRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Monta só os predicados dos filtros informados, para que o plano use o índice adequado a cada combinação
+class AppointmentSearchRepositoryImpl implements AppointmentSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CalendarEventRow> search(AppointmentSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CalendarEventRow> query = cb.createQuery(CalendarEventRow.class);
+        Root<Appointment> a = query.from(Appointment.class);
+        Join<Appointment, Service> s = a.join("service");
+        Join<Appointment, User> b = a.join("barber");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.statuses() != null && !criteria.statuses().isEmpty()) {
+            predicates.add(a.get("status").in(criteria.statuses()));
+        }
+        if (criteria.barberId() != null) {
+            predicates.add(cb.equal(b.get("id"), criteria.barberId()));
+        }
+        if (criteria.serviceId() != null) {
+            predicates.add(cb.equal(s.get("id"), criteria.serviceId()));
+        }
+        if (criteria.clientPhonePrefix() != null) {
+            predicates.add(cb.like(a.get("clientPhone"), likePrefix(criteria.clientPhonePrefix()), '\\'));
+        }
+        if (criteria.clientNamePrefix() != null) {
+            predicates.add(cb.like(cb.lower(a.get("clientName")),
+                    likePrefix(criteria.clientNamePrefix().toLowerCase()), '\\'));
+        }
+        if (criteria.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(a.<LocalDateTime>get("startTime"), criteria.from()));
+        }
+        if (criteria.to() != null) {
+            predicates.add(cb.lessThan(a.<LocalDateTime>get("startTime"), criteria.to()));
+        }
+        if (criteria.afterStart() != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(a.<LocalDateTime>get("startTime"), criteria.afterStart()),
+                    cb.and(cb.equal(a.get("startTime"), criteria.afterStart()),
+                            cb.greaterThan(a.<UUID>get("id"), criteria.afterId()))));
+        }
+
+        query.select(cb.construct(CalendarEventRow.class,
+                        a.get("id"), a.get("startTime"), a.get("endTime"), a.get("status"),
+                        a.get("clientName"), a.get("clientPhone"), s.get("name"), b.get("id"), b.get("name")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(a.get("startTime")), cb.asc(a.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(criteria.limit())
+                .getResultList();
+    }
+
+    private String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
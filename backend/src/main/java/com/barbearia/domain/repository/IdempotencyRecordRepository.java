@@ -0,0 +1,59 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.IdempotencyRecord;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Sem o espaço declarado, o Hibernate invalidaria todo o cache de segundo nível a cada INSERT nativo
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "INSERT INTO idempotency_keys (id, request_hash, expires_at, locked_until) " +
+                   "VALUES (:id, :requestHash, :expiresAt, :lockedUntil) ON CONFLICT (id) DO NOTHING",
+           nativeQuery = true)
+    int tryReserve(String id, String requestHash, LocalDateTime expiresAt, LocalDateTime lockedUntil);
+
+    // Retoma uma chave cuja execução passou do prazo sem responder (ex.: instância derrubada no meio)
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.requestHash = :requestHash, r.expiresAt = :expiresAt, " +
+           "r.lockedUntil = :lockedUntil " +
+           "WHERE r.id = :id AND r.responseStatus IS NULL AND r.lockedUntil < :now")
+    int reclaimStale(String id, String requestHash, LocalDateTime expiresAt, LocalDateTime lockedUntil,
+                     LocalDateTime now);
+
+    // lockedUntil identifica a execução: quem perdeu a chave por ter passado do prazo não sobrescreve a nova
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.responseStatus = :responseStatus, r.responseBody = :responseBody, " +
+           "r.lockedUntil = NULL WHERE r.id = :id AND r.lockedUntil = :lockedUntil")
+    int complete(String id, Integer responseStatus, String responseBody, LocalDateTime lockedUntil);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.responseStatus IS NULL " +
+           "AND r.lockedUntil = :lockedUntil")
+    int release(String id, LocalDateTime lockedUntil);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt < :now")
+    int deleteIfExpired(String id, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
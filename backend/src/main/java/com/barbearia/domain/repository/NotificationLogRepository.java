@@ -20,6 +20,12 @@ public interface NotificationLogRepository extends JpaRepository<NotificationLog
     @Query("SELECT n FROM NotificationLog n WHERE n.appointment.id = :appointmentId AND n.type = :type")
     List<NotificationLog> findByAppointmentIdAndType(UUID appointmentId, NotificationType type);
 
+    // SKIP LOCKED: cada instância despacha um lote diferente
+    @Query(value = "SELECT * FROM notification_logs WHERE status = 'PENDING' " +
+                   "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<NotificationLog> lockPending(int limit);
+
     boolean existsByAppointmentIdAndTypeAndStatusIn(UUID appointmentId, NotificationType type,
                                                      List<NotificationStatus> statuses);
 }
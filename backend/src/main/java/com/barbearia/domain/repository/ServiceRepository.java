@@ -1,15 +1,24 @@
 package com.barbearia.domain.repository;
 
 import com.barbearia.domain.entity.Service;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.UUID;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface ServiceRepository extends JpaRepository<Service, UUID> {
 
+    String QUERY_CACHE_REGION = "query-services";
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     List<Service> findByActiveTrueOrderByDisplayOrderAsc();
 
     boolean existsByNameAndIdNot(String name, UUID id);
@@ -0,0 +1,20 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.ShopClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ShopClosureRepository extends JpaRepository<ShopClosure, UUID> {
+
+    List<ShopClosure> findByEndTimeAfterOrderByStartTime(LocalDateTime after);
+
+    @Query("SELECT c FROM ShopClosure c WHERE c.startTime < :endTime AND c.endTime > :startTime " +
+           "ORDER BY c.startTime")
+    List<ShopClosure> findOverlapping(LocalDateTime startTime, LocalDateTime endTime);
+}
@@ -0,0 +1,30 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.SlotHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SlotHoldRepository extends JpaRepository<SlotHold, String> {
+
+    @Query("SELECT h FROM SlotHold h WHERE h.barberId = :barberId " +
+           "AND h.expiresAt > :now " +
+           "AND h.startTime < :endTime AND h.endTime > :startTime")
+    List<SlotHold> findActiveOverlapping(UUID barberId, LocalDateTime startTime, LocalDateTime endTime,
+                                         LocalDateTime now);
+
+    @Query("SELECT COUNT(h) FROM SlotHold h WHERE h.clientKey = :clientKey AND h.expiresAt > :now")
+    long countActiveByClientKey(String clientKey, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SlotHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(LocalDateTime now);
+}
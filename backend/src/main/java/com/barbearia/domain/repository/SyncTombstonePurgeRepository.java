@@ -0,0 +1,17 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.SyncTombstonePurge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SyncTombstonePurgeRepository extends JpaRepository<SyncTombstonePurge, UUID> {
+
+    @Query("SELECT MAX(p.purgedThrough) FROM SyncTombstonePurge p")
+    Optional<LocalDateTime> findLatestPurgedThrough();
+}
@@ -0,0 +1,34 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.SyncTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, UUID> {
+
+    @Query("SELECT t FROM SyncTombstone t " +
+           "WHERE (t.deletedAt > :since OR (t.deletedAt = :since AND t.id > :sinceId)) " +
+           "AND t.deletedAt < :horizon " +
+           "AND (:barberId IS NULL OR t.barberId = :barberId) " +
+           "ORDER BY t.deletedAt, t.id")
+    List<SyncTombstone> findChangedAfter(LocalDateTime since, UUID sinceId, LocalDateTime horizon, UUID barberId,
+                                         Pageable pageable);
+
+    @Query("SELECT MAX(t.deletedAt) FROM SyncTombstone t WHERE t.deletedAt < :before")
+    Optional<LocalDateTime> findNewestDeletedAtBefore(LocalDateTime before);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(LocalDateTime before);
+}
@@ -1,27 +1,55 @@
 package com.barbearia.domain.repository;
 
 import com.barbearia.domain.entity.TimeBlock;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Repository
 public interface TimeBlockRepository extends JpaRepository<TimeBlock, UUID> {
 
     List<TimeBlock> findByBarberId(UUID barberId);
 
+    // Bloqueios recorrentes voltam como regra (primeira ocorrência) e são expandidos por TimeBlockOccurrenceCache
     @Query("SELECT tb FROM TimeBlock tb WHERE tb.barber.id = :barberId " +
-           "AND tb.startTime < :endTime AND tb.endTime > :startTime")
+           "AND tb.startTime < :endTime AND (tb.endTime > :startTime OR tb.isRecurring = true)")
     List<TimeBlock> findOverlappingBlocks(UUID barberId, LocalDateTime startTime, LocalDateTime endTime);
 
     @Query("SELECT tb FROM TimeBlock tb WHERE tb.barber.id = :barberId " +
            "AND tb.startTime >= :startDate AND tb.startTime < :endDate")
     List<TimeBlock> findByBarberIdAndDateRange(UUID barberId, LocalDateTime startDate, LocalDateTime endDate);
 
-    @Query("SELECT tb FROM TimeBlock tb WHERE tb.startTime >= :startDate AND tb.startTime < :endDate")
+    @Query("SELECT tb FROM TimeBlock tb WHERE tb.startTime < :endDate " +
+           "AND (tb.startTime >= :startDate OR tb.isRecurring = true)")
     List<TimeBlock> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT tb FROM TimeBlock tb WHERE tb.barber.id IN :barberIds " +
+           "AND tb.startTime < :endTime AND (tb.endTime > :startTime OR tb.isRecurring = true)")
+    List<TimeBlock> findOverlappingBlocksByBarbers(Collection<UUID> barberIds, LocalDateTime startTime,
+                                                   LocalDateTime endTime);
+
+    default Map<UUID, List<TimeBlock>> findOverlappingGroupedByBarber(Collection<UUID> barberIds,
+                                                                      LocalDateTime startTime, LocalDateTime endTime) {
+        if (barberIds.isEmpty()) {
+            return Map.of();
+        }
+        return findOverlappingBlocksByBarbers(barberIds, startTime, endTime).stream()
+                .collect(Collectors.groupingBy(tb -> tb.getBarber().getId()));
+    }
+
+    @Query("SELECT tb FROM TimeBlock tb JOIN FETCH tb.barber " +
+           "WHERE (tb.updatedAt > :since OR (tb.updatedAt = :since AND tb.id > :sinceId)) " +
+           "AND tb.updatedAt < :horizon " +
+           "AND (:barberId IS NULL OR tb.barber.id = :barberId) " +
+           "ORDER BY tb.updatedAt, tb.id")
+    List<TimeBlock> findChangedAfter(LocalDateTime since, UUID sinceId, LocalDateTime horizon, UUID barberId,
+                                     Pageable pageable);
 }
@@ -2,23 +2,32 @@ package com.barbearia.domain.repository;
 
 import com.barbearia.domain.entity.User;
 import com.barbearia.domain.enums.UserRole;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    String QUERY_CACHE_REGION = "query-users";
+
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
     List<User> findByRoleAndActiveTrue(UserRole role);
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     @Query("SELECT u FROM User u WHERE u.active = true AND (u.role = 'ADMIN' OR u.role = 'BARBER')")
     List<User> findAllActiveBarbers();
 
@@ -0,0 +1,39 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, UUID> {
+
+    Optional<WaitlistEntry> findByAccessToken(String accessToken);
+
+    // Candidatos para um horário liberado, por ordem de chegada. SKIP LOCKED: duas instâncias
+    // casando o mesmo horário nunca oferecem a mesma entrada
+    @Query(value = "SELECT * FROM waitlist_entries WHERE status = 'WAITING' " +
+                   "AND window_start < :endTime AND window_end > :startTime " +
+                   "AND (barber_id IS NULL OR barber_id = :barberId) " +
+                   "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<WaitlistEntry> lockWaiting(UUID barberId, LocalDateTime startTime, LocalDateTime endTime, int limit);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'BOOKED' " +
+           "WHERE w.status = 'OFFERED' " +
+           "AND w.offerBarberId = :barberId AND w.offerStartTime = :startTime")
+    int markBooked(UUID barberId, LocalDateTime startTime);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED' " +
+           "WHERE (w.status = 'OFFERED' AND w.offerExpiresAt <= :now) " +
+           "OR (w.status = 'WAITING' AND w.windowEnd <= :now)")
+    int expireStale(LocalDateTime now);
+}
@@ -2,19 +2,48 @@ package com.barbearia.domain.repository;
 
 import com.barbearia.domain.entity.WorkingHours;
 import com.barbearia.domain.enums.DayOfWeekEnum;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
 
 @Repository
-public interface WorkingHoursRepository extends JpaRepository<WorkingHours, UUID> {
+public interface WorkingHoursRepository extends JpaRepository<WorkingHours, UUID>, WorkingHoursUpsertRepository {
+
+    String QUERY_CACHE_REGION = "query-working-hours";
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     List<WorkingHours> findByBarberId(UUID barberId);
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     Optional<WorkingHours> findByBarberIdAndDayOfWeek(UUID barberId, DayOfWeekEnum dayOfWeek);
 
     void deleteByBarberId(UUID barberId);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
+    @Query("SELECT wh FROM WorkingHours wh WHERE wh.barber.id IN :barberIds AND wh.dayOfWeek IN :daysOfWeek")
+    List<WorkingHours> findByBarberIdsAndDaysOfWeek(Collection<UUID> barberIds, Collection<DayOfWeekEnum> daysOfWeek);
+
+    default Map<UUID, List<WorkingHours>> findGroupedByBarber(Collection<UUID> barberIds,
+                                                              Collection<DayOfWeekEnum> daysOfWeek) {
+        if (barberIds.isEmpty() || daysOfWeek.isEmpty()) {
+            return Map.of();
+        }
+        return findByBarberIdsAndDaysOfWeek(barberIds, daysOfWeek).stream()
+                .collect(Collectors.groupingBy(wh -> wh.getBarber().getId()));
+    }
 }
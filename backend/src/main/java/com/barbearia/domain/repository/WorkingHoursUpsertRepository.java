@@ -0,0 +1,11 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.WorkingHours;
+
+import java.util.List;
+
+public interface WorkingHoursUpsertRepository {
+
+    // Insere ou atualiza por (barbeiro, dia) e devolve as mesmas instâncias com id e datas preenchidos
+    List<WorkingHours> upsertAll(List<WorkingHours> workingHours);
+}
@@ -0,0 +1,67 @@
+package com.barbearia.domain.repository;
+
+import com.barbearia.domain.entity.WorkingHours;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// A semana inteira vai num único INSERT ... ON CONFLICT, em vez de buscar e salvar dia a dia
+@RequiredArgsConstructor
+class WorkingHoursUpsertRepositoryImpl implements WorkingHoursUpsertRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<WorkingHours> upsertAll(List<WorkingHours> workingHours) {
+        if (workingHours.isEmpty()) {
+            return workingHours;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO working_hours (barber_id, day_of_week, start_time, end_time, is_working, intervals) VALUES ");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Map<String, WorkingHours> byKey = new HashMap<>();
+
+        for (int i = 0; i < workingHours.size(); i++) {
+            WorkingHours wh = workingHours.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:barber").append(i).append(", :day").append(i).append(", :start").append(i)
+                    .append(", :end").append(i).append(", :working").append(i).append(", :intervals").append(i).append(')');
+            params.addValue("barber" + i, wh.getBarber().getId())
+                    .addValue("day" + i, wh.getDayOfWeek().name())
+                    .addValue("start" + i, wh.getStartTime())
+                    .addValue("end" + i, wh.getEndTime())
+                    .addValue("working" + i, wh.isWorking())
+                    .addValue("intervals" + i, new SqlParameterValue(Types.ARRAY, wh.getIntervalMinutes()));
+            byKey.put(key(wh.getBarber().getId(), wh.getDayOfWeek().name()), wh);
+        }
+
+        sql.append(" ON CONFLICT (barber_id, day_of_week) DO UPDATE SET ")
+                .append("start_time = EXCLUDED.start_time, end_time = EXCLUDED.end_time, ")
+                .append("is_working = EXCLUDED.is_working, intervals = EXCLUDED.intervals, updated_at = CURRENT_TIMESTAMP ")
+                .append("RETURNING id, barber_id, day_of_week, created_at, updated_at");
+
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            WorkingHours wh = byKey.get(key(rs.getObject("barber_id", UUID.class), rs.getString("day_of_week")));
+            wh.setId(rs.getObject("id", UUID.class));
+            wh.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+            wh.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        });
+
+        return workingHours;
+    }
+
+    private String key(UUID barberId, String dayOfWeek) {
+        return barberId + ":" + dayOfWeek;
+    }
+}
@@ -0,0 +1,115 @@
+package com.barbearia.infrastructure.cache;
+
+import com.barbearia.application.event.ScheduleChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Versões da agenda por barbeiro e dia, gravadas em schedule_versions na mesma transação de cada escrita
+// que altera a disponibilidade. O ETag é a soma das versões que cobrem a consulta: igual em todas as
+// instâncias, lido com uma consulta antes de calcular os horários, e só cresce a cada escrita confirmada.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduleVersionRegistry {
+
+    private static final UUID ALL_BARBERS = new UUID(0L, 0L);
+    private static final int MAX_TRACKED_DAYS = 400;
+
+    private static final String BUMP_DAY = """
+            INSERT INTO schedule_versions (barber_id, day) VALUES (?, ?)
+            ON CONFLICT (barber_id, day) DO UPDATE SET version = schedule_versions.version + 1
+            """;
+
+    private static final String BUMP_ALL_DAYS = """
+            INSERT INTO schedule_versions (barber_id, day) VALUES (?, 'infinity')
+            ON CONFLICT (barber_id, day) DO UPDATE SET version = schedule_versions.version + 1
+            """;
+
+    private static final String BARBER_VERSION = """
+            SELECT COALESCE(SUM(version), 0) FROM schedule_versions
+            WHERE barber_id IN (?, ?) AND (day BETWEEN ? AND ? OR day = 'infinity')
+            """;
+
+    private static final String ANY_BARBER_VERSION = """
+            SELECT COALESCE(SUM(version), 0) FROM schedule_versions
+            WHERE day BETWEEN ? AND ? OR day = 'infinity'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.booking.min-advance-hours:1}")
+    private int minAdvanceHours;
+
+    @Value("${app.booking.slot-duration-minutes:15}")
+    private int slotDurationMinutes;
+
+    @Value("${app.booking.max-days-ahead:30}")
+    private int maxDaysAhead;
+
+    // Síncrono de propósito: roda dentro da transação de quem publicou, então a versão e a escrita
+    // são confirmadas (ou desfeitas) juntas. Eventos de outras instâncias já foram contados na origem.
+    @EventListener
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+
+        if (event.allBarbers()) {
+            jdbcTemplate.update(BUMP_ALL_DAYS, ALL_BARBERS);
+            return;
+        }
+
+        if (event.allDays() || ChronoUnit.DAYS.between(event.from(), event.to()) > MAX_TRACKED_DAYS) {
+            jdbcTemplate.update(BUMP_ALL_DAYS, event.barberId());
+            return;
+        }
+
+        List<Object[]> days = new ArrayList<>();
+        for (LocalDate date = event.from(); !date.isAfter(event.to()); date = date.plusDays(1)) {
+            days.add(new Object[]{event.barberId(), date});
+        }
+        jdbcTemplate.batchUpdate(BUMP_DAY, days);
+    }
+
+    // Uma consulta indexada: deve ser chamado antes de qualquer cálculo de horários
+    public String availabilityTag(UUID barberId, LocalDate from, LocalDate to, String variant) {
+        Long version = barberId != null
+                ? jdbcTemplate.queryForObject(BARBER_VERSION, Long.class, barberId, ALL_BARBERS, from, to)
+                : jdbcTemplate.queryForObject(ANY_BARBER_VERSION, Long.class, from, to);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // Slots do dia corrente deixam de ser válidos com o passar do tempo (antecedência mínima)
+        long timeBucket = from.isAfter(now.plusHours(minAdvanceHours).toLocalDate())
+                ? 0
+                : now.toEpochSecond(ZoneOffset.UTC) / 60 / slotDurationMinutes;
+
+        return "\"" + Long.toString(version != null ? version : 0, 36) + "-" + now.toLocalDate().toEpochDay()
+                + "-" + Long.toString(timeBucket, 36) + "-" + variant + "\"";
+    }
+
+    public String availabilityTagFromToday(UUID barberId, String variant) {
+        LocalDate today = LocalDate.now();
+        return availabilityTag(barberId, today, today.plusDays(maxDaysAhead), variant);
+    }
+
+    // Dias passados nunca entram no ETag de uma consulta futura
+    @Scheduled(cron = "${app.availability.versions.purge-cron:0 45 3 * * *}")
+    public void purgePastDays() {
+        int deleted = jdbcTemplate.update("DELETE FROM schedule_versions WHERE day < ?", LocalDate.now());
+        log.debug("Purged {} schedule versions of past days", deleted);
+    }
+}
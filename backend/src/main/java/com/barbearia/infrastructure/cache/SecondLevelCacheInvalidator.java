@@ -0,0 +1,53 @@
+package com.barbearia.infrastructure.cache;
+
+import com.barbearia.application.event.CachedEntityChangedEvent;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.WorkingHours;
+import com.barbearia.domain.repository.ServiceRepository;
+import com.barbearia.domain.repository.UserRepository;
+import com.barbearia.domain.repository.WorkingHoursRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Descarta entradas do cache de segundo nível após o commit. No nó que escreveu, o Hibernate já
+// atualizou o próprio cache (exceto em escritas via JDBC); nos demais nós o evento chega pelo PgNotifyBridge.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCacheInvalidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Roda antes dos demais ouvintes do mesmo evento (ex.: catálogo público), que remontam a partir do cache
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCachedEntityChanged(CachedEntityChangedEvent event) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+
+        switch (event.type()) {
+            case SERVICE -> evict(cache, Service.class, event, ServiceRepository.QUERY_CACHE_REGION);
+            case USER -> evict(cache, User.class, event, UserRepository.QUERY_CACHE_REGION);
+            case WORKING_HOURS -> evict(cache, WorkingHours.class, event, WorkingHoursRepository.QUERY_CACHE_REGION);
+        }
+    }
+
+    private void evict(Cache cache, Class<?> entityClass, CachedEntityChangedEvent event, String queryRegion) {
+        if (event.id() != null) {
+            cache.evictEntityData(entityClass, event.id());
+        } else {
+            cache.evictEntityData(entityClass);
+        }
+        cache.evictQueryRegion(queryRegion);
+        log.debug("Evicted {} {} from second-level cache (remote: {})",
+                entityClass.getSimpleName(), event.id() != null ? event.id() : "*", event.remote());
+    }
+}
@@ -0,0 +1,93 @@
+package com.barbearia.infrastructure.cache;
+
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.domain.entity.ShopClosure;
+import com.barbearia.domain.repository.ShopClosureRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Fechamentos da barbearia em memória, como intervalos ordenados e já mesclados (início -> fim).
+// Consultas são O(log n) sem acessar o banco; o conjunto é recarregado a cada mudança global da agenda,
+// inclusive as recebidas de outras instâncias.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShopClosureCalendar {
+
+    private final ShopClosureRepository shopClosureRepository;
+
+    private volatile NavigableMap<LocalDateTime, LocalDateTime> closures = Collections.emptyNavigableMap();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // Fechamentos já encerrados não afetam nenhuma reserva
+        List<ShopClosure> upcoming = shopClosureRepository
+                .findByEndTimeAfterOrderByStartTime(LocalDate.now().minusDays(1).atStartOfDay());
+
+        TreeMap<LocalDateTime, LocalDateTime> merged = new TreeMap<>();
+        Map.Entry<LocalDateTime, LocalDateTime> last = null;
+        for (ShopClosure closure : upcoming) {
+            if (last != null && !closure.getStartTime().isAfter(last.getValue())) {
+                if (closure.getEndTime().isAfter(last.getValue())) {
+                    merged.put(last.getKey(), closure.getEndTime());
+                }
+            } else {
+                merged.put(closure.getStartTime(), closure.getEndTime());
+            }
+            last = merged.lastEntry();
+        }
+
+        closures = Collections.unmodifiableNavigableMap(merged);
+        log.debug("Loaded {} shop closure intervals", merged.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        if (event.allBarbers()) {
+            load();
+        }
+    }
+
+    public boolean isClosed(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> candidate = closures.lowerEntry(end);
+        return candidate != null && candidate.getValue().isAfter(start);
+    }
+
+    public boolean isClosedAllDay(LocalDate date) {
+        Map.Entry<LocalDateTime, LocalDateTime> candidate = closures.floorEntry(date.atStartOfDay());
+        return candidate != null && !candidate.getValue().isBefore(date.plusDays(1).atStartOfDay());
+    }
+
+    public List<Interval> overlapping(LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, LocalDateTime> snapshot = closures;
+        LocalDateTime first = snapshot.floorKey(from);
+        List<Interval> result = new ArrayList<>();
+        snapshot.subMap(first != null ? first : from, true, to, false).forEach((start, end) -> {
+            if (end.isAfter(from)) {
+                result.add(new Interval(start, end));
+            }
+        });
+        return result;
+    }
+
+    public record Interval(LocalDateTime start, LocalDateTime end) {
+
+        public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.barbearia.infrastructure.cache;
+
+import com.barbearia.domain.entity.TimeBlock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Expande bloqueios recorrentes apenas para a janela consultada. Os inícios das ocorrências de cada regra
+// dentro do horizonte de agendamento ficam em cache por (id, updated_at): editar a regra troca a chave,
+// e janelas fora do horizonte são calculadas na hora sem entrar no cache.
+@Component
+public class TimeBlockOccurrenceCache {
+
+    @Value("${app.booking.max-days-ahead:30}")
+    private int maxDaysAhead = 30;
+
+    @Value("${app.time-blocks.occurrence-cache-size:2000}")
+    private int maxEntries = 2000;
+
+    private final Map<RuleKey, Occurrences> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RuleKey, Occurrences> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    public List<TimeBlock> expand(List<TimeBlock> blocks, LocalDateTime from, LocalDateTime to) {
+        List<TimeBlock> expanded = new ArrayList<>(blocks.size());
+        for (TimeBlock block : blocks) {
+            if (!block.isRecurring()) {
+                if (block.overlaps(from, to)) {
+                    expanded.add(block);
+                }
+                continue;
+            }
+            for (LocalDateTime start : occurrenceStarts(block, from, to)) {
+                expanded.add(start.equals(block.getStartTime()) ? block : block.occurrenceAt(start));
+            }
+        }
+        return expanded;
+    }
+
+    public Map<UUID, List<TimeBlock>> expand(Map<UUID, List<TimeBlock>> blocksByBarber,
+                                             LocalDateTime from, LocalDateTime to) {
+        Map<UUID, List<TimeBlock>> expanded = new HashMap<>();
+        blocksByBarber.forEach((barberId, blocks) -> {
+            List<TimeBlock> occurrences = expand(blocks, from, to);
+            if (!occurrences.isEmpty()) {
+                expanded.put(barberId, occurrences);
+            }
+        });
+        return expanded;
+    }
+
+    private List<LocalDateTime> occurrenceStarts(TimeBlock rule, LocalDateTime from, LocalDateTime to) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime horizonStart = today.minusDays(1).atStartOfDay();
+        LocalDateTime horizonEnd = today.plusDays(maxDaysAhead + 2L).atStartOfDay();
+
+        if (rule.getId() == null || from.isBefore(horizonStart) || to.isAfter(horizonEnd)) {
+            return rule.occurrenceStarts(from, to);
+        }
+
+        RuleKey key = new RuleKey(rule.getId(), rule.getUpdatedAt());
+        Occurrences occurrences;
+        synchronized (cache) {
+            occurrences = cache.get(key);
+        }
+        // O horizonte avança com a virada do dia; a entrada antiga é recalculada
+        if (occurrences == null || !occurrences.from().equals(horizonStart)) {
+            occurrences = new Occurrences(horizonStart, List.copyOf(rule.occurrenceStarts(horizonStart, horizonEnd)));
+            synchronized (cache) {
+                cache.put(key, occurrences);
+            }
+        }
+
+        Duration length = Duration.between(rule.getStartTime(), rule.getEndTime());
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (LocalDateTime start : occurrences.starts()) {
+            if (!start.isBefore(to)) {
+                break;
+            }
+            if (start.plus(length).isAfter(from)) {
+                starts.add(start);
+            }
+        }
+        return starts;
+    }
+
+    private record RuleKey(UUID id, LocalDateTime updatedAt) {
+    }
+
+    private record Occurrences(LocalDateTime from, List<LocalDateTime> starts) {
+    }
+}
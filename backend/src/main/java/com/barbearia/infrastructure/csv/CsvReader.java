@@ -0,0 +1,95 @@
+package com.barbearia.infrastructure.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Leitor CSV (RFC 4180) registro a registro: aceita campos entre aspas com vírgulas,
+// aspas duplicadas e quebras de linha, sem carregar o arquivo inteiro.
+public class CsvReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char separator;
+    private int pushback = -2;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    // Linha do arquivo onde começa o último registro lido
+    public long recordLine() {
+        return recordLine;
+    }
+
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        if (recordLine == 0 && c == '\uFEFF') {
+            c = read();
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Aspas não fechadas a partir da linha " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushback = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushback != -2) {
+            c = pushback;
+            pushback = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,281 @@
+package com.barbearia.infrastructure.hold;
+
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.exception.ConflictException;
+import com.barbearia.domain.entity.SlotHold;
+import com.barbearia.domain.repository.SlotHoldRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotHoldRegistry {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 512;
+    private static final int BARBER_LOCK_NAMESPACE = 0x686f6c64;
+    private static final int CLIENT_LOCK_NAMESPACE = 0x636c6e74;
+
+    private final SlotHoldRepository slotHoldRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.booking.holds.minutes:5}")
+    private int holdMinutes;
+
+    @Value("${app.booking.holds.mirror-to-db:false}")
+    private boolean mirrorToDb;
+
+    @Value("${app.booking.holds.max-per-client:3}")
+    private int maxPerClient;
+
+    private final Map<String, SlotHold> holdsByToken = new ConcurrentHashMap<>();
+    private final Map<UUID, List<SlotHold>> holdsByBarber = new ConcurrentHashMap<>();
+    private final Map<String, List<SlotHold>> holdsByClient = new ConcurrentHashMap<>();
+    private final TimerWheel<SlotHold> expiryWheel =
+            new TimerWheel<>("slot-hold-expiry", TICK_MILLIS, WHEEL_SIZE, this::expire);
+
+    @PostConstruct
+    void startExpiryWheel() {
+        expiryWheel.start();
+    }
+
+    @PreDestroy
+    void stopExpiryWheel() {
+        expiryWheel.stop();
+    }
+
+    // Reserva pública: cada cliente segura no máximo maxPerClient horários ao mesmo tempo
+    public SlotHold hold(String clientKey, UUID barberId, UUID serviceId, LocalDateTime startTime,
+                         LocalDateTime endTime) {
+        lockInDatabase(clientKey, barberId);
+        while (true) {
+            List<SlotHold> clientHolds = holdsByClient.computeIfAbsent(clientKey, key -> new ArrayList<>());
+            synchronized (clientHolds) {
+                // A lista vazia sai do mapa ao liberar a última reserva; nesse caso pega a nova
+                if (holdsByClient.get(clientKey) != clientHolds) {
+                    continue;
+                }
+                LocalDateTime now = LocalDateTime.now();
+                long active = mirrorToDb
+                        ? slotHoldRepository.countActiveByClientKey(clientKey, now)
+                        : clientHolds.stream().filter(h -> !h.isExpired(now)).count();
+                if (active >= maxPerClient) {
+                    throw new BusinessException("TOO_MANY_HOLDS",
+                            String.format("Limite de %d reservas temporárias simultâneas atingido", maxPerClient));
+                }
+                SlotHold hold = hold(clientKey, barberId, serviceId, startTime, endTime,
+                        Duration.ofMinutes(holdMinutes));
+                clientHolds.add(hold);
+                return hold;
+            }
+        }
+    }
+
+    public SlotHold hold(UUID barberId, UUID serviceId, LocalDateTime startTime, LocalDateTime endTime,
+                         Duration ttl) {
+        lockInDatabase(null, barberId);
+        return hold(null, barberId, serviceId, startTime, endTime, ttl);
+    }
+
+    // Com o espelho ligado, outra instância pode conferir e gravar o mesmo horário ao mesmo tempo.
+    // Advisory locks por cliente e por barbeiro, presos à transação de quem chama, serializam conferência
+    // e inserção até o commit. Vêm antes de qualquer lock local, para que uma transação à espera no banco
+    // nunca segure um monitor desta instância.
+    private void lockInDatabase(String clientKey, UUID barberId) {
+        if (!mirrorToDb) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Mirrored slot holds must be created inside a transaction");
+        }
+        if (clientKey != null) {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + CLIENT_LOCK_NAMESPACE + ", "
+                    + clientKey.hashCode() + ")");
+        }
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + BARBER_LOCK_NAMESPACE + ", "
+                + barberId.hashCode() + ")");
+    }
+
+    private SlotHold hold(String clientKey, UUID barberId, UUID serviceId, LocalDateTime startTime,
+                          LocalDateTime endTime, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        SlotHold hold = SlotHold.builder()
+                .token(UUID.randomUUID().toString())
+                .barberId(barberId)
+                .serviceId(serviceId)
+                .clientKey(clientKey)
+                .startTime(startTime)
+                .endTime(endTime)
+                .expiresAt(now.plus(ttl))
+                .createdAt(now)
+                .build();
+
+        List<SlotHold> barberHolds = holdsByBarber.computeIfAbsent(barberId, id -> new ArrayList<>());
+        synchronized (barberHolds) {
+            if (hasOverlap(barberHolds, startTime, endTime, null, now)
+                    || (mirrorToDb && !slotHoldRepository.findActiveOverlapping(barberId, startTime, endTime, now).isEmpty())) {
+                throw new ConflictException("Horário reservado temporariamente por outro cliente");
+            }
+            barberHolds.add(hold);
+            holdsByToken.put(hold.getToken(), hold);
+        }
+
+        if (mirrorToDb) {
+            slotHoldRepository.save(hold);
+        }
+
+        expiryWheel.schedule(hold, Duration.between(now, hold.getExpiresAt()).toMillis());
+        publishChange(hold, true);
+        log.debug("Slot hold {} created for barber {} at {}", hold.getToken(), barberId, startTime);
+        return hold;
+    }
+
+    public Optional<SlotHold> find(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        SlotHold hold = holdsByToken.get(token);
+        if (hold == null && mirrorToDb) {
+            hold = slotHoldRepository.findById(token).orElse(null);
+        }
+        return Optional.ofNullable(hold).filter(h -> !h.isExpired(now));
+    }
+
+    public void release(String token) {
+        SlotHold hold = holdsByToken.remove(token);
+        if (hold != null) {
+            removeFromBarber(hold);
+            publishChange(hold, false);
+            log.debug("Slot hold {} released", token);
+        }
+        if (mirrorToDb) {
+            slotHoldRepository.deleteById(token);
+        }
+    }
+
+    // Ao confirmar o agendamento: a linha do espelho sai na mesma transação e a reserva em memória só
+    // depois do commit, então um rollback deixa o horário reservado até expirar em vez de livre
+    public void releaseOnCommit(String token) {
+        if (mirrorToDb) {
+            slotHoldRepository.deleteById(token);
+        }
+        SlotHold hold = holdsByToken.get(token);
+        if (hold == null) {
+            return;
+        }
+        publishChange(hold, false);
+
+        Runnable release = () -> {
+            if (holdsByToken.remove(token, hold)) {
+                removeFromBarber(hold);
+                log.debug("Slot hold {} released on commit", token);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release.run();
+            }
+        });
+    }
+
+    public boolean hasOverlappingHold(UUID barberId, LocalDateTime startTime, LocalDateTime endTime,
+                                      String excludeToken) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SlotHold> barberHolds = holdsByBarber.get(barberId);
+        if (barberHolds != null) {
+            synchronized (barberHolds) {
+                if (hasOverlap(barberHolds, startTime, endTime, excludeToken, now)) {
+                    return true;
+                }
+            }
+        }
+        return mirrorToDb && slotHoldRepository.findActiveOverlapping(barberId, startTime, endTime, now).stream()
+                .anyMatch(h -> !h.getToken().equals(excludeToken));
+    }
+
+    public List<SlotHold> findActive(UUID barberId, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime now = LocalDateTime.now();
+        if (mirrorToDb) {
+            return slotHoldRepository.findActiveOverlapping(barberId, startTime, endTime, now);
+        }
+
+        List<SlotHold> barberHolds = holdsByBarber.get(barberId);
+        if (barberHolds == null) {
+            return List.of();
+        }
+        synchronized (barberHolds) {
+            return barberHolds.stream()
+                    .filter(h -> !h.isExpired(now) && h.overlaps(startTime, endTime))
+                    .toList();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.booking.holds.purge-interval-ms:60000}")
+    public void purgeExpiredMirror() {
+        if (mirrorToDb) {
+            slotHoldRepository.deleteExpired(LocalDateTime.now());
+        }
+    }
+
+    private void expire(SlotHold hold) {
+        if (holdsByToken.remove(hold.getToken(), hold)) {
+            removeFromBarber(hold);
+            publishChange(hold, false);
+            log.debug("Slot hold {} expired", hold.getToken());
+        }
+    }
+
+    private void publishChange(SlotHold hold, boolean occupied) {
+        eventPublisher.publishEvent(occupied
+                ? ScheduleChangedEvent.occupied(hold.getBarberId(), hold.getStartTime(), hold.getEndTime())
+                : ScheduleChangedEvent.released(hold.getBarberId(), hold.getStartTime(), hold.getEndTime()));
+    }
+
+    private void removeFromBarber(SlotHold hold) {
+        List<SlotHold> barberHolds = holdsByBarber.get(hold.getBarberId());
+        if (barberHolds != null) {
+            synchronized (barberHolds) {
+                barberHolds.remove(hold);
+            }
+        }
+        List<SlotHold> clientHolds = hold.getClientKey() != null ? holdsByClient.get(hold.getClientKey()) : null;
+        if (clientHolds != null) {
+            synchronized (clientHolds) {
+                if (clientHolds.remove(hold) && clientHolds.isEmpty()) {
+                    holdsByClient.remove(hold.getClientKey(), clientHolds);
+                }
+            }
+        }
+    }
+
+    private boolean hasOverlap(List<SlotHold> holds, LocalDateTime startTime, LocalDateTime endTime,
+                               String excludeToken, LocalDateTime now) {
+        return holds.stream().anyMatch(h -> !h.isExpired(now)
+                && !h.getToken().equals(excludeToken)
+                && h.overlaps(startTime, endTime));
+    }
+}
@@ -0,0 +1,88 @@
+package com.barbearia.infrastructure.hold;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Roda de tempos (hashed timing wheel): agendar é O(1) e cada tick só percorre um balde.
+// Prazos maiores que uma volta ficam no balde até o tick correspondente.
+// Agendar e avançar compartilham um lock: um item agendado enquanto o balde do tick é esvaziado
+// entraria depois da varredura e só venceria uma volta inteira mais tarde.
+@Slf4j
+public class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final Queue<Entry<T>>[] buckets;
+    private final Consumer<T> onExpire;
+    private final ScheduledExecutorService ticker;
+
+    private final Object lock = new Object();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(String name, long tickMillis, int wheelSize, Consumer<T> onExpire) {
+        this.tickMillis = tickMillis;
+        this.onExpire = onExpire;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    public void schedule(T item, long delayMillis) {
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        synchronized (lock) {
+            long deadlineTick = currentTick + ticks;
+            buckets[(int) (deadlineTick % buckets.length)].add(new Entry<>(item, deadlineTick));
+        }
+    }
+
+    void advance() {
+        List<T> expired = new ArrayList<>();
+        synchronized (lock) {
+            long tick = ++currentTick;
+            Iterator<Entry<T>> iterator = buckets[(int) (tick % buckets.length)].iterator();
+
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (entry.deadlineTick() <= tick) {
+                    iterator.remove();
+                    expired.add(entry.item());
+                }
+            }
+        }
+
+        // Os callbacks rodam fora do lock para não travar quem agenda
+        for (T item : expired) {
+            try {
+                onExpire.accept(item);
+            } catch (RuntimeException e) {
+                log.error("Timer wheel expiration callback failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
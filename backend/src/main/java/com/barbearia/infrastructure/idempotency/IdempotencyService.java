@@ -0,0 +1,204 @@
+package com.barbearia.infrastructure.idempotency;
+
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.exception.ConflictException;
+import com.barbearia.domain.entity.IdempotencyRecord;
+import com.barbearia.domain.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    // Deve passar com folga da duração de uma requisição; depois dele a chave em processamento pode ser retomada
+    @Value("${app.idempotency.lock-seconds:60}")
+    private long lockSeconds;
+
+    private final Map<String, StoredResponse> localCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    public <T> ResponseEntity<T> execute(String key, String scope, String operation, Object payload,
+                                         HttpStatus successStatus, Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return ResponseEntity.status(successStatus).body(action.get());
+        }
+
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("INVALID_IDEMPOTENCY_KEY",
+                    String.format("Idempotency-Key deve ter no máximo %d caracteres", MAX_KEY_LENGTH));
+        }
+
+        String id = scope + ":" + key;
+        String requestHash = fingerprint(operation, payload);
+        LocalDateTime now = LocalDateTime.now();
+
+        StoredResponse cached = getCached(id, now);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        LocalDateTime expiresAt = now.plusHours(ttlHours);
+        // Comparado por igualdade no banco: truncado para caber na precisão da coluna
+        LocalDateTime lockedUntil = now.plusSeconds(lockSeconds).truncatedTo(ChronoUnit.MILLIS);
+        if (!reserve(id, requestHash, expiresAt, lockedUntil, now)) {
+            IdempotencyRecord existing = repository.findById(id)
+                    .orElseThrow(() -> new ConflictException("Requisição com esta chave ainda está em processamento"));
+
+            if (!existing.getRequestHash().equals(requestHash)) {
+                throw mismatch();
+            }
+            if (!existing.isCompleted()) {
+                throw new ConflictException("Requisição com esta chave ainda está em processamento");
+            }
+
+            StoredResponse stored = new StoredResponse(existing.getRequestHash(), existing.getResponseStatus(),
+                    existing.getResponseBody(), existing.getExpiresAt());
+            putCached(id, stored);
+            return replay(stored, requestHash, responseType);
+        }
+
+        T body;
+        try {
+            body = action.get();
+        } catch (RuntimeException e) {
+            repository.release(id, lockedUntil);
+            throw e;
+        }
+
+        String json = toJson(body);
+        if (repository.complete(id, successStatus.value(), json, lockedUntil) == 0) {
+            log.warn("Idempotency key lease expired before the response was stored; consider raising lock-seconds");
+        }
+        putCached(id, new StoredResponse(requestHash, successStatus.value(), json, expiresAt));
+
+        return ResponseEntity.status(successStatus).body(body);
+    }
+
+    @Scheduled(fixedRateString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+
+        synchronized (localCache) {
+            localCache.values().removeIf(stored -> stored.expiresAt().isBefore(now));
+        }
+
+        int deleted = repository.deleteExpired(now);
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private boolean reserve(String id, String requestHash, LocalDateTime expiresAt, LocalDateTime lockedUntil,
+                            LocalDateTime now) {
+        if (repository.tryReserve(id, requestHash, expiresAt, lockedUntil) == 1) {
+            return true;
+        }
+        // A execução anterior pode ter caído sem responder nem liberar a chave
+        if (repository.reclaimStale(id, requestHash, expiresAt, lockedUntil, now) == 1) {
+            log.info("Reclaimed idempotency key whose previous execution did not finish");
+            return true;
+        }
+        // A chave pode ter expirado sem ter sido removida ainda pela limpeza periódica
+        return repository.deleteIfExpired(id, now) == 1
+                && repository.tryReserve(id, requestHash, expiresAt, lockedUntil) == 1;
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw mismatch();
+        }
+
+        log.debug("Replaying stored response for idempotent request");
+        try {
+            T body = objectMapper.readValue(stored.body(), responseType);
+            return ResponseEntity.status(stored.status())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid stored idempotent response", e);
+        }
+    }
+
+    private StoredResponse getCached(String id, LocalDateTime now) {
+        synchronized (localCache) {
+            StoredResponse stored = localCache.get(id);
+            if (stored != null && stored.expiresAt().isBefore(now)) {
+                localCache.remove(id);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    private void putCached(String id, StoredResponse stored) {
+        synchronized (localCache) {
+            localCache.put(id, stored);
+        }
+    }
+
+    private String fingerprint(String operation, Object payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            if (payload != null) {
+                digest.update(objectMapper.writeValueAsBytes(payload));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent response", e);
+        }
+    }
+
+    private BusinessException mismatch() {
+        return new BusinessException("IDEMPOTENCY_KEY_REUSED",
+                "Idempotency-Key já utilizada com uma requisição diferente");
+    }
+
+    private record StoredResponse(String requestHash, int status, String body, LocalDateTime expiresAt) {
+    }
+}
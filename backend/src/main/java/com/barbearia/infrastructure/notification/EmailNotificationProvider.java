@@ -1,5 +1,6 @@
 package com.barbearia.infrastructure.notification;
 
+import com.barbearia.application.dto.WaitlistDTO;
 import com.barbearia.domain.entity.Appointment;
 import com.barbearia.domain.enums.NotificationType;
 import lombok.RequiredArgsConstructor;
@@ -115,6 +116,56 @@ public class EmailNotificationProvider implements NotificationProvider {
         return sb.toString();
     }
 
+    // Oferta da lista de espera: não há agendamento ainda, então não passa pelo NotificationLog
+    public boolean sendWaitlistOffer(WaitlistDTO.Offer offer) {
+        try {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(offer.getRecipient());
+            message.setSubject(businessName + " - Horário Disponível");
+            message.setText(buildWaitlistOfferContent(offer));
+
+            mailSender.send(message);
+            log.info("Waitlist offer sent to {} for entry {}", offer.getRecipient(), offer.getEntryId());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to send waitlist offer to {} for entry {}: {}",
+                    offer.getRecipient(), offer.getEntryId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private String buildWaitlistOfferContent(WaitlistDTO.Offer offer) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Olá ").append(offer.getClientName()).append(",\n\n");
+        sb.append("Abriu um horário que você estava esperando!\n\n");
+        sb.append("Detalhes:\n");
+        sb.append("- Serviço: ").append(offer.getServiceName()).append("\n");
+        sb.append("- Data: ").append(offer.getStartTime().format(DATE_FORMATTER)).append("\n");
+        sb.append("- Horário: ").append(offer.getStartTime().format(TIME_FORMATTER)).append("\n");
+        sb.append("- Profissional: ").append(offer.getBarberName()).append("\n");
+
+        if (!businessAddress.isEmpty()) {
+            sb.append("- Local: ").append(businessAddress).append("\n");
+        }
+
+        sb.append("\n");
+        sb.append("O horário está reservado para você até ")
+                .append(offer.getExpiresAt().format(TIME_FORMATTER))
+                .append(" do dia ").append(offer.getExpiresAt().format(DATE_FORMATTER)).append(".\n");
+        sb.append("Para confirmar, conclua o agendamento com o código de reserva: ")
+                .append(offer.getHoldToken()).append("\n\n");
+
+        sb.append("Atenciosamente,\n");
+        sb.append(businessName);
+
+        if (!businessPhone.isEmpty()) {
+            sb.append("\nTelefone: ").append(businessPhone);
+        }
+
+        return sb.toString();
+    }
+
     private String getSubject(NotificationType type) {
         return switch (type) {
             case CONFIRMATION -> businessName + " - Agendamento Confirmado";
@@ -1,6 +1,7 @@
 package com.barbearia.infrastructure.notification;
 
 import com.barbearia.application.dto.NotificationDTO;
+import com.barbearia.application.dto.WaitlistDTO;
 import com.barbearia.application.exception.ResourceNotFoundException;
 import com.barbearia.domain.entity.Appointment;
 import com.barbearia.domain.entity.NotificationLog;
@@ -13,6 +14,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -40,20 +42,9 @@ public class NotificationService {
             return;
         }
 
-        String content = emailProvider.buildContent(appointment, type);
+        NotificationLog notification = notificationLogRepository.save(buildPending(appointment, type));
 
-        NotificationLog notification = NotificationLog.builder()
-                .appointment(appointment)
-                .type(type)
-                .channel(emailProvider.getChannel())
-                .recipient(recipient)
-                .content(content)
-                .status(NotificationStatus.PENDING)
-                .build();
-
-        notification = notificationLogRepository.save(notification);
-
-        boolean sent = emailProvider.send(appointment, type, recipient, content);
+        boolean sent = emailProvider.send(appointment, type, recipient, notification.getContent());
 
         if (sent) {
             notification.markAsSent();
@@ -64,6 +55,52 @@ public class NotificationService {
         notificationLogRepository.save(notification);
     }
 
+    // Registra as notificações como pendentes sem enviar; o NotificationDispatcher faz o envio depois do commit
+    public void enqueue(Collection<Appointment> appointments, NotificationType type) {
+        if (!notificationsEnabled) {
+            log.debug("Notifications disabled, skipping");
+            return;
+        }
+
+        List<NotificationLog> pending = appointments.stream()
+                .filter(a -> a.getClientEmail() != null && !a.getClientEmail().isBlank())
+                .map(a -> buildPending(a, type))
+                .toList();
+
+        notificationLogRepository.saveAll(pending);
+        log.debug("Enqueued {} {} notifications", pending.size(), type);
+    }
+
+    public boolean sendWaitlistOffer(WaitlistDTO.Offer offer) {
+        if (!notificationsEnabled) {
+            log.debug("Notifications disabled, skipping");
+            return false;
+        }
+        return emailProvider.sendWaitlistOffer(offer);
+    }
+
+    public int dispatchPending(int batchSize) {
+        List<NotificationLog> pending = notificationLogRepository.lockPending(batchSize);
+
+        for (NotificationLog notification : pending) {
+            boolean sent = emailProvider.send(
+                    notification.getAppointment(),
+                    notification.getType(),
+                    notification.getRecipient(),
+                    notification.getContent()
+            );
+
+            if (sent) {
+                notification.markAsSent();
+            } else {
+                notification.markAsFailed("Falha no envio de email");
+            }
+        }
+
+        notificationLogRepository.saveAll(pending);
+        return pending.size();
+    }
+
     public void resendNotification(UUID notificationId) {
         log.info("Resending notification: {}", notificationId);
 
@@ -104,6 +141,17 @@ public class NotificationService {
         );
     }
 
+    private NotificationLog buildPending(Appointment appointment, NotificationType type) {
+        return NotificationLog.builder()
+                .appointment(appointment)
+                .type(type)
+                .channel(emailProvider.getChannel())
+                .recipient(appointment.getClientEmail())
+                .content(emailProvider.buildContent(appointment, type))
+                .status(NotificationStatus.PENDING)
+                .build();
+    }
+
     private NotificationDTO.Response toResponse(NotificationLog log) {
         return NotificationDTO.Response.builder()
                 .id(log.getId())
@@ -0,0 +1,139 @@
+package com.barbearia.infrastructure.realtime;
+
+import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.event.AppointmentChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Deltas do calendário administrativo numerados em sequência. Os últimos eventos ficam num
+// buffer circular para que o tablet retome do Last-Event-ID ao reconectar; se a sequência pedida
+// já saiu do buffer (ou veio de outra instância/reinício), o cliente recebe "reset" e recarrega o período.
+@Component
+@Slf4j
+public class AdminCalendarStream {
+
+    private static final UUID ALL_BARBERS = new UUID(0L, 0L);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    @Value("${app.realtime.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.realtime.sse.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${app.realtime.calendar.replay-size:1024}")
+    private int replaySize;
+
+    private final Map<SseSubscriber, UUID> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private SseMessage[] replay;
+    private long sequence;
+
+    @PostConstruct
+    void initReplayBuffer() {
+        replay = new SseMessage[replaySize];
+    }
+
+    // barberId nulo = todos os barbeiros
+    public SseEmitter subscribe(UUID barberId, String lastEventId) {
+        UUID filter = barberId != null ? barberId : ALL_BARBERS;
+        SseSubscriber subscriber = new SseSubscriber(createEmitter(), replaySize + bufferSize,
+                senders, subscribers::remove);
+
+        synchronized (this) {
+            Long resumeFrom = parseSequence(lastEventId);
+            if (lastEventId != null && (resumeFrom == null || resumeFrom > sequence
+                    || sequence - resumeFrom > replaySize)) {
+                subscriber.offer(new SseMessage(eventId(sequence), "reset", Map.of("sequence", sequence)));
+            } else {
+                subscriber.offer(new SseMessage(eventId(sequence), "connected", Map.of("sequence", sequence)));
+                if (resumeFrom != null) {
+                    for (long seq = resumeFrom + 1; seq <= sequence; seq++) {
+                        SseMessage message = replay[(int) (seq % replaySize)];
+                        if (matches(filter, message)) {
+                            subscriber.offer(message);
+                        }
+                    }
+                }
+            }
+            // Registrar dentro do mesmo bloqueio garante que nenhum evento fica entre o replay e o ao vivo
+            subscribers.put(subscriber, filter);
+        }
+
+        log.debug("Admin calendar stream subscribed (barber {}, resume {})", barberId, lastEventId);
+        return subscriber.emitter();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        synchronized (this) {
+            long seq = ++sequence;
+            SseMessage message = new SseMessage(eventId(seq), "calendar", AppointmentDTO.CalendarDelta.builder()
+                    .sequence(seq)
+                    .type(event.type().name())
+                    .appointment(event.appointment())
+                    .build());
+            replay[(int) (seq % replaySize)] = message;
+
+            subscribers.forEach((subscriber, filter) -> {
+                if (matches(filter, message)) {
+                    subscriber.offer(message);
+                }
+            });
+        }
+    }
+
+    // Os testes substituem o emissor para capturar os eventos sem um servlet
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    @Scheduled(fixedRateString = "${app.realtime.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.keySet().forEach(s -> s.offer(SseMessage.HEARTBEAT));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.keySet().forEach(SseSubscriber::evict);
+        senders.shutdown();
+    }
+
+    private boolean matches(UUID barberId, SseMessage message) {
+        if (barberId.equals(ALL_BARBERS)) {
+            return true;
+        }
+        AppointmentDTO.CalendarDelta delta = (AppointmentDTO.CalendarDelta) message.data();
+        return delta.getAppointment() != null && barberId.equals(delta.getAppointment().getBarberId());
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    private Long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
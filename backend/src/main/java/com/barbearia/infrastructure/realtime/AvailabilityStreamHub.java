@@ -0,0 +1,166 @@
+package com.barbearia.infrastructure.realtime;
+
+import com.barbearia.application.dto.AvailabilityDTO;
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class AvailabilityStreamHub {
+
+    private static final UUID ALL_BARBERS = new UUID(0L, 0L);
+    private static final int MAX_EVENT_DAYS = 31;
+
+    @Value("${app.realtime.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.realtime.sse.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${app.realtime.sse.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.realtime.sse.max-subscribers-per-client:20}")
+    private int maxSubscribersPerClient;
+
+    private final Map<StreamKey, Set<SseSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Map<String, Integer> subscribersByClient = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    // clientKey segue a mesma chave do limite de reservas (IP de origem)
+    public SseEmitter subscribe(UUID barberId, LocalDate date, String clientKey) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new BusinessException("TOO_MANY_SUBSCRIBERS", "Limite de conexões atingido, tente novamente mais tarde");
+        }
+        if (subscribersByClient.merge(clientKey, 1, Integer::sum) > maxSubscribersPerClient) {
+            release(clientKey);
+            throw new BusinessException("TOO_MANY_SUBSCRIBERS", "Limite de conexões deste cliente atingido");
+        }
+
+        // Daqui em diante as vagas só são devolvidas por release, chamado uma única vez pelo fechamento
+        StreamKey key = new StreamKey(barberId != null ? barberId : ALL_BARBERS, date);
+        SseSubscriber subscriber;
+        try {
+            subscriber = new SseSubscriber(createEmitter(), bufferSize, senders,
+                    closed -> unsubscribe(key, clientKey, closed));
+        } catch (RuntimeException e) {
+            release(clientKey);
+            throw e;
+        }
+
+        subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        // Fechado antes de entrar no conjunto: as vagas já voltaram, falta só tirá-lo de lá
+        if (subscriber.isClosed()) {
+            removeFromSet(key, subscriber);
+        }
+        subscriber.offer(SseMessage.of("connected", AvailabilityDTO.ChangeNotification.builder()
+                .barberId(barberId)
+                .date(date)
+                .build()));
+
+        log.debug("Availability stream subscribed for barber {} on {} ({} open)", barberId, date, subscriberCount.get());
+        return subscriber.emitter();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        if (event.allBarbers()) {
+            SseMessage refresh = SseMessage.of("refresh", AvailabilityDTO.ChangeNotification.builder().build());
+            subscribers.values().forEach(set -> set.forEach(s -> s.offer(refresh)));
+            return;
+        }
+
+        if (event.allDays() || ChronoUnit.DAYS.between(event.from(), event.to()) > MAX_EVENT_DAYS) {
+            SseMessage refresh = SseMessage.of("refresh", AvailabilityDTO.ChangeNotification.builder()
+                    .barberId(event.barberId())
+                    .build());
+            subscribers.forEach((key, set) -> {
+                if (key.barberId().equals(event.barberId()) || key.barberId().equals(ALL_BARBERS)) {
+                    set.forEach(s -> s.offer(refresh));
+                }
+            });
+            return;
+        }
+
+        for (LocalDate date = event.from(); !date.isAfter(event.to()); date = date.plusDays(1)) {
+            SseMessage change = SseMessage.of("availability", AvailabilityDTO.ChangeNotification.builder()
+                    .barberId(event.barberId())
+                    .date(date)
+                    .startTime(event.startTime())
+                    .endTime(event.endTime())
+                    .available(!event.occupied())
+                    .build());
+            deliver(new StreamKey(event.barberId(), date), change);
+            deliver(new StreamKey(ALL_BARBERS, date), change);
+        }
+    }
+
+    // Mantém as conexões vivas atrás de proxies e detecta clientes que sumiram
+    // Os testes substituem o emissor para capturar os eventos sem um servlet
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    @Scheduled(fixedRateString = "${app.realtime.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(s -> s.offer(SseMessage.HEARTBEAT)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(SseSubscriber::evict));
+        senders.shutdown();
+    }
+
+    private void deliver(StreamKey key, SseMessage message) {
+        Set<SseSubscriber> set = subscribers.get(key);
+        if (set != null) {
+            set.forEach(s -> s.offer(message));
+        }
+    }
+
+    // SseSubscriber chama onClose uma única vez, seja por conclusão, timeout, erro ou despejo
+    private void unsubscribe(StreamKey key, String clientKey, SseSubscriber subscriber) {
+        removeFromSet(key, subscriber);
+        release(clientKey);
+    }
+
+    private void removeFromSet(StreamKey key, SseSubscriber subscriber) {
+        Set<SseSubscriber> set = subscribers.get(key);
+        if (set != null && set.remove(subscriber)) {
+            subscribers.computeIfPresent(key, (k, v) -> v.isEmpty() ? null : v);
+        }
+    }
+
+    private void release(String clientKey) {
+        subscriberCount.decrementAndGet();
+        subscribersByClient.computeIfPresent(clientKey, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private record StreamKey(UUID barberId, LocalDate date) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.barbearia.infrastructure.realtime;
+
+import com.barbearia.application.event.AppointmentChangedEvent;
+import com.barbearia.application.event.CachedEntityChangedEvent;
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+// Replica as mudanças de agenda, do calendário e do cache de segundo nível entre instâncias via LISTEN/NOTIFY do PostgreSQL.
+// O NOTIFY é emitido dentro da transação da escrita, então só chega aos outros nós após o commit.
+// Desligado por padrão: o LISTEN prende uma conexão do pool pela vida toda do processo, o que só vale
+// a pena com mais de uma instância.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PgNotifyBridge {
+
+    private static final String CHANNEL = "schedule_changes";
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long MAX_BACKOFF_MS = 30000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.realtime.pg-notify.enabled:false}")
+    private boolean enabled;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void publish(ScheduleChangedEvent event) {
+        if (!enabled || event.remote()) {
+            return;
+        }
+
+        notify(new Envelope(nodeId, event, null, null));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void publish(AppointmentChangedEvent event) {
+        if (!enabled || event.remote()) {
+            return;
+        }
+
+        notify(new Envelope(nodeId, null, event, null));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void publish(CachedEntityChangedEvent event) {
+        if (!enabled || event.remote()) {
+            return;
+        }
+
+        notify(new Envelope(nodeId, null, null, event));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        listener = Thread.ofPlatform().name("pg-notify-listener").daemon().start(this::listenLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        long backoff = 1000;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for schedule changes on channel {}", CHANNEL);
+                backoff = 1000;
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Schedule change listener disconnected, retrying in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void notify(Envelope envelope) {
+        try {
+            String payload = objectMapper.writeValueAsString(envelope);
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL, payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize schedule change: {}", e.getMessage());
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            Envelope envelope = objectMapper.readValue(payload, Envelope.class);
+            if (nodeId.equals(envelope.node())) {
+                return;
+            }
+            if (envelope.schedule() != null) {
+                eventPublisher.publishEvent(envelope.schedule().asRemote());
+            }
+            if (envelope.calendar() != null) {
+                eventPublisher.publishEvent(envelope.calendar().asRemote());
+            }
+            if (envelope.cache() != null) {
+                eventPublisher.publishEvent(envelope.cache().asRemote());
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Ignoring invalid schedule change notification: {}", e.getMessage());
+        }
+    }
+
+    private record Envelope(String node, ScheduleChangedEvent schedule, AppointmentChangedEvent calendar,
+                            CachedEntityChangedEvent cache) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.barbearia.infrastructure.realtime;
+
+// name nulo = heartbeat (comentário SSE)
+public record SseMessage(String id, String name, Object data) {
+
+    public static final SseMessage HEARTBEAT = new SseMessage(null, null, null);
+
+    public static SseMessage of(String name, Object data) {
+        return new SseMessage(null, name, data);
+    }
+}
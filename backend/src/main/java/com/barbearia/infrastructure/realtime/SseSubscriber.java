@@ -0,0 +1,116 @@
+package com.barbearia.infrastructure.realtime;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Assinante SSE com fila limitada. Conexões ociosas não prendem thread nenhuma; o envio roda numa
+// thread virtual só enquanto houver mensagens. Quem não consome a tempo (fila cheia) é desconectado.
+@Slf4j
+public class SseSubscriber {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Executor executor;
+    private final Consumer<SseSubscriber> onClose;
+
+    private final Queue<SseMessage> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public SseSubscriber(SseEmitter emitter, int capacity, Executor executor, Consumer<SseSubscriber> onClose) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.onClose = onClose;
+
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(e -> close());
+    }
+
+    public SseEmitter emitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public boolean offer(SseMessage message) {
+        if (closed.get()) {
+            return false;
+        }
+
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            log.debug("Evicting slow SSE subscriber ({} pending events)", capacity);
+            evict();
+            return false;
+        }
+
+        pending.add(message);
+        scheduleDrain();
+        return true;
+    }
+
+    public void evict() {
+        close();
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // already completed
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseMessage message;
+            while (!closed.get() && (message = pending.poll()) != null) {
+                size.decrementAndGet();
+                emitter.send(toEvent(message));
+            }
+        } catch (IOException | IllegalStateException e) {
+            close();
+        } finally {
+            draining.set(false);
+            if (!closed.get() && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(SseMessage message) {
+        if (message.name() == null) {
+            return SseEmitter.event().comment("ping");
+        }
+
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(message.name());
+        if (message.id() != null) {
+            event.id(message.id());
+        }
+        return event.data(message.data(), MediaType.APPLICATION_JSON);
+    }
+
+    private void close() {
+        if (closed.compareAndSet(false, true)) {
+            pending.clear();
+            onClose.accept(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.barbearia.infrastructure.scheduling;
+
+import com.barbearia.infrastructure.notification.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Envia as notificações enfileiradas pelas operações em lote
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatcher {
+
+    private final NotificationService notificationService;
+
+    @Value("${app.notifications.dispatch-batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.notifications.dispatch-interval-ms:15000}")
+    public void dispatchPending() {
+        int total = 0;
+        int dispatched;
+        do {
+            try {
+                dispatched = notificationService.dispatchPending(batchSize);
+            } catch (Exception e) {
+                log.error("Failed to dispatch pending notifications: {}", e.getMessage());
+                return;
+            }
+            total += dispatched;
+        } while (dispatched == batchSize);
+
+        if (total > 0) {
+            log.info("Dispatched {} pending notifications", total);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.barbearia.infrastructure.security;
 
 import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.UserCredential;
+import com.barbearia.domain.repository.UserCredentialRepository;
 import com.barbearia.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,15 +18,18 @@ import java.util.List;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserCredentialRepository userCredentialRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
+        UserCredential credential = userCredentialRepository.findById(user.getId())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário sem credenciais: " + username));
 
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
-                user.getPassword(),
+                credential.getPassword(),
                 user.isActive(),
                 true,
                 true,
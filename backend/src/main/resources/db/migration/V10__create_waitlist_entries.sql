@@ -0,0 +1,35 @@
+-- V10__create_waitlist_entries.sql
+-- Lista de espera: o cliente informa serviço, barbeiro (opcional) e janela de datas; horários liberados
+-- são oferecidos por ordem de chegada com uma reserva temporária
+
+CREATE TABLE waitlist_entries (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    service_id UUID NOT NULL REFERENCES services(id),
+    barber_id UUID REFERENCES users(id),
+    client_name VARCHAR(100) NOT NULL,
+    client_phone VARCHAR(20) NOT NULL,
+    client_email VARCHAR(255) NOT NULL,
+    window_start TIMESTAMP NOT NULL,
+    window_end TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'WAITING',
+    access_token VARCHAR(255) NOT NULL UNIQUE,
+    offer_hold_token VARCHAR(255),
+    offer_barber_id UUID REFERENCES users(id),
+    offer_start_time TIMESTAMP,
+    offer_expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_waitlist_window CHECK (window_end > window_start),
+    CONSTRAINT chk_waitlist_status CHECK (status IN ('WAITING', 'OFFERED', 'BOOKED', 'EXPIRED', 'CANCELLED'))
+);
+
+-- Só quem ainda espera participa do casamento com horários liberados, em ordem de chegada
+CREATE INDEX idx_waitlist_waiting_window ON waitlist_entries(window_start, window_end, created_at)
+    WHERE status = 'WAITING';
+CREATE INDEX idx_waitlist_offer_slot ON waitlist_entries(offer_barber_id, offer_start_time)
+    WHERE status = 'OFFERED';
+CREATE INDEX idx_waitlist_offer_expires ON waitlist_entries(offer_expires_at)
+    WHERE status = 'OFFERED';
+
+CREATE TRIGGER update_waitlist_entries_updated_at BEFORE UPDATE ON waitlist_entries
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,11 @@
+-- V11__create_sync_tombstone_purges.sql
+-- Registro das limpezas de sync_tombstones: um cursor só expira se alguma exclusão posterior a ele foi apagada
+
+CREATE TABLE sync_tombstone_purges (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    purged_through TIMESTAMP NOT NULL,
+    deleted INTEGER NOT NULL,
+    performed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_sync_tombstone_purges_purged_through ON sync_tombstone_purges(purged_through);
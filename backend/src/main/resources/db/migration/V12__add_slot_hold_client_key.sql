@@ -0,0 +1,6 @@
+-- V12__add_slot_hold_client_key.sql
+-- Origem da reserva temporária pública, para limitar quantas um mesmo cliente segura ao mesmo tempo
+
+ALTER TABLE slot_holds ADD COLUMN client_key VARCHAR(64);
+
+CREATE INDEX idx_slot_holds_client_key ON slot_holds(client_key);
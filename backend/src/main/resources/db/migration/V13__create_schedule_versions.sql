@@ -0,0 +1,13 @@
+-- V13__create_schedule_versions.sql
+-- Contadores de versão da agenda por barbeiro e dia, incrementados na mesma transação de cada escrita.
+-- day = 'infinity' guarda as mudanças que valem para todos os dias do barbeiro; o barbeiro
+-- 00000000-0000-0000-0000-000000000000 guarda as que valem para todos (serviços, barbeiros, fechamentos).
+
+CREATE TABLE schedule_versions (
+    barber_id UUID NOT NULL,
+    day DATE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 1,
+    PRIMARY KEY (barber_id, day)
+);
+
+CREATE INDEX idx_schedule_versions_day ON schedule_versions(day);
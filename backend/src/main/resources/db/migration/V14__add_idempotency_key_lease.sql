@@ -0,0 +1,5 @@
+-- V14__add_idempotency_key_lease.sql
+-- Prazo da reserva de uma chave em processamento: se a instância cair antes de responder, a chave pode ser
+-- retomada depois dele em vez de ficar presa até expires_at. Chaves concluídas ficam com o campo nulo.
+
+ALTER TABLE idempotency_keys ADD COLUMN locked_until TIMESTAMP;
@@ -0,0 +1,12 @@
+-- V15__move_user_passwords.sql
+-- Hash de senha em tabela própria: users fica no cache de segundo nível do Hibernate, credenciais não
+
+CREATE TABLE user_credentials (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    password VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO user_credentials (user_id, password) SELECT id, password FROM users;
+
+ALTER TABLE users DROP COLUMN password;
@@ -0,0 +1,13 @@
+-- V2__create_idempotency_keys.sql
+-- Armazena respostas de requisições com Idempotency-Key para responder retentativas
+
+CREATE TABLE idempotency_keys (
+    id VARCHAR(320) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_status INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,15 @@
+-- V3__create_slot_holds.sql
+-- Reservas temporárias de horário durante o checkout (espelho opcional para múltiplas instâncias)
+
+CREATE TABLE slot_holds (
+    id VARCHAR(100) PRIMARY KEY,
+    barber_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    service_id UUID NOT NULL REFERENCES services(id) ON DELETE CASCADE,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_slot_holds_barber_start ON slot_holds(barber_id, start_time);
+CREATE INDEX idx_slot_holds_expires_at ON slot_holds(expires_at);
@@ -0,0 +1,30 @@
+-- V4__create_sync_tombstones.sql
+-- Sincronização incremental: índices de cursor (updated_at, id) e registro de exclusões
+
+CREATE INDEX idx_appointment_updated_at_id ON appointments(updated_at, id);
+CREATE INDEX idx_time_blocks_updated_at_id ON time_blocks(updated_at, id);
+
+CREATE TABLE sync_tombstones (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    entity_type VARCHAR(30) NOT NULL,
+    entity_id UUID NOT NULL,
+    barber_id UUID,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_sync_tombstones_deleted_at_id ON sync_tombstones(deleted_at, id);
+
+CREATE OR REPLACE FUNCTION record_sync_tombstone()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO sync_tombstones (entity_type, entity_id, barber_id)
+    VALUES (TG_ARGV[0], OLD.id, OLD.barber_id);
+    RETURN OLD;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER record_appointments_tombstone AFTER DELETE ON appointments
+    FOR EACH ROW EXECUTE FUNCTION record_sync_tombstone('APPOINTMENT');
+
+CREATE TRIGGER record_time_blocks_tombstone AFTER DELETE ON time_blocks
+    FOR EACH ROW EXECUTE FUNCTION record_sync_tombstone('TIME_BLOCK');
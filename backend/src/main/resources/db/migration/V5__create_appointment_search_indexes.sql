@@ -0,0 +1,10 @@
+-- V5__create_appointment_search_indexes.sql
+-- Índices para a pesquisa paginada de agendamentos (cursor por start_time, id)
+
+CREATE INDEX idx_appointment_start_id ON appointments(start_time, id);
+CREATE INDEX idx_appointment_status_start ON appointments(status, start_time, id);
+CREATE INDEX idx_appointment_service_start ON appointments(service_id, start_time);
+
+-- Busca por prefixo (LIKE 'abc%') só usa índice com text_pattern_ops fora da collation C
+CREATE INDEX idx_appointment_client_phone_prefix ON appointments(client_phone text_pattern_ops);
+CREATE INDEX idx_appointment_client_name_prefix ON appointments(lower(client_name) text_pattern_ops);
@@ -0,0 +1,15 @@
+-- V6__create_appointment_imports.sql
+-- Registro resumido das importações em lote de agendamentos
+
+CREATE TABLE appointment_imports (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    file_name VARCHAR(255),
+    performed_by VARCHAR(255) NOT NULL,
+    performed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    total_rows INTEGER NOT NULL,
+    imported INTEGER NOT NULL,
+    rejected INTEGER NOT NULL,
+    duration_ms BIGINT NOT NULL
+);
+
+CREATE INDEX idx_appointment_imports_performed_at ON appointment_imports(performed_at);
@@ -0,0 +1,9 @@
+-- V7__add_working_hours_intervals.sql
+-- Expediente com mais de um intervalo por dia (turnos e pausas fixas).
+-- intervals guarda pares [início, fim] em minutos do dia, em ordem; NULL = expediente contínuo start_time–end_time.
+-- start_time/end_time continuam sendo o início do primeiro e o fim do último intervalo.
+
+ALTER TABLE working_hours ADD COLUMN intervals INTEGER[];
+
+ALTER TABLE working_hours ADD CONSTRAINT chk_working_hours_intervals
+    CHECK (intervals IS NULL OR (cardinality(intervals) >= 2 AND cardinality(intervals) % 2 = 0));
@@ -0,0 +1,15 @@
+-- V8__add_time_block_recurrence.sql
+-- Bloqueios recorrentes guardados como regra: a linha é a primeira ocorrência e as demais
+-- são calculadas só para a janela consultada (a cada recurrence_interval dias ou semanas, até recurrence_until).
+
+ALTER TABLE time_blocks ADD COLUMN recurrence_frequency VARCHAR(10)
+    CHECK (recurrence_frequency IN ('DAILY', 'WEEKLY'));
+ALTER TABLE time_blocks ADD COLUMN recurrence_interval INTEGER CHECK (recurrence_interval >= 1);
+ALTER TABLE time_blocks ADD COLUMN recurrence_until DATE;
+
+UPDATE time_blocks SET is_recurring = false WHERE is_recurring AND recurrence_frequency IS NULL;
+
+ALTER TABLE time_blocks ADD CONSTRAINT chk_time_blocks_recurrence
+    CHECK (is_recurring = (recurrence_frequency IS NOT NULL));
+
+CREATE INDEX idx_time_blocks_recurring ON time_blocks(barber_id, start_time) WHERE is_recurring;
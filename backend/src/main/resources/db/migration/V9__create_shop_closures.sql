@@ -0,0 +1,17 @@
+-- V9__create_shop_closures.sql
+-- Fechamentos da barbearia inteira (feriados, reformas): um registro vale para todos os barbeiros
+
+CREATE TABLE shop_closures (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    reason VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_shop_closures_range CHECK (end_time > start_time)
+);
+
+CREATE INDEX idx_shop_closures_time ON shop_closures(end_time, start_time);
+
+CREATE TRIGGER update_shop_closures_updated_at BEFORE UPDATE ON shop_closures
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,132 @@
+package com.barbearia.benchmark;
+
+import com.barbearia.application.dto.AvailabilityDTO;
+import com.barbearia.application.service.AvailabilityService;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.WorkingHours;
+import com.barbearia.domain.enums.DayOfWeekEnum;
+import com.barbearia.domain.enums.UserRole;
+import com.barbearia.domain.repository.*;
+import com.barbearia.infrastructure.cache.ShopClosureCalendar;
+import com.barbearia.infrastructure.cache.TimeBlockOccurrenceCache;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Simula a latência das consultas ao banco (3 ms por ida).
+// Executar com: mvn test -Dtest=AvailabilityParallelBenchmark -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AvailabilityParallelBenchmark {
+
+    private static final long QUERY_LATENCY_MS = 3;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @ParameterizedTest(name = "{0} barbeiros")
+    @ValueSource(ints = {5, 20, 50})
+    @DisplayName("Mede p99 da consulta de horários com e sem paralelismo")
+    void measureP99(int barberCount) {
+        ServiceRepository serviceRepository = mock(ServiceRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        TimeBlockRepository timeBlockRepository = mock(TimeBlockRepository.class);
+        WorkingHoursRepository workingHoursRepository = mock(WorkingHoursRepository.class);
+        SlotHoldRegistry slotHoldRegistry = mock(SlotHoldRegistry.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+        Service service = Service.builder().name("Corte").durationMinutes(30).bufferMinutes(0)
+                .price(BigDecimal.valueOf(35)).active(true).build();
+        ReflectionTestUtils.setField(service, "id", UUID.randomUUID());
+
+        List<User> barbers = new ArrayList<>();
+        for (int i = 0; i < barberCount; i++) {
+            User barber = User.builder().name("Barbeiro " + i).role(UserRole.BARBER).active(true).build();
+            ReflectionTestUtils.setField(barber, "id", UUID.randomUUID());
+            barbers.add(barber);
+        }
+
+        WorkingHours workingHours = WorkingHours.builder()
+                .dayOfWeek(DayOfWeekEnum.fromJavaDayOfWeek(LocalDate.now().plusDays(1).getDayOfWeek()))
+                .startTime(LocalTime.of(9, 0)).endTime(LocalTime.of(18, 0)).isWorking(true).build();
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(userRepository.findAllActiveBarbers()).thenReturn(barbers);
+        Map<UUID, List<WorkingHours>> hoursByBarber = new HashMap<>();
+        barbers.forEach(barber -> hoursByBarber.put(barber.getId(), List.of(workingHours)));
+
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenAnswer(inv -> slow(hoursByBarber, barberCount));
+        when(appointmentRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenAnswer(inv -> slow(Map.of(), barberCount));
+        when(timeBlockRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenAnswer(inv -> slow(Map.of(), barberCount));
+        when(slotHoldRegistry.findActive(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        AvailabilityService availabilityService = new AvailabilityService(serviceRepository, userRepository,
+                appointmentRepository, timeBlockRepository, new TimeBlockOccurrenceCache(), workingHoursRepository,
+                slotHoldRegistry, new ShopClosureCalendar(mock(ShopClosureRepository.class)), transactionManager);
+        ReflectionTestUtils.setField(availabilityService, "minAdvanceHours", 1);
+        ReflectionTestUtils.setField(availabilityService, "maxDaysAhead", 30);
+        ReflectionTestUtils.setField(availabilityService, "slotDurationMinutes", 15);
+        ReflectionTestUtils.setField(availabilityService, "maxConcurrency", 8);
+        ReflectionTestUtils.invokeMethod(availabilityService, "initParallelism");
+
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        ReflectionTestUtils.setField(availabilityService, "parallelEnabled", false);
+        List<AvailabilityDTO.TimeSlot> expected = availabilityService.getAvailableSlots(service.getId(), null, date);
+        long sequentialP99 = p99(() -> availabilityService.getAvailableSlots(service.getId(), null, date));
+
+        ReflectionTestUtils.setField(availabilityService, "parallelEnabled", true);
+        List<AvailabilityDTO.TimeSlot> actual = availabilityService.getAvailableSlots(service.getId(), null, date);
+        long parallelP99 = p99(() -> availabilityService.getAvailableSlots(service.getId(), null, date));
+
+        System.out.printf("%d barbers: sequential p99 %.1f ms, parallel p99 %.1f ms%n",
+                barberCount, sequentialP99 / 1e6, parallelP99 / 1e6);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private long p99(Runnable query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        java.util.Arrays.sort(samples);
+        return samples[(int) Math.ceil(ITERATIONS * 0.99) - 1];
+    }
+
+    // Latência fixa por ida ao banco mais um custo pequeno por linha retornada
+    private static <T> T slow(T result, int rows) throws InterruptedException {
+        Thread.sleep(QUERY_LATENCY_MS + rows / 10);
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package com.barbearia.benchmark;
+
+import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.service.BookingEngine;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.WorkingHours;
+import com.barbearia.domain.enums.DayOfWeekEnum;
+import com.barbearia.domain.enums.UserRole;
+import com.barbearia.domain.repository.AppointmentRepository;
+import com.barbearia.domain.repository.ServiceRepository;
+import com.barbearia.domain.repository.UserRepository;
+import com.barbearia.domain.repository.WorkingHoursRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Executar com: mvn test -Dtest=BookingEngineBenchmark -Dbenchmark=true
+@SpringBootTest
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BookingEngineBenchmark {
+
+    private static final int BARBERS = 3;
+    private static final int CLIENTS = 64;
+    private static final int ATTEMPTS_PER_CLIENT = 20;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("barbearia_bench")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("app.notifications.enabled", () -> "false");
+        registry.add("app.booking.max-days-ahead", () -> "60");
+    }
+
+    @Autowired
+    private BookingEngine bookingEngine;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    private final List<User> barbers = new ArrayList<>();
+    private Service service;
+
+    @BeforeEach
+    void setUp() {
+        if (service != null) {
+            return;
+        }
+
+        for (int i = 0; i < BARBERS; i++) {
+            User barber = userRepository.save(User.builder()
+                    .name("Barbeiro Bench " + i)
+                    .email("bench" + i + "@benchmark.test")
+                    .role(UserRole.BARBER)
+                    .active(true)
+                    .build());
+            for (DayOfWeekEnum day : DayOfWeekEnum.values()) {
+                workingHoursRepository.save(WorkingHours.builder()
+                        .barber(barber)
+                        .dayOfWeek(day)
+                        .startTime(LocalTime.of(9, 0))
+                        .endTime(LocalTime.of(18, 0))
+                        .isWorking(true)
+                        .build());
+            }
+            barbers.add(barber);
+        }
+
+        service = serviceRepository.save(Service.builder()
+                .name("Corte Bench")
+                .durationMinutes(30)
+                .bufferMinutes(0)
+                .price(BigDecimal.valueOf(35))
+                .active(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Compara vazão de agendamentos concorrentes com e sem o booking engine")
+    void compareThroughput() throws Exception {
+        Result direct = run(false, LocalDate.now().plusDays(10));
+        Result engine = run(true, LocalDate.now().plusDays(20));
+
+        System.out.printf("direct: %d ok, %d rejected, %d ms%n", direct.created, direct.rejected, direct.millis);
+        System.out.printf("engine: %d ok, %d rejected, %d ms%n", engine.created, engine.rejected, engine.millis);
+
+        // 18 slots de 30 min por barbeiro: nunca pode haver mais agendamentos que isso
+        assertThat(engine.created).isLessThanOrEqualTo(BARBERS * 18);
+        assertThat(direct.created).isLessThanOrEqualTo(BARBERS * 18);
+    }
+
+    private Result run(boolean engineEnabled, LocalDate day) throws Exception {
+        ReflectionTestUtils.setField(bookingEngine, "enabled", engineEnabled);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    for (int i = 0; i < ATTEMPTS_PER_CLIENT; i++) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        LocalDateTime slot = day.atTime(9, 0).plusMinutes(30L * random.nextInt(18));
+                        User barber = barbers.get(random.nextInt(BARBERS));
+                        try {
+                            bookingEngine.createPublic(AppointmentDTO.PublicCreateRequest.builder()
+                                    .serviceId(service.getId())
+                                    .barberId(barber.getId())
+                                    .startTime(slot)
+                                    .clientName("Cliente " + client)
+                                    .clientPhone("(11) 99999-9999")
+                                    .build());
+                            created.incrementAndGet();
+                        } catch (BusinessException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(appointmentRepository.findActiveByDateRange(day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+                .hasSize(created.get());
+        return new Result(created.get(), rejected.get(), millis);
+    }
+
+    private record Result(int created, int rejected, long millis) {
+    }
+}
@@ -4,10 +4,12 @@ import com.barbearia.application.dto.AppointmentDTO;
 import com.barbearia.application.dto.AuthDTO;
 import com.barbearia.domain.entity.Service;
 import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.UserCredential;
 import com.barbearia.domain.entity.WorkingHours;
 import com.barbearia.domain.enums.DayOfWeekEnum;
 import com.barbearia.domain.enums.UserRole;
 import com.barbearia.domain.repository.ServiceRepository;
+import com.barbearia.domain.repository.UserCredentialRepository;
 import com.barbearia.domain.repository.UserRepository;
 import com.barbearia.domain.repository.WorkingHoursRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -65,6 +67,9 @@ class AppointmentIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCredentialRepository userCredentialRepository;
+
     @Autowired
     private ServiceRepository serviceRepository;
 
@@ -83,10 +88,13 @@ class AppointmentIntegrationTest {
         barber = userRepository.save(User.builder()
                 .name("Barbeiro Test")
                 .email("barber@integration.test")
-                .password(passwordEncoder.encode("password123"))
                 .role(UserRole.ADMIN)
                 .active(true)
                 .build());
+        userCredentialRepository.save(UserCredential.builder()
+                .userId(barber.getId())
+                .password(passwordEncoder.encode("password123"))
+                .build());
 
         for (DayOfWeekEnum day : DayOfWeekEnum.values()) {
             workingHoursRepository.save(WorkingHours.builder()
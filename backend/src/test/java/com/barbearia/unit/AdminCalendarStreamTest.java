@@ -0,0 +1,94 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.event.AppointmentChangedEvent;
+import com.barbearia.infrastructure.realtime.AdminCalendarStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminCalendarStreamTest {
+
+    private AdminCalendarStream stream;
+    private UUID barberId;
+    private UUID otherBarberId;
+
+    @BeforeEach
+    void setUp() {
+        stream = new AdminCalendarStream() {
+            @Override
+            protected SseEmitter createEmitter() {
+                return new RecordingSseEmitter();
+            }
+        };
+        ReflectionTestUtils.setField(stream, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(stream, "bufferSize", 32);
+        ReflectionTestUtils.setField(stream, "replaySize", 4);
+        ReflectionTestUtils.invokeMethod(stream, "initReplayBuffer");
+
+        barberId = UUID.randomUUID();
+        otherBarberId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Deve entregar os deltas ao vivo filtrados pelo barbeiro assinado")
+    void shouldStreamLiveDeltasForBarber() throws Exception {
+        RecordingSseEmitter emitter = (RecordingSseEmitter) stream.subscribe(barberId, null);
+
+        stream.onAppointmentChanged(changed(otherBarberId));
+        stream.onAppointmentChanged(changed(barberId));
+
+        List<RecordingSseEmitter.Event> events = emitter.awaitEvents(2);
+        assertThat(events).extracting(RecordingSseEmitter.Event::name).containsExactly("connected", "calendar");
+        assertThat(((AppointmentDTO.CalendarDelta) events.get(1).data()).getSequence()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve retomar do Last-Event-ID reenviando só os eventos perdidos")
+    void shouldReplayMissedEventsOnResume() throws Exception {
+        RecordingSseEmitter first = (RecordingSseEmitter) stream.subscribe(null, null);
+        stream.onAppointmentChanged(changed(barberId));
+        String lastSeen = first.awaitEvents(2).get(1).id();
+
+        stream.onAppointmentChanged(changed(otherBarberId));
+        stream.onAppointmentChanged(changed(barberId));
+
+        RecordingSseEmitter resumed = (RecordingSseEmitter) stream.subscribe(barberId, lastSeen);
+
+        List<RecordingSseEmitter.Event> events = resumed.awaitEvents(2);
+        assertThat(events).extracting(RecordingSseEmitter.Event::name).containsExactly("connected", "calendar");
+        assertThat(((AppointmentDTO.CalendarDelta) events.get(1).data()).getSequence()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve pedir recarga quando o evento pedido já saiu do buffer ou veio de outra instância")
+    void shouldResetWhenResumePointIsGone() throws Exception {
+        RecordingSseEmitter first = (RecordingSseEmitter) stream.subscribe(null, null);
+        stream.onAppointmentChanged(changed(barberId));
+        String lastSeen = first.awaitEvents(2).get(1).id();
+
+        for (int i = 0; i < 5; i++) {
+            stream.onAppointmentChanged(changed(barberId));
+        }
+
+        RecordingSseEmitter tooOld = (RecordingSseEmitter) stream.subscribe(null, lastSeen);
+        RecordingSseEmitter otherNode = (RecordingSseEmitter) stream.subscribe(null, "outro-no-1");
+
+        assertThat(tooOld.awaitEvents(1)).extracting(RecordingSseEmitter.Event::name).containsExactly("reset");
+        assertThat(otherNode.awaitEvents(1)).extracting(RecordingSseEmitter.Event::name).containsExactly("reset");
+    }
+
+    private AppointmentChangedEvent changed(UUID barber) {
+        return AppointmentChangedEvent.of("UPDATED", AppointmentDTO.CalendarEvent.builder()
+                .id(UUID.randomUUID())
+                .barberId(barber)
+                .build());
+    }
+}
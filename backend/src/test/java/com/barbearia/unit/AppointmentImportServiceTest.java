@@ -0,0 +1,86 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.dto.ImportDTO;
+import com.barbearia.application.service.AppointmentImportService;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.enums.UserRole;
+import com.barbearia.domain.projection.BusyInterval;
+import com.barbearia.domain.repository.AppointmentRepository;
+import com.barbearia.domain.repository.ServiceRepository;
+import com.barbearia.domain.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ServiceRepository serviceRepository;
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @InjectMocks
+    private AppointmentImportService importService;
+
+    @Test
+    @DisplayName("Deve checar conflitos pelo maior fim dos horários ocupados e ignorar concluídos")
+    void shouldRejectConflictsAgainstRunningMaxEnd() {
+        ReflectionTestUtils.setField(importService, "maxRows", 1000);
+
+        User barber = User.builder().name("Barbeiro A").email("a@test.com").role(UserRole.BARBER).active(true).build();
+        ReflectionTestUtils.setField(barber, "id", UUID.randomUUID());
+        Service service = Service.builder()
+                .name("Corte")
+                .durationMinutes(30)
+                .bufferMinutes(0)
+                .price(BigDecimal.valueOf(35))
+                .active(true)
+                .build();
+        ReflectionTestUtils.setField(service, "id", UUID.randomUUID());
+        when(userRepository.findAll()).thenReturn(List.of(barber));
+        when(serviceRepository.findAll()).thenReturn(List.of(service));
+
+        // Existentes que se sobrepõem: o vizinho anterior de 10:30-11:00 termina às 10:00, mas o das 9:00 vai até 12:00
+        LocalDateTime day = LocalDateTime.of(2030, 1, 10, 0, 0);
+        when(appointmentRepository.findBusyIntervals(eq(barber.getId()), any(), any())).thenReturn(List.of(
+                new BusyInterval(barber.getId(), day.withHour(9), day.withHour(12)),
+                new BusyInterval(barber.getId(), day.withHour(9).withMinute(30), day.withHour(10))));
+
+        String csv = """
+                barbeiro,servico,cliente,telefone,inicio,fim,status
+                a@test.com,Corte,Cliente 1,11999999999,2030-01-10T10:30,2030-01-10T11:00,CONFIRMED
+                a@test.com,Corte,Cliente 2,11999999999,2030-01-10T14:00,2030-01-10T14:30,COMPLETED
+                a@test.com,Corte,Cliente 3,11999999999,2030-01-10T14:00,2030-01-10T14:30,SCHEDULED
+                a@test.com,Corte,Cliente 4,11999999999,2030-01-10T13:30,2030-01-10T15:00,CONFIRMED
+                """;
+
+        ImportDTO.Result result = importService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "agenda.csv", true, "admin@test.com");
+
+        assertThat(result.getTotalRows()).isEqualTo(4);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getRejectedRows()).extracting(ImportDTO.RejectedRow::getReason).containsExactlyInAnyOrder(
+                "Conflito com agendamento existente do barbeiro",
+                "Conflito com outra linha da importação para o barbeiro");
+    }
+}
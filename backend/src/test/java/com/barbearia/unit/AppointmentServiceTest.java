@@ -8,8 +8,13 @@ import com.barbearia.application.service.AppointmentService;
 import com.barbearia.domain.entity.*;
 import com.barbearia.domain.enums.AppointmentStatus;
 import com.barbearia.domain.enums.DayOfWeekEnum;
+import com.barbearia.domain.enums.NotificationType;
 import com.barbearia.domain.enums.UserRole;
+import com.barbearia.domain.projection.CalendarEventRow;
 import com.barbearia.domain.repository.*;
+import com.barbearia.infrastructure.cache.ShopClosureCalendar;
+import com.barbearia.infrastructure.cache.TimeBlockOccurrenceCache;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
 import com.barbearia.infrastructure.notification.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,19 +22,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +52,8 @@ class AppointmentServiceTest {
     private UserRepository userRepository;
     @Mock
     private TimeBlockRepository timeBlockRepository;
+    @Spy
+    private TimeBlockOccurrenceCache occurrenceCache = new TimeBlockOccurrenceCache();
     @Mock
     private WorkingHoursRepository workingHoursRepository;
     @Mock
@@ -51,6 +62,12 @@ class AppointmentServiceTest {
     private AppointmentMapper appointmentMapper;
     @Mock
     private NotificationService notificationService;
+    @Mock
+    private SlotHoldRegistry slotHoldRegistry;
+    @Mock
+    private ShopClosureCalendar shopClosureCalendar;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -120,7 +137,7 @@ class AppointmentServiceTest {
             apt.setId(UUID.randomUUID());
             return apt;
         });
-        when(appointmentMapper.toResponse(any())).thenReturn(AppointmentDTO.Response.builder()
+        when(appointmentMapper.toResponse(any(Appointment.class))).thenReturn(AppointmentDTO.Response.builder()
                 .id(UUID.randomUUID())
                 .build());
 
@@ -187,6 +204,68 @@ class AppointmentServiceTest {
                 .isInstanceOf(ConflictException.class);
     }
 
+    @Test
+    @DisplayName("Deve agendar no barbeiro da reserva temporária e liberá-la em seguida")
+    void shouldBookHeldSlotAndReleaseHold() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        DayOfWeekEnum dayOfWeek = DayOfWeekEnum.fromJavaDayOfWeek(startTime.getDayOfWeek());
+        workingHours.setDayOfWeek(dayOfWeek);
+
+        SlotHold hold = SlotHold.builder()
+                .token("hold-1")
+                .barberId(barber.getId())
+                .serviceId(service.getId())
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(30))
+                .expiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+
+        AppointmentDTO.PublicCreateRequest request = AppointmentDTO.PublicCreateRequest.builder()
+                .serviceId(service.getId())
+                .startTime(startTime)
+                .clientName("Cliente Test")
+                .clientPhone("11999999999")
+                .holdToken("hold-1")
+                .build();
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(slotHoldRegistry.find("hold-1")).thenReturn(Optional.of(hold));
+        when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
+        when(workingHoursRepository.findByBarberIdAndDayOfWeek(barber.getId(), dayOfWeek))
+                .thenReturn(Optional.of(workingHours));
+        when(appointmentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        appointmentService.createPublic(request);
+
+        // A própria reserva não conta como conflito
+        verify(slotHoldRegistry).hasOverlappingHold(barber.getId(), startTime, startTime.plusMinutes(30), "hold-1");
+        verify(userRepository, never()).findAllActiveBarbers();
+        verify(appointmentRepository).save(argThat(a -> a.getBarber() == barber));
+        verify(slotHoldRegistry).releaseOnCommit("hold-1");
+    }
+
+    @Test
+    @DisplayName("Deve recusar agendamento com reserva temporária expirada")
+    void shouldRejectExpiredHoldToken() {
+        AppointmentDTO.PublicCreateRequest request = AppointmentDTO.PublicCreateRequest.builder()
+                .serviceId(service.getId())
+                .barberId(barber.getId())
+                .startTime(LocalDateTime.now().plusDays(1).withHour(10).withMinute(0))
+                .clientName("Cliente Test")
+                .clientPhone("11999999999")
+                .holdToken("expired-hold")
+                .build();
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(slotHoldRegistry.find("expired-hold")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> appointmentService.createPublic(request))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("HOLD_EXPIRED");
+
+        verify(appointmentRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Deve permitir cancelamento pelo cliente até 4 horas antes")
     void shouldAllowClientCancellationWithin4Hours() {
@@ -239,4 +318,146 @@ class AppointmentServiceTest {
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("4 horas");
     }
+
+    @Test
+    @DisplayName("Deve paginar a pesquisa por cursor de início e id")
+    void shouldPaginateSearchByCursor() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        List<CalendarEventRow> rows = List.of(row(start), row(start.plusMinutes(30)), row(start.plusHours(1)));
+
+        when(appointmentRepository.search(any())).thenReturn(rows);
+        when(appointmentMapper.toCalendarEvent(any(CalendarEventRow.class)))
+                .thenReturn(AppointmentDTO.CalendarEvent.builder().build());
+
+        AppointmentDTO.SearchPage first = appointmentService.search(null, null, null, null, null,
+                null, null, null, 2);
+
+        assertThat(first.getItems()).hasSize(2);
+        assertThat(first.isHasMore()).isTrue();
+
+        when(appointmentRepository.search(any())).thenReturn(List.of(rows.get(2)));
+
+        AppointmentDTO.SearchPage second = appointmentService.search(null, null, null, null, "  ",
+                null, null, first.getNextCursor(), 2);
+
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        verify(appointmentRepository).search(argThat(criteria -> criteria.afterId() != null
+                && criteria.afterId().equals(rows.get(1).id())
+                && criteria.afterStart().equals(rows.get(1).startTime())
+                && criteria.clientNamePrefix() == null
+                && criteria.limit() == 3));
+    }
+
+    @Test
+    @DisplayName("Deve manter no lugar os agendamentos que colidem ao deslocar o dia em lote")
+    void shouldKeepConflictingAppointmentsWhenShiftingInBulk() {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        Appointment early = appointmentAt(day.withHour(9));
+        Appointment beforeBlocked = appointmentAt(day.withHour(10).withMinute(30));
+        Appointment blocked = appointmentAt(day.withHour(11));
+        List<Appointment> appointments = List.of(early, beforeBlocked, blocked);
+        TimeBlock block = TimeBlock.builder()
+                .barber(barber)
+                .startTime(day.withHour(11).withMinute(30))
+                .endTime(day.withHour(12))
+                .build();
+
+        when(appointmentRepository.findActiveByBarberIdAndDateRange(any(), any(), any())).thenReturn(appointments);
+        when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
+        when(appointmentRepository.findOverlappingAppointments(any(), any(), any())).thenReturn(appointments);
+        when(timeBlockRepository.findOverlappingBlocks(any(), any(), any())).thenReturn(List.of(block));
+        when(workingHoursRepository.findByBarberIdAndDayOfWeek(any(), any())).thenReturn(Optional.of(workingHours));
+        when(appointmentRepository.bulkMove(List.of(early.getId()), barber.getId(), 30)).thenReturn(1);
+
+        AppointmentDTO.BulkResult result = appointmentService.bulkUpdate(AppointmentDTO.BulkRequest.builder()
+                .barberId(barber.getId())
+                .from(day)
+                .to(day.plusDays(1))
+                .action(AppointmentDTO.BulkAction.MOVE)
+                .shiftMinutes(30)
+                .build(), "admin@test.com");
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getItems().get(0).getNewStartTime()).isEqualTo(day.withHour(9).withMinute(30));
+        assertThat(result.getItems().get(2).getReason()).contains("bloqueado");
+        assertThat(result.getItems().get(1).isSuccess()).isFalse();
+        verify(notificationService).enqueue(List.of(early), NotificationType.RESCHEDULE);
+    }
+
+    @Test
+    @DisplayName("Deve recusar no lote os horários deslocados para fora do expediente")
+    void shouldRejectBulkShiftOutsideWorkingHours() {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        Appointment morning = appointmentAt(day.withHour(10));
+        Appointment evening = appointmentAt(day.withHour(17));
+        List<Appointment> appointments = List.of(morning, evening);
+
+        when(appointmentRepository.findActiveByBarberIdAndDateRange(any(), any(), any())).thenReturn(appointments);
+        when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
+        when(appointmentRepository.findOverlappingAppointments(any(), any(), any())).thenReturn(appointments);
+        when(workingHoursRepository.findByBarberIdAndDayOfWeek(any(), any())).thenReturn(Optional.of(workingHours));
+        when(appointmentRepository.bulkMove(List.of(morning.getId()), barber.getId(), 60)).thenReturn(1);
+
+        AppointmentDTO.BulkResult result = appointmentService.bulkUpdate(AppointmentDTO.BulkRequest.builder()
+                .barberId(barber.getId())
+                .from(day)
+                .to(day.plusDays(1))
+                .action(AppointmentDTO.BulkAction.MOVE)
+                .shiftMinutes(60)
+                .build(), "admin@test.com");
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getItems().get(0).getNewStartTime()).isEqualTo(day.withHour(11));
+        assertThat(result.getItems().get(1).isSuccess()).isFalse();
+        assertThat(result.getItems().get(1).getReason()).contains("expediente");
+    }
+
+    @Test
+    @DisplayName("Deve recusar mover em lote para usuário inativo")
+    void shouldRejectBulkMoveToInactiveBarber() {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        User inactive = User.builder()
+                .name("Inativo")
+                .email("inactive@test.com")
+                .role(UserRole.BARBER)
+                .active(false)
+                .build();
+        ReflectionTestUtils.setField(inactive, "id", UUID.randomUUID());
+
+        when(appointmentRepository.findActiveByBarberIdAndDateRange(any(), any(), any()))
+                .thenReturn(List.of(appointmentAt(day.withHour(10))));
+        when(userRepository.findById(inactive.getId())).thenReturn(Optional.of(inactive));
+
+        assertThatThrownBy(() -> appointmentService.bulkUpdate(AppointmentDTO.BulkRequest.builder()
+                .barberId(barber.getId())
+                .targetBarberId(inactive.getId())
+                .from(day)
+                .to(day.plusDays(1))
+                .action(AppointmentDTO.BulkAction.MOVE)
+                .build(), "admin@test.com"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("não está ativo");
+
+        verify(appointmentRepository, never()).bulkMove(any(), any(), anyInt());
+    }
+
+    private Appointment appointmentAt(LocalDateTime start) {
+        Appointment appointment = Appointment.builder()
+                .barber(barber)
+                .service(service)
+                .clientName("Cliente")
+                .startTime(start)
+                .endTime(start.plusMinutes(30))
+                .status(AppointmentStatus.CONFIRMED)
+                .build();
+        ReflectionTestUtils.setField(appointment, "id", UUID.randomUUID());
+        return appointment;
+    }
+
+    private CalendarEventRow row(LocalDateTime start) {
+        return new CalendarEventRow(UUID.randomUUID(), start, start.plusMinutes(30), AppointmentStatus.CONFIRMED,
+                "Cliente", "11999999999", service.getName(), barber.getId(), barber.getName());
+    }
 }
@@ -0,0 +1,147 @@
+package com.barbearia.unit;
+
+import com.barbearia.api.controller.AvailabilityController;
+import com.barbearia.application.dto.AvailabilityDTO;
+import com.barbearia.application.service.AvailabilityService;
+import com.barbearia.infrastructure.cache.ScheduleVersionRegistry;
+import com.barbearia.infrastructure.realtime.AvailabilityStreamHub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityControllerTest {
+
+    @Mock
+    private AvailabilityService availabilityService;
+    @Mock
+    private ScheduleVersionRegistry scheduleVersions;
+    @Mock
+    private AvailabilityStreamHub availabilityStream;
+
+    private ObjectMapper objectMapper;
+    private UUID serviceId;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        serviceId = UUID.randomUUID();
+        date = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 pela versão da agenda sem calcular os horários")
+    void shouldAnswerNotModifiedBeforeComputingSlots() {
+        when(scheduleVersions.availabilityTag(null, date, date, "slots")).thenReturn("\"7-v\"");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/availability/slots");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"7-v\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<byte[]> result = controller().getAvailableSlots(serviceId, null, date, null, null,
+                new ServletWebRequest(request, response));
+
+        assertThat(result).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"7-v\"");
+        verifyNoInteractions(availabilityService);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a agenda com o novo ETag quando a versão mudou")
+    void shouldServeBodyWhenVersionChanged() {
+        when(scheduleVersions.availabilityTag(null, date, date, "slots")).thenReturn("\"8-v\"");
+        when(availabilityService.getAvailableSlots(eq(serviceId), any(), eq(date)))
+                .thenReturn(List.of(slot(10, true)));
+
+        ResponseEntity<byte[]> result = fetch(controller(), "\"7-v\"");
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"8-v\"");
+        assertThat(new String(result.getBody(), StandardCharsets.UTF_8)).contains("Barbeiro Test");
+    }
+
+    @Test
+    @DisplayName("Deve marcar o formato compacto com o próprio content type e ETag")
+    void shouldTagCompactFormatSeparately() {
+        when(scheduleVersions.availabilityTag(null, date, date, "slots-compact")).thenReturn("\"7-c\"");
+        when(availabilityService.getCompactDay(eq(serviceId), any(), eq(date)))
+                .thenReturn(List.of(AvailabilityDTO.CompactDay.builder()
+                        .date(date)
+                        .stepMinutes(15)
+                        .barbers(List.of())
+                        .build()));
+
+        ResponseEntity<byte[]> compact = controller().getAvailableSlots(serviceId, null, date, null,
+                AvailabilityController.COMPACT_MEDIA_TYPE, webRequest(null));
+
+        assertThat(compact.getHeaders().getContentType())
+                .isEqualTo(MediaType.parseMediaType(AvailabilityController.COMPACT_MEDIA_TYPE));
+        assertThat(compact.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+        assertThat(compact.getHeaders().getETag()).isEqualTo("\"7-c\"");
+    }
+
+    @Test
+    @DisplayName("Deve versionar o intervalo de dias a partir de hoje quando o início está no passado")
+    void shouldTagClampedRange() {
+        LocalDate today = LocalDate.now();
+        when(scheduleVersions.availabilityTag(null, today, today.plusDays(2), "range")).thenReturn("\"3-r\"");
+        when(availabilityService.getRangeAvailability(serviceId, null, today.minusDays(4), 3)).thenReturn(List.of());
+
+        ResponseEntity<byte[]> result = controller().getRangeAvailability(serviceId, null, today.minusDays(4), 3,
+                null, null, webRequest(null));
+
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"3-r\"");
+    }
+
+    private AvailabilityController controller() {
+        return new AvailabilityController(availabilityService, scheduleVersions, objectMapper, availabilityStream);
+    }
+
+    private ResponseEntity<byte[]> fetch(AvailabilityController controller, String ifNoneMatch) {
+        return controller.getAvailableSlots(serviceId, null, date, null, null, webRequest(ifNoneMatch));
+    }
+
+    private ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/availability/slots");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private AvailabilityDTO.TimeSlot slot(int hour, boolean available) {
+        return AvailabilityDTO.TimeSlot.builder()
+                .dateTime(date.atTime(hour, 0))
+                .barberName("Barbeiro Test")
+                .available(available)
+                .build();
+    }
+}
@@ -5,28 +5,39 @@ import com.barbearia.application.service.AvailabilityService;
 import com.barbearia.domain.entity.*;
 import com.barbearia.domain.enums.AppointmentStatus;
 import com.barbearia.domain.enums.DayOfWeekEnum;
+import com.barbearia.domain.enums.RecurrenceFrequency;
 import com.barbearia.domain.enums.UserRole;
 import com.barbearia.domain.repository.*;
+import com.barbearia.infrastructure.cache.ShopClosureCalendar;
+import com.barbearia.infrastructure.cache.TimeBlockOccurrenceCache;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Collections;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,8 +51,16 @@ class AvailabilityServiceTest {
     private AppointmentRepository appointmentRepository;
     @Mock
     private TimeBlockRepository timeBlockRepository;
+    @Spy
+    private TimeBlockOccurrenceCache occurrenceCache = new TimeBlockOccurrenceCache();
     @Mock
     private WorkingHoursRepository workingHoursRepository;
+    @Mock
+    private SlotHoldRegistry slotHoldRegistry;
+    @Mock
+    private ShopClosureCalendar shopClosureCalendar;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private AvailabilityService availabilityService;
@@ -91,12 +110,12 @@ class AvailabilityServiceTest {
 
         when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
         when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
-        when(workingHoursRepository.findByBarberIdAndDayOfWeek(barber.getId(), dayOfWeek))
-                .thenReturn(Optional.of(workingHours));
-        when(appointmentRepository.findOverlappingAppointments(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
-        when(timeBlockRepository.findOverlappingBlocks(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(workingHours)));
+        when(appointmentRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+        when(timeBlockRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
 
         List<AvailabilityDTO.TimeSlot> slots = availabilityService
                 .getAvailableSlots(service.getId(), barber.getId(), date);
@@ -125,12 +144,12 @@ class AvailabilityServiceTest {
 
         when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
         when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
-        when(workingHoursRepository.findByBarberIdAndDayOfWeek(barber.getId(), dayOfWeek))
-                .thenReturn(Optional.of(workingHours));
-        when(appointmentRepository.findOverlappingAppointments(any(), any(), any()))
-                .thenReturn(List.of(existingAppointment));
-        when(timeBlockRepository.findOverlappingBlocks(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(workingHours)));
+        when(appointmentRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(existingAppointment)));
+        when(timeBlockRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
 
         List<AvailabilityDTO.TimeSlot> slots = availabilityService
                 .getAvailableSlots(service.getId(), barber.getId(), date);
@@ -147,12 +166,11 @@ class AvailabilityServiceTest {
     @DisplayName("Deve retornar lista vazia para dia não trabalhado")
     void shouldReturnEmptyListForNonWorkingDay() {
         LocalDate date = LocalDate.now().plusDays(1);
-        DayOfWeekEnum dayOfWeek = DayOfWeekEnum.fromJavaDayOfWeek(date.getDayOfWeek());
 
         when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
         when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
-        when(workingHoursRepository.findByBarberIdAndDayOfWeek(barber.getId(), dayOfWeek))
-                .thenReturn(Optional.empty());
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenReturn(Map.of());
 
         List<AvailabilityDTO.TimeSlot> slots = availabilityService
                 .getAvailableSlots(service.getId(), barber.getId(), date);
@@ -178,12 +196,12 @@ class AvailabilityServiceTest {
 
         when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
         when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
-        when(workingHoursRepository.findByBarberIdAndDayOfWeek(barber.getId(), dayOfWeek))
-                .thenReturn(Optional.of(workingHours));
-        when(appointmentRepository.findOverlappingAppointments(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
-        when(timeBlockRepository.findOverlappingBlocks(any(), any(), any()))
-                .thenReturn(List.of(timeBlock));
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(workingHours)));
+        when(appointmentRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+        when(timeBlockRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(timeBlock)));
 
         List<AvailabilityDTO.TimeSlot> slots = availabilityService
                 .getAvailableSlots(service.getId(), barber.getId(), date);
@@ -195,4 +213,221 @@ class AvailabilityServiceTest {
         assertThat(slot12h).isPresent();
         assertThat(slot12h.get().isAvailable()).isFalse();
     }
+
+    @Test
+    @DisplayName("Deve tornar indisponíveis os slots que cruzam a pausa entre intervalos do expediente")
+    void shouldMarkSlotsCrossingBreakAsUnavailable() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        workingHours.setDayOfWeek(DayOfWeekEnum.fromJavaDayOfWeek(date.getDayOfWeek()));
+        workingHours.setIntervals(List.of(
+                new WorkingHours.Interval(LocalTime.of(13, 0), LocalTime.of(18, 0)),
+                new WorkingHours.Interval(LocalTime.of(9, 0), LocalTime.of(12, 0))));
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(workingHours)));
+        when(appointmentRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+        when(timeBlockRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+
+        List<AvailabilityDTO.TimeSlot> slots = availabilityService
+                .getAvailableSlots(service.getId(), barber.getId(), date);
+
+        assertThat(workingHours.getStartTime()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(availableAt(slots, LocalTime.of(11, 30))).isTrue();
+        assertThat(availableAt(slots, LocalTime.of(11, 45))).isFalse();
+        assertThat(availableAt(slots, LocalTime.of(12, 15))).isFalse();
+        assertThat(availableAt(slots, LocalTime.of(13, 0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve ancorar a grade de slots no início de cada intervalo do expediente")
+    void shouldAnchorSlotGridAtEachIntervalStart() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        workingHours.setDayOfWeek(DayOfWeekEnum.fromJavaDayOfWeek(date.getDayOfWeek()));
+        workingHours.setIntervals(List.of(
+                new WorkingHours.Interval(LocalTime.of(9, 0), LocalTime.of(12, 0)),
+                new WorkingHours.Interval(LocalTime.of(13, 10), LocalTime.of(18, 0))));
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(workingHours)));
+        when(appointmentRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+        when(timeBlockRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+
+        List<AvailabilityDTO.TimeSlot> slots = availabilityService
+                .getAvailableSlots(service.getId(), barber.getId(), date);
+        List<AvailabilityDTO.CompactInterval> compact = availabilityService
+                .getCompactAvailability(service.getId(), barber.getId(), date, 1)
+                .get(0).getBarbers().get(0).getIntervals();
+
+        assertThat(availableAt(slots, LocalTime.of(11, 30))).isTrue();
+        assertThat(availableAt(slots, LocalTime.of(13, 10))).isTrue();
+        assertThat(availableAt(slots, LocalTime.of(13, 25))).isTrue();
+        assertThat(slots).extracting(AvailabilityDTO.TimeSlot::getTime)
+                .doesNotContain(LocalTime.of(13, 15), LocalTime.of(12, 0))
+                .last().isEqualTo(LocalTime.of(17, 25));
+        assertThat(compact).extracting(AvailabilityDTO.CompactInterval::getStart)
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(13, 10));
+        assertThat(compact).extracting(AvailabilityDTO.CompactInterval::getSlots)
+                .containsExactly(11, 18);
+    }
+
+    @Test
+    @DisplayName("Deve marcar como indisponíveis os horários de um bloqueio semanal recorrente")
+    void shouldExpandWeeklyRecurringBlock() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        workingHours.setDayOfWeek(DayOfWeekEnum.fromJavaDayOfWeek(date.getDayOfWeek()));
+
+        TimeBlock weeklyMeeting = TimeBlock.builder()
+                .barber(barber)
+                .startTime(date.minusWeeks(3).atTime(10, 0))
+                .endTime(date.minusWeeks(3).atTime(11, 0))
+                .reason("Reunião semanal")
+                .isRecurring(true)
+                .recurrenceFrequency(RecurrenceFrequency.WEEKLY)
+                .recurrenceInterval(1)
+                .build();
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(workingHours)));
+        when(appointmentRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+        when(timeBlockRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(weeklyMeeting)));
+
+        List<AvailabilityDTO.TimeSlot> slots = availabilityService
+                .getAvailableSlots(service.getId(), barber.getId(), date);
+
+        assertThat(availableAt(slots, LocalTime.of(9, 30))).isTrue();
+        assertThat(availableAt(slots, LocalTime.of(9, 45))).isFalse();
+        assertThat(availableAt(slots, LocalTime.of(10, 30))).isFalse();
+        assertThat(availableAt(slots, LocalTime.of(11, 0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve pular dias de fechamento da barbearia sem consultar a agenda dos barbeiros")
+    void shouldSkipClosedDaysWithoutQueryingSchedules() {
+        LocalDate holiday = LocalDate.now().plusDays(1);
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(userRepository.findAllActiveBarbers()).thenReturn(List.of(barber));
+        when(shopClosureCalendar.isClosedAllDay(any())).thenReturn(true);
+
+        List<AvailabilityDTO.DayAvailability> days = availabilityService
+                .getRangeAvailability(service.getId(), null, holiday, 3);
+
+        assertThat(days).hasSize(3).noneMatch(AvailabilityDTO.DayAvailability::isHasAvailableSlots);
+        verifyNoInteractions(workingHoursRepository, appointmentRepository, timeBlockRepository);
+    }
+
+    @Test
+    @DisplayName("Deve contar os dias pedidos a partir de hoje quando o início está no passado")
+    void shouldClampPastStartBeforeCountingDays() {
+        LocalDate today = LocalDate.now();
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(userRepository.findAllActiveBarbers()).thenReturn(List.of(barber));
+        when(shopClosureCalendar.isClosedAllDay(any())).thenReturn(true);
+
+        List<AvailabilityDTO.DayAvailability> days = availabilityService
+                .getRangeAvailability(service.getId(), null, today.minusDays(5), 3);
+
+        assertThat(days).extracting(AvailabilityDTO.DayAvailability::getDate)
+                .containsExactly(today, today.plusDays(1), today.plusDays(2));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os próximos horários livres parando ao atingir a quantidade pedida")
+    void shouldReturnNextAvailableSlots() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        workingHours.setDayOfWeek(DayOfWeekEnum.fromJavaDayOfWeek(date.getDayOfWeek()));
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(userRepository.findAllActiveBarbers()).thenReturn(List.of(barber));
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(workingHours)));
+        when(appointmentRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+        when(timeBlockRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+
+        List<AvailabilityDTO.TimeSlot> slots = availabilityService
+                .getNextAvailableSlots(service.getId(), null, 3);
+
+        assertThat(slots).extracting(AvailabilityDTO.TimeSlot::getDateTime)
+                .containsExactly(date.atTime(9, 0), date.atTime(9, 15), date.atTime(9, 30));
+        verify(workingHoursRepository, times(1)).findGroupedByBarber(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve codificar a disponibilidade do barbeiro em bitmap no formato compacto")
+    void shouldEncodeCompactBitmap() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        workingHours.setDayOfWeek(DayOfWeekEnum.fromJavaDayOfWeek(date.getDayOfWeek()));
+
+        Appointment existingAppointment = Appointment.builder()
+                .barber(barber)
+                .service(service)
+                .startTime(date.atTime(10, 0))
+                .endTime(date.atTime(10, 30))
+                .status(AppointmentStatus.CONFIRMED)
+                .build();
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
+        when(workingHoursRepository.findGroupedByBarber(any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(workingHours)));
+        when(appointmentRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of(barber.getId(), List.of(existingAppointment)));
+        when(timeBlockRepository.findOverlappingGroupedByBarber(any(), any(), any()))
+                .thenReturn(Map.of());
+
+        List<AvailabilityDTO.CompactDay> days = availabilityService
+                .getCompactAvailability(service.getId(), barber.getId(), date, 1);
+
+        AvailabilityDTO.CompactInterval compact = days.get(0).getBarbers().get(0).getIntervals().get(0);
+        BitSet bits = BitSet.valueOf(Base64.getDecoder().decode(compact.getBitmap()));
+
+        assertThat(compact.getStart()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(compact.getSlots()).isEqualTo(35);
+        // 9:45, 10:00 e 10:15 colidem com o agendamento das 10:00
+        assertThat(bits.get(2)).isTrue();
+        assertThat(bits.get(3)).isFalse();
+        assertThat(bits.get(4)).isFalse();
+        assertThat(bits.get(5)).isFalse();
+        assertThat(bits.get(6)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve devolver o dia compacto vazio para data passada, como a consulta em JSON")
+    void shouldReturnEmptyCompactDayForPastDate() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+
+        List<AvailabilityDTO.CompactDay> days = availabilityService
+                .getCompactDay(service.getId(), null, yesterday);
+
+        assertThat(days).singleElement().satisfies(day -> {
+            assertThat(day.getDate()).isEqualTo(yesterday);
+            assertThat(day.getBarbers()).isEmpty();
+        });
+        verifyNoInteractions(userRepository, workingHoursRepository, appointmentRepository, timeBlockRepository);
+    }
+
+    private boolean availableAt(List<AvailabilityDTO.TimeSlot> slots, LocalTime time) {
+        return slots.stream()
+                .filter(s -> s.getTime().equals(time))
+                .findFirst()
+                .map(AvailabilityDTO.TimeSlot::isAvailable)
+                .orElse(false);
+    }
 }
@@ -0,0 +1,135 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.dto.AvailabilityDTO;
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.infrastructure.realtime.AvailabilityStreamHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AvailabilityStreamHubTest {
+
+    private static final String CLIENT = "10.0.0.1";
+
+    private final AtomicBoolean failSends = new AtomicBoolean();
+    private AvailabilityStreamHub hub;
+    private UUID barberId;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        hub = new AvailabilityStreamHub() {
+            @Override
+            protected SseEmitter createEmitter() {
+                if (failSends.get()) {
+                    return new SseEmitter() {
+                        @Override
+                        public void send(SseEventBuilder builder) throws IOException {
+                            throw new IOException("Broken pipe");
+                        }
+                    };
+                }
+                return new RecordingSseEmitter();
+            }
+        };
+        ReflectionTestUtils.setField(hub, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(hub, "bufferSize", 32);
+        ReflectionTestUtils.setField(hub, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(hub, "maxSubscribersPerClient", 10);
+
+        barberId = UUID.randomUUID();
+        date = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    @DisplayName("Deve confirmar a assinatura e entregar só as mudanças do barbeiro e dia assinados")
+    void shouldDeliverChangesForSubscribedDay() throws Exception {
+        RecordingSseEmitter emitter = (RecordingSseEmitter) hub.subscribe(barberId, date, CLIENT);
+        LocalDateTime start = date.atTime(10, 0);
+
+        hub.onScheduleChanged(ScheduleChangedEvent.occupied(UUID.randomUUID(), start, start.plusMinutes(30)));
+        hub.onScheduleChanged(ScheduleChangedEvent.occupied(barberId, start.plusDays(1), start.plusDays(1).plusMinutes(30)));
+        hub.onScheduleChanged(ScheduleChangedEvent.released(barberId, start, start.plusMinutes(30)));
+
+        List<RecordingSseEmitter.Event> events = emitter.awaitEvents(2);
+        assertThat(events).extracting(RecordingSseEmitter.Event::name).containsExactly("connected", "availability");
+
+        AvailabilityDTO.ChangeNotification change = (AvailabilityDTO.ChangeNotification) events.get(1).data();
+        assertThat(change.getBarberId()).isEqualTo(barberId);
+        assertThat(change.getStartTime()).isEqualTo(start);
+        assertThat(change.isAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve pedir recarga completa quando a mudança atinge todos os dias do barbeiro")
+    void shouldSendRefreshForWholeScheduleChanges() throws Exception {
+        RecordingSseEmitter anyBarber = (RecordingSseEmitter) hub.subscribe(null, date, CLIENT);
+
+        hub.onScheduleChanged(ScheduleChangedEvent.barber(barberId));
+
+        assertThat(anyBarber.awaitEvents(2)).extracting(RecordingSseEmitter.Event::name)
+                .containsExactly("connected", "refresh");
+    }
+
+    @Test
+    @DisplayName("Deve recusar assinaturas acima do limite")
+    void shouldCapSubscribers() {
+        hub.subscribe(barberId, date, CLIENT);
+        hub.subscribe(null, date, CLIENT);
+
+        assertThatThrownBy(() -> hub.subscribe(barberId, date, CLIENT))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("TOO_MANY_SUBSCRIBERS");
+    }
+
+    @Test
+    @DisplayName("Deve limitar as assinaturas de um mesmo cliente sem afetar os outros")
+    void shouldCapSubscribersPerClient() {
+        ReflectionTestUtils.setField(hub, "maxSubscribersPerClient", 1);
+        hub.subscribe(barberId, date, CLIENT);
+
+        assertThatThrownBy(() -> hub.subscribe(null, date, CLIENT))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("TOO_MANY_SUBSCRIBERS");
+        // A recusa devolve a vaga global: outro cliente ainda cabe no limite de 2
+        hub.subscribe(null, date, "10.0.0.2");
+    }
+
+    @Test
+    @DisplayName("Deve devolver as vagas quando a conexão cai")
+    void shouldReleaseSlotsWhenConnectionBreaks() throws Exception {
+        failSends.set(true);
+        hub.subscribe(barberId, date, CLIENT);
+        hub.subscribe(null, date, CLIENT);
+
+        // O envio do evento connected falha numa thread virtual e fecha as duas assinaturas
+        failSends.set(false);
+        long deadline = System.currentTimeMillis() + 2000;
+        SseEmitter emitter = null;
+        while (emitter == null && System.currentTimeMillis() < deadline) {
+            try {
+                emitter = hub.subscribe(barberId, date, CLIENT);
+            } catch (BusinessException e) {
+                Thread.sleep(20);
+            }
+        }
+
+        assertThat(emitter).isNotNull();
+        hub.subscribe(null, date, CLIENT);
+        assertThatThrownBy(() -> hub.subscribe(barberId, date, CLIENT))
+                .extracting("code").isEqualTo("TOO_MANY_SUBSCRIBERS");
+    }
+}
@@ -0,0 +1,355 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.event.AppointmentChangedEvent;
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.exception.ConflictException;
+import com.barbearia.application.service.AppointmentService;
+import com.barbearia.application.service.BookingEngine;
+import com.barbearia.domain.entity.Appointment;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.TimeBlock;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.enums.AppointmentStatus;
+import com.barbearia.domain.enums.UserRole;
+import com.barbearia.domain.repository.AppointmentRepository;
+import com.barbearia.domain.repository.ServiceRepository;
+import com.barbearia.domain.repository.TimeBlockRepository;
+import com.barbearia.domain.repository.UserRepository;
+import com.barbearia.infrastructure.cache.ShopClosureCalendar;
+import com.barbearia.infrastructure.cache.TimeBlockOccurrenceCache;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingEngineTest {
+
+    @Mock
+    private AppointmentService appointmentService;
+    @Mock
+    private AppointmentRepository appointmentRepository;
+    @Mock
+    private ServiceRepository serviceRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TimeBlockRepository timeBlockRepository;
+    @Mock
+    private TimeBlockOccurrenceCache occurrenceCache;
+    @Mock
+    private ShopClosureCalendar shopClosureCalendar;
+    @Mock
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @InjectMocks
+    private BookingEngine bookingEngine;
+
+    private User barber;
+    private User otherBarber;
+    private Service service;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingEngine, "enabled", true);
+        ReflectionTestUtils.setField(bookingEngine, "commandTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(bookingEngine, "maxDaysAhead", 30);
+
+        barber = barber("Barbeiro A");
+        otherBarber = barber("Barbeiro B");
+
+        service = Service.builder()
+                .name("Corte")
+                .durationMinutes(30)
+                .bufferMinutes(0)
+                .price(BigDecimal.valueOf(35))
+                .active(true)
+                .build();
+        ReflectionTestUtils.setField(service, "id", UUID.randomUUID());
+        lenient().when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+
+        start = LocalDate.now().plusDays(1).atTime(10, 0);
+
+        lenient().when(appointmentService.createPublic(any())).thenAnswer(invocation -> {
+            AppointmentDTO.PublicCreateRequest request = invocation.getArgument(0);
+            return response(request.getBarberId(), request.getStartTime());
+        });
+    }
+
+    @Test
+    @DisplayName("Deve executar os comandos do mesmo barbeiro em ordem e recusar o segundo no mesmo horário")
+    void shouldSerializeCommandsAndDetectConflict() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<String> calls = new CopyOnWriteArrayList<>();
+
+        doAnswer(invocation -> {
+            AppointmentDTO.PublicCreateRequest request = invocation.getArgument(0);
+            calls.add(request.getClientName());
+            if (request.getClientName().equals("Primeiro")) {
+                firstStarted.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            }
+            return response(request.getBarberId(), request.getStartTime());
+        }).when(appointmentService).createPublic(any());
+
+        CompletableFuture<AppointmentDTO.Response> first =
+                CompletableFuture.supplyAsync(() -> bookingEngine.createPublic(request("Primeiro", barber, start)));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<AppointmentDTO.Response> second =
+                CompletableFuture.supplyAsync(() -> bookingEngine.createPublic(request("Segundo", barber, start)));
+
+        // O segundo fica na fila enquanto o primeiro não termina
+        Thread.sleep(100);
+        assertThat(calls).containsExactly("Primeiro");
+
+        releaseFirst.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getStartTime()).isEqualTo(start);
+        assertThatThrownBy(() -> second.join()).hasCauseInstanceOf(ConflictException.class);
+        assertThat(calls).containsExactly("Primeiro");
+    }
+
+    @Test
+    @DisplayName("Não deve gravar agendamento cujo comando expirou na fila")
+    void shouldSkipCommandWithdrawnAfterTimeout() throws Exception {
+        ReflectionTestUtils.setField(bookingEngine, "commandTimeoutMs", 100L);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<String> calls = new CopyOnWriteArrayList<>();
+
+        doAnswer(invocation -> {
+            AppointmentDTO.PublicCreateRequest request = invocation.getArgument(0);
+            calls.add(request.getClientName());
+            if (request.getClientName().equals("Lento")) {
+                firstStarted.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            }
+            return response(request.getBarberId(), request.getStartTime());
+        }).when(appointmentService).createPublic(any());
+
+        CompletableFuture<AppointmentDTO.Response> slow =
+                CompletableFuture.supplyAsync(() -> bookingEngine.createPublic(request("Lento", barber, start)));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bookingEngine.createPublic(request("Na fila", barber, start.plusHours(2))))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("BOOKING_TIMEOUT");
+
+        releaseFirst.countDown();
+        // O comando já em execução devolve o próprio resultado mesmo passando do tempo limite
+        assertThat(slow.get(5, TimeUnit.SECONDS).getStartTime()).isEqualTo(start);
+
+        // Um comando posterior só roda depois do retirado; se ele tivesse rodado, apareceria antes
+        bookingEngine.createPublic(request("Depois", barber, start.plusHours(4)));
+        assertThat(calls).containsExactly("Lento", "Depois");
+    }
+
+    @Test
+    @DisplayName("Não deve tentar outro barbeiro quando o erro não é de disponibilidade")
+    void shouldNotFallBackToNextBarberOnUnrelatedError() {
+        when(userRepository.findAllActiveBarbers()).thenReturn(List.of(barber, otherBarber));
+        doThrow(new BusinessException("SERVICE_INACTIVE", "Serviço não está ativo"))
+                .when(appointmentService).createPublic(any());
+
+        assertThatThrownBy(() -> bookingEngine.createPublic(request("Cliente", null, start)))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("SERVICE_INACTIVE");
+
+        verify(appointmentService, times(1)).createPublic(any());
+    }
+
+    @Test
+    @DisplayName("Deve tentar o próximo barbeiro quando o primeiro está ocupado")
+    void shouldFallBackToNextBarberOnConflict() {
+        when(userRepository.findAllActiveBarbers()).thenReturn(List.of(barber, otherBarber));
+        bookingEngine.createPublic(request("Ocupante", barber, start));
+
+        AppointmentDTO.Response response = bookingEngine.createPublic(request("Cliente", null, start));
+
+        assertThat(response.getBarberId()).isEqualTo(otherBarber.getId());
+    }
+
+    @Test
+    @DisplayName("Deve liberar o horário no barbeiro de origem ao mover agendamento para outro barbeiro")
+    void shouldReleaseSourceBarberOnCrossBarberMove() {
+        AppointmentDTO.Response created = bookingEngine.createPublic(request("Cliente", barber, start));
+
+        Appointment current = appointment(created.getId(), barber, start);
+        Appointment moved = appointment(created.getId(), otherBarber, start);
+        when(appointmentRepository.findById(created.getId())).thenReturn(Optional.of(current), Optional.of(moved));
+        when(appointmentService.update(any(), any(), anyString())).thenReturn(created);
+
+        bookingEngine.update(created.getId(), AppointmentDTO.UpdateRequest.builder()
+                .barberId(otherBarber.getId())
+                .startTime(start)
+                .build(), "admin@test.com");
+
+        assertThat(bookingEngine.createPublic(request("Novo", barber, start)).getBarberId()).isEqualTo(barber.getId());
+        assertThatThrownBy(() -> bookingEngine.createPublic(request("Outro", otherBarber, start)))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Deve mover agendamentos em lote entre barbeiros atualizando as duas agendas")
+    void shouldUpdateBothSchedulesOnBulkMove() {
+        AppointmentDTO.Response created = bookingEngine.createPublic(request("Cliente", barber, start));
+        LocalDateTime newStart = start.plusHours(1);
+
+        when(appointmentService.bulkUpdate(any(), anyString())).thenReturn(AppointmentDTO.BulkResult.builder()
+                .action(AppointmentDTO.BulkAction.MOVE)
+                .total(1)
+                .succeeded(1)
+                .items(List.of(AppointmentDTO.BulkItemResult.builder()
+                        .appointmentId(created.getId())
+                        .startTime(start)
+                        .newStartTime(newStart)
+                        .newEndTime(newStart.plusMinutes(30))
+                        .newBarberId(otherBarber.getId())
+                        .success(true)
+                        .build()))
+                .build());
+
+        bookingEngine.bulkUpdate(AppointmentDTO.BulkRequest.builder()
+                .barberId(barber.getId())
+                .targetBarberId(otherBarber.getId())
+                .from(start.toLocalDate().atStartOfDay())
+                .to(start.toLocalDate().plusDays(1).atStartOfDay())
+                .action(AppointmentDTO.BulkAction.MOVE)
+                .shiftMinutes(60)
+                .build(), "admin@test.com");
+
+        assertThat(bookingEngine.createPublic(request("Novo", barber, start)).getBarberId()).isEqualTo(barber.getId());
+        assertThatThrownBy(() -> bookingEngine.createPublic(request("Outro", otherBarber, newStart)))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar agendamentos gravados por outra instância na agenda em memória")
+    void shouldApplyAppointmentsChangedElsewhere() {
+        AppointmentDTO.Response created = bookingEngine.createPublic(request("Cliente", barber, start));
+
+        // Cancelado em outra instância: o horário volta a ficar livre aqui
+        bookingEngine.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CANCELLED,
+                calendarEvent(created.getId(), barber, start, AppointmentStatus.CANCELLED_BY_CLIENT), true));
+        assertThat(bookingEngine.createPublic(request("Novo", barber, start)).getBarberId()).isEqualTo(barber.getId());
+
+        // Criado em outra instância: o horário passa a ser recusado sem chegar ao banco
+        LocalDateTime remoteStart = start.plusHours(2);
+        bookingEngine.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED,
+                calendarEvent(UUID.randomUUID(), barber, remoteStart, AppointmentStatus.CONFIRMED), true));
+        assertThatThrownBy(() -> bookingEngine.createPublic(request("Outro", barber, remoteStart)))
+                .isInstanceOf(ConflictException.class);
+        verify(appointmentService, times(2)).createPublic(any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar horário bloqueado ou com a barbearia fechada")
+    void shouldRejectBlockedAndClosedSlots() {
+        TimeBlock block = TimeBlock.builder()
+                .barber(barber)
+                .startTime(start.minusHours(1))
+                .endTime(start.plusHours(1))
+                .isRecurring(false)
+                .build();
+        when(occurrenceCache.expand(anyList(), any(), any())).thenReturn(List.of(block));
+
+        bookingEngine.onScheduleChanged(ScheduleChangedEvent.occupied(barber.getId(),
+                block.getStartTime(), block.getEndTime()).asRemote());
+
+        assertThatThrownBy(() -> bookingEngine.createPublic(request("Cliente", barber, start)))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("bloqueado");
+
+        LocalDateTime closedStart = start.plusHours(3);
+        when(shopClosureCalendar.isClosed(closedStart, closedStart.plusMinutes(30))).thenReturn(true);
+        assertThatThrownBy(() -> bookingEngine.createPublic(request("Cliente", barber, closedStart)))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("SHOP_CLOSED");
+
+        verify(appointmentService, never()).createPublic(any());
+    }
+
+    private AppointmentDTO.CalendarEvent calendarEvent(UUID id, User barber, LocalDateTime startTime,
+                                                       AppointmentStatus status) {
+        return AppointmentDTO.CalendarEvent.builder()
+                .id(id)
+                .barberId(barber.getId())
+                .start(startTime)
+                .end(startTime.plusMinutes(30))
+                .status(status.name())
+                .build();
+    }
+
+    private AppointmentDTO.PublicCreateRequest request(String clientName, User barber, LocalDateTime startTime) {
+        return AppointmentDTO.PublicCreateRequest.builder()
+                .serviceId(service.getId())
+                .barberId(barber != null ? barber.getId() : null)
+                .startTime(startTime)
+                .clientName(clientName)
+                .clientPhone("(11) 99999-9999")
+                .build();
+    }
+
+    private AppointmentDTO.Response response(UUID barberId, LocalDateTime startTime) {
+        return AppointmentDTO.Response.builder()
+                .id(UUID.randomUUID())
+                .barberId(barberId)
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(30))
+                .status(AppointmentStatus.CONFIRMED)
+                .build();
+    }
+
+    private Appointment appointment(UUID id, User barber, LocalDateTime startTime) {
+        Appointment appointment = Appointment.builder()
+                .barber(barber)
+                .service(service)
+                .clientName("Cliente")
+                .clientPhone("(11) 99999-9999")
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(30))
+                .status(AppointmentStatus.CONFIRMED)
+                .priceAtBooking(service.getPrice())
+                .build();
+        ReflectionTestUtils.setField(appointment, "id", id);
+        return appointment;
+    }
+
+    private User barber(String name) {
+        User user = User.builder()
+                .name(name)
+                .email(name.replace(" ", "").toLowerCase() + "@test.com")
+                .role(UserRole.BARBER)
+                .active(true)
+                .build();
+        ReflectionTestUtils.setField(user, "id", UUID.randomUUID());
+        return user;
+    }
+}
@@ -0,0 +1,190 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.dto.SyncDTO;
+import com.barbearia.application.dto.TimeBlockDTO;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.mapper.AppointmentMapper;
+import com.barbearia.application.mapper.TimeBlockMapper;
+import com.barbearia.application.service.CalendarSyncService;
+import com.barbearia.domain.entity.Appointment;
+import com.barbearia.domain.entity.SyncTombstone;
+import com.barbearia.domain.entity.TimeBlock;
+import com.barbearia.domain.repository.AppointmentRepository;
+import com.barbearia.domain.repository.SyncTombstonePurgeRepository;
+import com.barbearia.domain.repository.SyncTombstoneRepository;
+import com.barbearia.domain.repository.TimeBlockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarSyncServiceTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+    @Mock
+    private TimeBlockRepository timeBlockRepository;
+    @Mock
+    private SyncTombstoneRepository tombstoneRepository;
+    @Mock
+    private SyncTombstonePurgeRepository purgeRepository;
+    @Mock
+    private AppointmentMapper appointmentMapper;
+    @Mock
+    private TimeBlockMapper timeBlockMapper;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private CalendarSyncService calendarSyncService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(calendarSyncService, "safetyLagSeconds", 5L);
+        ReflectionTestUtils.setField(calendarSyncService, "tombstoneRetentionDays", 30);
+
+        lenient().when(appointmentMapper.toCalendarEvent(any(Appointment.class))).thenAnswer(invocation ->
+                AppointmentDTO.CalendarEvent.builder().id(invocation.<Appointment>getArgument(0).getId()).build());
+        lenient().when(timeBlockMapper.toResponse(any())).thenAnswer(invocation ->
+                TimeBlockDTO.Response.builder().id(invocation.<TimeBlock>getArgument(0).getId()).build());
+    }
+
+    @Test
+    @DisplayName("Deve intercalar as fontes por (updated_at, id) na ordem de uuid do PostgreSQL")
+    void shouldMergeSourcesInCursorOrder() {
+        LocalDateTime t1 = LocalDateTime.now().minusHours(2);
+        LocalDateTime t2 = t1.plusMinutes(30);
+        // Bit mais alto ligado: negativo em UUID.compareTo, mas maior na ordem sem sinal do PostgreSQL
+        UUID highId = new UUID(Long.MIN_VALUE, 1L);
+        UUID lowId = new UUID(1L, 1L);
+
+        TimeBlock block = timeBlock(UUID.randomUUID(), t1);
+        Appointment appointment = appointment(highId, t2);
+        SyncTombstone tombstone = tombstone(lowId, t2);
+
+        when(appointmentRepository.findChangedAfter(any(), any(), any(), any(), any())).thenReturn(List.of(appointment));
+        when(timeBlockRepository.findChangedAfter(any(), any(), any(), any(), any())).thenReturn(List.of(block));
+        when(tombstoneRepository.findChangedAfter(any(), any(), any(), any(), any())).thenReturn(List.of(tombstone));
+
+        SyncDTO.ChangesPage page = calendarSyncService.getChanges(null, null, 2);
+
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getTimeBlocks()).extracting(TimeBlockDTO.Response::getId).containsExactly(block.getId());
+        assertThat(page.getDeleted()).extracting(SyncDTO.Deletion::getId).containsExactly(tombstone.getEntityId());
+        assertThat(page.getAppointments()).isEmpty();
+
+        // O próximo cursor aponta para a exclusão, última mudança entregue
+        when(appointmentRepository.findChangedAfter(any(), any(), any(), any(), any())).thenReturn(List.of());
+        when(timeBlockRepository.findChangedAfter(any(), any(), any(), any(), any())).thenReturn(List.of());
+        when(tombstoneRepository.findChangedAfter(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        calendarSyncService.getChanges(page.getNextCursor(), null, 2);
+
+        verify(appointmentRepository).findChangedAfter(eq(t2), eq(lowId), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o mesmo cursor quando não há mudanças")
+    void shouldKeepCursorWhenNothingChanged() {
+        LocalDateTime changedAt = LocalDateTime.now().minusDays(60);
+        when(appointmentRepository.findChangedAfter(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(appointment(UUID.randomUUID(), changedAt)), List.of());
+
+        String cursor = calendarSyncService.getChanges(null, null, 10).getNextCursor();
+        SyncDTO.ChangesPage page = calendarSyncService.getChanges(cursor, null, 10);
+
+        assertThat(page.getNextCursor()).isEqualTo(cursor);
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar cursor mais antigo que a retenção quando nada posterior a ele foi apagado")
+    void shouldAcceptOldCursorWithoutLaterPurge() {
+        LocalDateTime changedAt = LocalDateTime.now().minusDays(60);
+        when(appointmentRepository.findChangedAfter(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(appointment(UUID.randomUUID(), changedAt)), List.of());
+        when(purgeRepository.findLatestPurgedThrough()).thenReturn(Optional.of(changedAt.minusDays(1)));
+
+        String cursor = calendarSyncService.getChanges(null, null, 10).getNextCursor();
+
+        assertThat(calendarSyncService.getChanges(cursor, null, 10).getNextCursor()).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Deve expirar cursor anterior a uma exclusão já apagada")
+    void shouldExpireCursorBeforePurgedTombstone() {
+        LocalDateTime changedAt = LocalDateTime.now().minusDays(60);
+        when(appointmentRepository.findChangedAfter(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(appointment(UUID.randomUUID(), changedAt)));
+
+        String cursor = calendarSyncService.getChanges(null, null, 10).getNextCursor();
+        when(purgeRepository.findLatestPurgedThrough()).thenReturn(Optional.of(changedAt.plusDays(1)));
+
+        assertThatThrownBy(() -> calendarSyncService.getChanges(cursor, null, 10))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("SYNC_CURSOR_EXPIRED");
+    }
+
+    @Test
+    @DisplayName("Deve recusar cursor malformado")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> calendarSyncService.getChanges("não-é-um-cursor", null, 10))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("INVALID_SYNC_CURSOR");
+
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a exclusão mais recente apagada na limpeza")
+    void shouldRecordPurgeWatermark() {
+        LocalDateTime newest = LocalDateTime.now().minusDays(31);
+        when(tombstoneRepository.findNewestDeletedAtBefore(any())).thenReturn(Optional.of(newest));
+        when(tombstoneRepository.deleteOlderThan(any())).thenReturn(3);
+
+        calendarSyncService.purgeTombstones();
+
+        verify(purgeRepository).save(argThat(purge -> purge.getPurgedThrough().equals(newest) && purge.getDeleted() == 3));
+    }
+
+    private Appointment appointment(UUID id, LocalDateTime updatedAt) {
+        Appointment appointment = Appointment.builder().clientName("Cliente").build();
+        ReflectionTestUtils.setField(appointment, "id", id);
+        ReflectionTestUtils.setField(appointment, "updatedAt", updatedAt);
+        return appointment;
+    }
+
+    private TimeBlock timeBlock(UUID id, LocalDateTime updatedAt) {
+        TimeBlock block = TimeBlock.builder().reason("Almoço").build();
+        ReflectionTestUtils.setField(block, "id", id);
+        ReflectionTestUtils.setField(block, "updatedAt", updatedAt);
+        return block;
+    }
+
+    private SyncTombstone tombstone(UUID id, LocalDateTime deletedAt) {
+        return SyncTombstone.builder()
+                .id(id)
+                .entityType("APPOINTMENT")
+                .entityId(UUID.randomUUID())
+                .deletedAt(deletedAt)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.barbearia.unit;
+
+import com.barbearia.infrastructure.csv.CsvReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("Deve ler campos entre aspas com separador, aspas e quebra de linha")
+    void shouldReadQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "\uFEFFcliente,observacoes\r\n\"Silva, João\",\"disse \"\"oi\"\"\nna porta\"\r\nMaria,\n"), ',');
+
+        assertThat(reader.next()).containsExactly("cliente", "observacoes");
+        assertThat(reader.next()).containsExactly("Silva, João", "disse \"oi\"\nna porta");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("Maria", "");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar ponto e vírgula como separador")
+    void shouldReadSemicolonSeparatedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a;b;c"), ';');
+
+        assertThat(reader.next()).containsExactly("a", "b", "c");
+        assertThat(reader.next()).isNull();
+    }
+}
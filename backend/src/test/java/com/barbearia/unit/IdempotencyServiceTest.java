@@ -0,0 +1,155 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.dto.AppointmentDTO;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.exception.ConflictException;
+import com.barbearia.domain.entity.IdempotencyRecord;
+import com.barbearia.domain.repository.IdempotencyRecordRepository;
+import com.barbearia.infrastructure.idempotency.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyService idempotencyService;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(repository, new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+        ReflectionTestUtils.setField(idempotencyService, "maxEntries", 100);
+        ReflectionTestUtils.setField(idempotencyService, "lockSeconds", 60L);
+    }
+
+    @Test
+    @DisplayName("Deve executar a ação apenas uma vez para a mesma chave")
+    void shouldExecuteOnlyOnceForSameKey() {
+        when(repository.tryReserve(anyString(), anyString(), any(), any())).thenReturn(1);
+
+        ResponseEntity<AppointmentDTO.Response> first = create("key-1", "Cliente");
+        ResponseEntity<AppointmentDTO.Response> second = create("key-1", "Cliente");
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(second.getBody().getId()).isEqualTo(first.getBody().getId());
+        verify(repository).complete(eq("public:key-1"), eq(201), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave reutilizada com requisição diferente")
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        when(repository.tryReserve(anyString(), anyString(), any(), any())).thenReturn(1);
+
+        create("key-2", "Cliente A");
+
+        assertThatThrownBy(() -> create("key-2", "Cliente B"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("requisição diferente");
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve responder conflito enquanto a requisição original está em processamento")
+    void shouldRejectWhileOriginalRequestIsInProgress() {
+        AtomicReference<String> reservedHash = new AtomicReference<>();
+        when(repository.tryReserve(anyString(), anyString(), any(), any())).thenAnswer(inv -> {
+            reservedHash.set(inv.getArgument(1));
+            return 0;
+        });
+        when(repository.deleteIfExpired(anyString(), any())).thenReturn(0);
+        when(repository.findById("public:key-3")).thenAnswer(inv -> Optional.of(IdempotencyRecord.builder()
+                .id("public:key-3")
+                .requestHash(reservedHash.get())
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build()));
+
+        assertThatThrownBy(() -> create("key-3", "Cliente"))
+                .isInstanceOf(ConflictException.class);
+        assertThat(executions.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve retomar a chave cuja execução anterior passou do prazo sem responder")
+    void shouldReclaimKeyWhosePreviousExecutionDied() {
+        when(repository.tryReserve(anyString(), anyString(), any(), any())).thenReturn(0);
+        when(repository.reclaimStale(eq("public:key-5"), anyString(), any(), any(), any())).thenReturn(1);
+        when(repository.complete(eq("public:key-5"), eq(201), anyString(), any())).thenReturn(1);
+
+        ResponseEntity<AppointmentDTO.Response> response = create("key-5", "Cliente");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions.get()).isEqualTo(1);
+        // A conclusão usa o mesmo prazo gravado na retomada
+        ArgumentCaptor<LocalDateTime> reclaimedLease = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).reclaimStale(eq("public:key-5"), anyString(), any(), reclaimedLease.capture(), any());
+        verify(repository).complete(eq("public:key-5"), eq(201), anyString(), eq(reclaimedLease.getValue()));
+        verify(repository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave quando a ação falha")
+    void shouldReleaseKeyWhenActionFails() {
+        when(repository.tryReserve(anyString(), anyString(), any(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> idempotencyService.execute("key-4", "public", "POST /api/booking", "body",
+                HttpStatus.CREATED, AppointmentDTO.Response.class,
+                () -> { throw new ConflictException("Já existe um agendamento neste horário"); }))
+                .isInstanceOf(ConflictException.class);
+
+        verify(repository).release(eq("public:key-4"), any());
+        verify(repository, never()).complete(anyString(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve executar normalmente sem Idempotency-Key")
+    void shouldExecuteWithoutKey() {
+        create(null, "Cliente");
+        create(null, "Cliente");
+
+        assertThat(executions.get()).isEqualTo(2);
+        verifyNoInteractions(repository);
+    }
+
+    private ResponseEntity<AppointmentDTO.Response> create(String key, String clientName) {
+        AppointmentDTO.PublicCreateRequest request = AppointmentDTO.PublicCreateRequest.builder()
+                .clientName(clientName)
+                .build();
+        return idempotencyService.execute(key, "public", "POST /api/booking", request,
+                HttpStatus.CREATED, AppointmentDTO.Response.class, () -> {
+                    executions.incrementAndGet();
+                    return AppointmentDTO.Response.builder()
+                            .id(UUID.randomUUID())
+                            .clientName(clientName)
+                            .startTime(LocalDateTime.now().plusDays(1))
+                            .build();
+                });
+    }
+}
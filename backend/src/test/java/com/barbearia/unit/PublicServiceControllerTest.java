@@ -0,0 +1,105 @@
+package com.barbearia.unit;
+
+import com.barbearia.api.controller.PublicServiceController;
+import com.barbearia.application.service.PublicCatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class PublicServiceControllerTest {
+
+    @Mock
+    private PublicCatalogService publicCatalogService;
+
+    @InjectMocks
+    private PublicServiceController controller;
+
+    private PublicCatalogService.RenderedCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new PublicCatalogService.RenderedCatalog(
+                "[]".getBytes(StandardCharsets.UTF_8), new byte[]{0x1f, (byte) 0x8b}, "abc123");
+        lenient().when(publicCatalogService.getServices()).thenReturn(catalog);
+        lenient().when(publicCatalogService.maxAge()).thenReturn(Duration.ofSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Deve responder o JSON com ETag e cache público quando o cliente não aceita gzip")
+    void shouldServePlainJson() {
+        ResponseEntity<byte[]> response = controller.listServices(webRequest(null, null, new MockHttpServletResponse()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(catalog.json());
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc123\"");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeaders().getCacheControl()).contains("max-age=60").contains("public");
+    }
+
+    @Test
+    @DisplayName("Deve responder o corpo em gzip com ETag próprio quando o cliente aceita")
+    void shouldServeGzipWithOwnEtag() {
+        ResponseEntity<byte[]> response = controller.listServices(
+                webRequest("br, gzip;q=0.8", null, new MockHttpServletResponse()));
+
+        assertThat(response.getBody()).isEqualTo(catalog.gzip());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc123-gzip\"");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar gzip recusado com q=0")
+    void shouldRespectRefusedGzip() {
+        ResponseEntity<byte[]> response = controller.listServices(
+                webRequest("gzip; q=0.0", null, new MockHttpServletResponse()));
+
+        assertThat(response.getBody()).isEqualTo(catalog.json());
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc123\"");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 só quando o ETag da mesma representação confere")
+    void shouldAnswerNotModifiedPerRepresentation() {
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        ResponseEntity<byte[]> cached = controller.listServices(webRequest("gzip", "\"abc123-gzip\"", notModified));
+
+        assertThat(cached).isNull();
+        assertThat(notModified.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(notModified.getHeader(HttpHeaders.ETAG)).isEqualTo("\"abc123-gzip\"");
+
+        ResponseEntity<byte[]> otherEncoding = controller.listServices(
+                webRequest(null, "\"abc123-gzip\"", new MockHttpServletResponse()));
+
+        assertThat(otherEncoding.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(otherEncoding.getBody()).isEqualTo(catalog.json());
+    }
+
+    private ServletWebRequest webRequest(String acceptEncoding, String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/services");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -0,0 +1,51 @@
+package com.barbearia.unit;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Emissor SSE que guarda os eventos enviados, para testar os streams sem servlet
+class RecordingSseEmitter extends SseEmitter {
+
+    private final List<Event> events = new ArrayList<>();
+
+    @Override
+    public void send(SseEventBuilder builder) {
+        String name = null;
+        String id = null;
+        Object data = null;
+        for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+            if (part.getData() instanceof String text) {
+                for (String line : text.split("\n")) {
+                    if (line.startsWith("event:")) {
+                        name = line.substring("event:".length());
+                    } else if (line.startsWith("id:")) {
+                        id = line.substring("id:".length());
+                    }
+                }
+            } else {
+                data = part.getData();
+            }
+        }
+        synchronized (events) {
+            events.add(new Event(name, id, data));
+            events.notifyAll();
+        }
+    }
+
+    // O envio roda numa thread virtual; espera até chegarem ao menos count eventos
+    List<Event> awaitEvents(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        synchronized (events) {
+            while (events.size() < count && System.currentTimeMillis() < deadline) {
+                events.wait(50);
+            }
+            return List.copyOf(events);
+        }
+    }
+
+    record Event(String name, String id, Object data) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.infrastructure.cache.ScheduleVersionRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleVersionRegistryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ScheduleVersionRegistry registry;
+
+    @Test
+    @DisplayName("Deve incrementar a versão de cada dia tocado pelo intervalo")
+    @SuppressWarnings("unchecked")
+    void shouldBumpEveryDayOfInterval() {
+        UUID barberId = UUID.randomUUID();
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        registry.onScheduleChanged(ScheduleChangedEvent.occupied(barberId, date.atTime(23, 30),
+                date.plusDays(1).atTime(0, 30)));
+
+        ArgumentCaptor<List<Object[]>> days = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), days.capture());
+        assertThat(days.getValue()).extracting(args -> args[1]).containsExactly(date, date.plusDays(1));
+        assertThat(days.getValue()).extracting(args -> args[0]).containsOnly(barberId);
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a versão geral quando a mudança vale para todos os barbeiros")
+    void shouldBumpGlobalVersion() {
+        registry.onScheduleChanged(ScheduleChangedEvent.all());
+
+        verify(jdbcTemplate).update(anyString(), eq(new UUID(0L, 0L)));
+    }
+
+    @Test
+    @DisplayName("Não deve contar de novo mudanças recebidas de outra instância")
+    void shouldIgnoreRemoteEvents() {
+        registry.onScheduleChanged(ScheduleChangedEvent.barber(UUID.randomUUID()).asRemote());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,214 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.event.ScheduleChangedEvent;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.exception.ConflictException;
+import com.barbearia.domain.entity.SlotHold;
+import com.barbearia.domain.repository.SlotHoldRepository;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
+import com.barbearia.infrastructure.hold.TimerWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotHoldRegistryTest {
+
+    private static final String CLIENT = "203.0.113.7";
+
+    @Mock
+    private SlotHoldRepository slotHoldRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SlotHoldRegistry slotHoldRegistry;
+
+    private UUID barberId;
+    private UUID serviceId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(slotHoldRegistry, "holdMinutes", 5);
+        ReflectionTestUtils.setField(slotHoldRegistry, "mirrorToDb", false);
+        ReflectionTestUtils.setField(slotHoldRegistry, "maxPerClient", 2);
+
+        barberId = UUID.randomUUID();
+        serviceId = UUID.randomUUID();
+        start = LocalDate.now().plusDays(1).atTime(10, 0);
+    }
+
+    @Test
+    @DisplayName("Deve criar reserva temporária e recusar outra sobreposta no mesmo barbeiro")
+    void shouldCreateHoldAndRejectOverlap() {
+        SlotHold hold = slotHoldRegistry.hold(CLIENT, barberId, serviceId, start, start.plusMinutes(30));
+
+        assertThat(slotHoldRegistry.find(hold.getToken())).contains(hold);
+        assertThat(hold.getExpiresAt()).isAfter(LocalDateTime.now().plusMinutes(4));
+        assertThat(slotHoldRegistry.hasOverlappingHold(barberId, start.plusMinutes(15), start.plusMinutes(45), null))
+                .isTrue();
+        assertThat(slotHoldRegistry.hasOverlappingHold(barberId, start, start.plusMinutes(30), hold.getToken()))
+                .isFalse();
+        verify(eventPublisher).publishEvent(ScheduleChangedEvent.occupied(barberId, start, start.plusMinutes(30)));
+
+        assertThatThrownBy(() -> slotHoldRegistry.hold("198.51.100.1", barberId, serviceId,
+                start.plusMinutes(15), start.plusMinutes(45)))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Deve liberar o horário ao soltar a reserva")
+    void shouldReleaseHold() {
+        SlotHold hold = slotHoldRegistry.hold(CLIENT, barberId, serviceId, start, start.plusMinutes(30));
+
+        slotHoldRegistry.release(hold.getToken());
+
+        assertThat(slotHoldRegistry.find(hold.getToken())).isEmpty();
+        assertThat(slotHoldRegistry.findActive(barberId, start, start.plusMinutes(30))).isEmpty();
+        verify(eventPublisher).publishEvent(ScheduleChangedEvent.released(barberId, start, start.plusMinutes(30)));
+        verify(slotHoldRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Deve expirar a reserva no tick da roda de tempos correspondente ao prazo")
+    void shouldExpireHoldOnWheelTick() {
+        SlotHold hold = slotHoldRegistry.hold(barberId, serviceId, start, start.plusMinutes(30), Duration.ofSeconds(3));
+        TimerWheel<?> wheel = (TimerWheel<?>) ReflectionTestUtils.getField(slotHoldRegistry, "expiryWheel");
+
+        ReflectionTestUtils.invokeMethod(wheel, "advance");
+        ReflectionTestUtils.invokeMethod(wheel, "advance");
+        assertThat(slotHoldRegistry.find(hold.getToken())).isPresent();
+
+        ReflectionTestUtils.invokeMethod(wheel, "advance");
+        assertThat(slotHoldRegistry.find(hold.getToken())).isEmpty();
+        assertThat(slotHoldRegistry.hasOverlappingHold(barberId, start, start.plusMinutes(30), null)).isFalse();
+        verify(eventPublisher).publishEvent(ScheduleChangedEvent.released(barberId, start, start.plusMinutes(30)));
+    }
+
+    @Test
+    @DisplayName("Deve limitar as reservas simultâneas de um mesmo cliente")
+    void shouldCapActiveHoldsPerClient() {
+        SlotHold first = slotHoldRegistry.hold(CLIENT, barberId, serviceId, start, start.plusMinutes(30));
+        slotHoldRegistry.hold(CLIENT, barberId, serviceId, start.plusHours(1), start.plusHours(1).plusMinutes(30));
+
+        assertThatThrownBy(() -> slotHoldRegistry.hold(CLIENT, barberId, serviceId,
+                start.plusHours(2), start.plusHours(2).plusMinutes(30)))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("TOO_MANY_HOLDS");
+
+        // Outro cliente e reservas do sistema não entram na conta
+        slotHoldRegistry.hold("198.51.100.1", barberId, serviceId, start.plusHours(3), start.plusHours(3).plusMinutes(30));
+        slotHoldRegistry.hold(barberId, serviceId, start.plusHours(4), start.plusHours(4).plusMinutes(30),
+                Duration.ofMinutes(30));
+
+        slotHoldRegistry.release(first.getToken());
+        assertThat(slotHoldRegistry.hold(CLIENT, barberId, serviceId,
+                start.plusHours(2), start.plusHours(2).plusMinutes(30))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve espelhar reservas no banco para as demais instâncias")
+    void shouldMirrorHoldsToDatabase() {
+        ReflectionTestUtils.setField(slotHoldRegistry, "mirrorToDb", true);
+
+        SlotHold remote = SlotHold.builder()
+                .token("remote-hold")
+                .barberId(barberId)
+                .serviceId(serviceId)
+                .clientKey(CLIENT)
+                .startTime(start.plusHours(2))
+                .endTime(start.plusHours(2).plusMinutes(30))
+                .expiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+        when(slotHoldRepository.findById("remote-hold")).thenReturn(Optional.of(remote));
+        when(slotHoldRepository.countActiveByClientKey(eq(CLIENT), any())).thenReturn(1L, 2L);
+        List<SlotHold> saved = new ArrayList<>();
+        when(slotHoldRepository.save(any())).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        SlotHold hold;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            hold = slotHoldRegistry.hold(CLIENT, barberId, serviceId, start, start.plusMinutes(30));
+            assertThatThrownBy(() -> slotHoldRegistry.hold(CLIENT, barberId, serviceId,
+                    start.plusHours(4), start.plusHours(4).plusMinutes(30)))
+                    .extracting("code").isEqualTo("TOO_MANY_HOLDS");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Conferência e gravação ficam sob os advisory locks do cliente e do barbeiro
+        InOrder inOrder = inOrder(jdbcTemplate, slotHoldRepository);
+        inOrder.verify(jdbcTemplate).execute(startsWith("SELECT pg_advisory_xact_lock(" + 0x636c6e74 + ","));
+        inOrder.verify(jdbcTemplate).execute(startsWith("SELECT pg_advisory_xact_lock(" + 0x686f6c64 + ","));
+        inOrder.verify(slotHoldRepository).save(hold);
+        assertThat(saved).containsExactly(hold);
+        assertThat(hold.getClientKey()).isEqualTo(CLIENT);
+        // Reserva criada em outra instância só existe no espelho
+        assertThat(slotHoldRegistry.find("remote-hold")).contains(remote);
+        // O limite por cliente conta as reservas das outras instâncias (segunda chamada acima)
+
+        slotHoldRegistry.release(hold.getToken());
+        verify(slotHoldRepository).deleteById(hold.getToken());
+    }
+
+    @Test
+    @DisplayName("Deve recusar reserva espelhada fora de transação, sem a qual o advisory lock não vale")
+    void shouldRequireTransactionForMirroredHolds() {
+        ReflectionTestUtils.setField(slotHoldRegistry, "mirrorToDb", true);
+
+        assertThatThrownBy(() -> slotHoldRegistry.hold(barberId, serviceId, start, start.plusMinutes(30),
+                Duration.ofMinutes(30)))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(slotHoldRepository);
+    }
+
+    @Test
+    @DisplayName("Deve manter a reserva até o commit do agendamento que a consome")
+    void shouldReleaseHoldOnlyAfterCommit() {
+        SlotHold hold = slotHoldRegistry.hold(CLIENT, barberId, serviceId, start, start.plusMinutes(30));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            slotHoldRegistry.releaseOnCommit(hold.getToken());
+            assertThat(slotHoldRegistry.find(hold.getToken())).isPresent();
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(slotHoldRegistry.find(hold.getToken())).isEmpty();
+        assertThat(slotHoldRegistry.hasOverlappingHold(barberId, start, start.plusMinutes(30), null)).isFalse();
+    }
+}
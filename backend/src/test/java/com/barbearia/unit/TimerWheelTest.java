@@ -0,0 +1,58 @@
+package com.barbearia.unit;
+
+import com.barbearia.infrastructure.hold.TimerWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    @Test
+    @DisplayName("Deve manter no balde o prazo maior que uma volta até o tick correspondente")
+    void shouldKeepDeadlinesBeyondOneRevolution() {
+        List<String> expired = new ArrayList<>();
+        TimerWheel<String> wheel = new TimerWheel<>("test-wheel", 10, 4, expired::add);
+
+        wheel.schedule("curto", 20);
+        wheel.schedule("longo", 60);
+
+        advance(wheel, 2);
+        assertThat(expired).containsExactly("curto");
+
+        // O tick 2 cai no mesmo balde do prazo 6, mas ainda não é a volta dele
+        advance(wheel, 3);
+        assertThat(expired).containsExactly("curto");
+
+        advance(wheel, 1);
+        assertThat(expired).containsExactly("curto", "longo");
+    }
+
+    @Test
+    @DisplayName("Deve continuar expirando os demais itens quando um callback falha")
+    void shouldSurviveFailingCallback() {
+        List<String> expired = new ArrayList<>();
+        TimerWheel<String> wheel = new TimerWheel<>("test-wheel", 10, 4, item -> {
+            if (item.equals("falha")) {
+                throw new IllegalStateException("callback");
+            }
+            expired.add(item);
+        });
+
+        wheel.schedule("falha", 10);
+        wheel.schedule("ok", 10);
+
+        advance(wheel, 1);
+        assertThat(expired).containsExactly("ok");
+    }
+
+    private void advance(TimerWheel<?> wheel, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            ReflectionTestUtils.invokeMethod(wheel, "advance");
+        }
+    }
+}
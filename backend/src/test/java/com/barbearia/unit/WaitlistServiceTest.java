@@ -0,0 +1,170 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.dto.WaitlistDTO;
+import com.barbearia.application.exception.BusinessException;
+import com.barbearia.application.mapper.WaitlistMapper;
+import com.barbearia.application.service.AppointmentService;
+import com.barbearia.application.service.WaitlistService;
+import com.barbearia.domain.entity.Service;
+import com.barbearia.domain.entity.SlotHold;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.WaitlistEntry;
+import com.barbearia.domain.enums.UserRole;
+import com.barbearia.domain.enums.WaitlistStatus;
+import com.barbearia.domain.repository.ServiceRepository;
+import com.barbearia.domain.repository.UserRepository;
+import com.barbearia.domain.repository.WaitlistEntryRepository;
+import com.barbearia.infrastructure.hold.SlotHoldRegistry;
+import com.barbearia.infrastructure.notification.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+    @Mock
+    private ServiceRepository serviceRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private AppointmentService appointmentService;
+    @Mock
+    private SlotHoldRegistry slotHoldRegistry;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private WaitlistMapper waitlistMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    private User barber;
+    private Service service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(waitlistService, "minAdvanceHours", 1);
+        ReflectionTestUtils.setField(waitlistService, "maxDaysAhead", 30);
+        ReflectionTestUtils.setField(waitlistService, "slotDurationMinutes", 15);
+        ReflectionTestUtils.setField(waitlistService, "enabled", true);
+        ReflectionTestUtils.setField(waitlistService, "offerMinutes", 30);
+        ReflectionTestUtils.invokeMethod(waitlistService, "initMatchers");
+
+        barber = User.builder()
+                .name("Barbeiro Test")
+                .email("barber@test.com")
+                .role(UserRole.BARBER)
+                .active(true)
+                .build();
+        ReflectionTestUtils.setField(barber, "id", UUID.randomUUID());
+
+        service = Service.builder()
+                .name("Corte")
+                .durationMinutes(30)
+                .bufferMinutes(0)
+                .price(BigDecimal.valueOf(35))
+                .active(true)
+                .build();
+        ReflectionTestUtils.setField(service, "id", UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Deve oferecer horário liberado ao primeiro da fila e manter os demais esperando")
+    void shouldOfferFreedSlotInArrivalOrder() {
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(LocalTime.of(10, 0));
+        LocalDateTime end = start.plusMinutes(30);
+
+        WaitlistEntry first = waiting("Primeiro", start.toLocalDate().atStartOfDay());
+        WaitlistEntry second = waiting("Segundo", start.toLocalDate().atStartOfDay());
+
+        SlotHold hold = SlotHold.builder()
+                .token("hold-1")
+                .barberId(barber.getId())
+                .serviceId(service.getId())
+                .startTime(start)
+                .endTime(end)
+                .expiresAt(LocalDateTime.now().plusMinutes(30))
+                .build();
+
+        when(waitlistEntryRepository.lockWaiting(eq(barber.getId()), eq(start), eq(end), anyInt()))
+                .thenReturn(List.of(first, second));
+        when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
+        when(appointmentService.tryHoldSlot(eq(service), eq(barber.getId()), any(), any()))
+                .thenReturn(Optional.of(hold), Optional.empty());
+
+        ReflectionTestUtils.invokeMethod(waitlistService, "match", barber.getId(), start, end);
+
+        assertThat(first.getStatus()).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(first.getOfferHoldToken()).isEqualTo("hold-1");
+        assertThat(second.getStatus()).isEqualTo(WaitlistStatus.WAITING);
+
+        ArgumentCaptor<WaitlistDTO.Offer> offer = ArgumentCaptor.forClass(WaitlistDTO.Offer.class);
+        verify(notificationService).sendWaitlistOffer(offer.capture());
+        assertThat(offer.getValue().getRecipient()).isEqualTo("primeiro@test.com");
+        assertThat(offer.getValue().getHoldToken()).isEqualTo("hold-1");
+    }
+
+    @Test
+    @DisplayName("Deve recusar janela de espera com fim antes do início")
+    void shouldRejectInvertedWindow() {
+        LocalDateTime start = LocalDate.now().plusDays(2).atTime(18, 0);
+
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+
+        WaitlistDTO.Request request = WaitlistDTO.Request.builder()
+                .serviceId(service.getId())
+                .windowStart(start)
+                .windowEnd(start.minusHours(8))
+                .clientName("Cliente")
+                .clientPhone("(11) 99999-9999")
+                .clientEmail("cliente@test.com")
+                .build();
+
+        assertThatThrownBy(() -> waitlistService.join(request))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("anterior");
+
+        verify(waitlistEntryRepository, never()).save(any());
+    }
+
+    private WaitlistEntry waiting(String name, LocalDateTime windowStart) {
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .service(service)
+                .clientName(name)
+                .clientPhone("(11) 99999-9999")
+                .clientEmail(name.toLowerCase() + "@test.com")
+                .windowStart(windowStart)
+                .windowEnd(windowStart.plusDays(1))
+                .accessToken(UUID.randomUUID().toString())
+                .build();
+        ReflectionTestUtils.setField(entry, "id", UUID.randomUUID());
+        return entry;
+    }
+}
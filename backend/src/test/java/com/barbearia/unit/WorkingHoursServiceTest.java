@@ -0,0 +1,84 @@
+package com.barbearia.unit;
+
+import com.barbearia.application.dto.WorkingHoursDTO;
+import com.barbearia.application.mapper.WorkingHoursMapper;
+import com.barbearia.application.service.WorkingHoursService;
+import com.barbearia.domain.entity.User;
+import com.barbearia.domain.entity.WorkingHours;
+import com.barbearia.domain.enums.DayOfWeekEnum;
+import com.barbearia.domain.enums.UserRole;
+import com.barbearia.domain.repository.UserRepository;
+import com.barbearia.domain.repository.WorkingHoursRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkingHoursServiceTest {
+
+    @Mock
+    private WorkingHoursRepository workingHoursRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Spy
+    private WorkingHoursMapper workingHoursMapper = new WorkingHoursMapper();
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private WorkingHoursService workingHoursService;
+
+    @Test
+    @DisplayName("Deve responder com a semana inteira quando só alguns dias são enviados")
+    void shouldReturnFullWeekAfterPartialUpdate() {
+        User barber = User.builder().name("Barbeiro Test").role(UserRole.BARBER).active(true).build();
+        ReflectionTestUtils.setField(barber, "id", UUID.randomUUID());
+
+        WorkingHours oldMonday = day(barber, DayOfWeekEnum.MONDAY, 9, 18);
+        WorkingHours tuesday = day(barber, DayOfWeekEnum.TUESDAY, 9, 18);
+        WorkingHours newMonday = day(barber, DayOfWeekEnum.MONDAY, 10, 16);
+
+        when(userRepository.findById(barber.getId())).thenReturn(Optional.of(barber));
+        when(workingHoursRepository.upsertAll(anyList())).thenReturn(List.of(newMonday));
+        when(workingHoursRepository.findByBarberId(barber.getId())).thenReturn(List.of(tuesday, oldMonday));
+
+        WorkingHoursDTO.BulkRequest request = new WorkingHoursDTO.BulkRequest(List.of(
+                WorkingHoursDTO.Request.builder()
+                        .dayOfWeek(DayOfWeekEnum.MONDAY)
+                        .startTime(LocalTime.of(10, 0))
+                        .endTime(LocalTime.of(16, 0))
+                        .isWorking(true)
+                        .build()));
+
+        List<WorkingHoursDTO.Response> week = workingHoursService.setWorkingHours(barber.getId(), request);
+
+        assertThat(week).extracting(WorkingHoursDTO.Response::getDayOfWeek)
+                .containsExactly(DayOfWeekEnum.MONDAY, DayOfWeekEnum.TUESDAY);
+        assertThat(week.get(0).getStartTime()).isEqualTo(LocalTime.of(10, 0));
+    }
+
+    private WorkingHours day(User barber, DayOfWeekEnum dayOfWeek, int startHour, int endHour) {
+        return WorkingHours.builder()
+                .barber(barber)
+                .dayOfWeek(dayOfWeek)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .isWorking(true)
+                .build();
+    }
+}